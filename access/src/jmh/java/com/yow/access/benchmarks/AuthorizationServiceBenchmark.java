@@ -0,0 +1,205 @@
+package com.yow.access.benchmarks;
+
+import com.yow.access.entities.AppUser;
+import com.yow.access.entities.Permission;
+import com.yow.access.entities.Resource;
+import com.yow.access.entities.Role;
+import com.yow.access.entities.UserRoleResource;
+import com.yow.access.exceptions.AccessDeniedException;
+import com.yow.access.repositories.ResourceClosureRepository;
+import com.yow.access.repositories.ResourceRepository;
+import com.yow.access.repositories.UserRoleResourceRepository;
+import com.yow.access.services.AuthorizationDecisionCache;
+import com.yow.access.services.AuthorizationService;
+import com.yow.access.services.AuthorizationTracer;
+import com.yow.access.services.PermissionIndex;
+import com.yow.access.services.RolePermissionMatrix;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the RBAC engine over synthetic hierarchies, fully in memory.
+ *
+ * Hierarchy: a spine of {@code depth} levels, each spine node having
+ * {@code fanOut} children (one of them continues the spine); the measured
+ * targets are the leaves under the deepest spine node, so a check walks the
+ * whole chain. The user holds one matching binding on the root and
+ * {@code bindings - 1} non-matching ones spread over other nodes.
+ *
+ * Run with: ./mvnw -Pjmh test-compile exec:exec (see the jmh profile in pom.xml).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorizationServiceBenchmark {
+
+    @Param({"1", "8", "64"})
+    public int depth;
+
+    @Param({"2", "16"})
+    public int fanOut;
+
+    @Param({"1", "100", "10000"})
+    public int bindings;
+
+    /** "off" measures the engine itself, "on" the repeated-check path. */
+    @Param({"off", "on"})
+    public String decisionCache;
+
+    private final UUID userId = UUID.randomUUID();
+
+    private final Map<UUID, Resource> resources = new HashMap<>();
+    private final Map<UUID, List<UUID>> ancestors = new HashMap<>();
+    private final List<UserRoleResource> userBindings = new ArrayList<>();
+
+    private AuthorizationService authorizationService;
+    private Resource[] leaves;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Permission read = new Permission((short) 1, "RESOURCE_READ", null);
+        Permission create = new Permission((short) 2, "RESOURCE_CREATE", null);
+        Permission move = new Permission((short) 3, "RESOURCE_MOVE", null);
+
+        Role reader = role((short) 1, "USER", read, create);
+        Role mover = role((short) 2, "MOVER", move);
+
+        // Spine + siblings
+        List<Resource> others = new ArrayList<>();
+        Resource root = resource(null, "root");
+        Resource spine = root;
+        for (int level = 1; level < depth; level++) {
+            Resource next = null;
+            for (int i = 0; i < fanOut; i++) {
+                Resource child = resource(spine, "n" + level + "-" + i);
+                if (i == 0) {
+                    next = child;
+                } else {
+                    others.add(child);
+                }
+            }
+            spine = next;
+        }
+        leaves = new Resource[fanOut];
+        for (int i = 0; i < fanOut; i++) {
+            leaves[i] = resource(spine, "leaf-" + i);
+        }
+
+        // Root binding grants READ everywhere; the rest grant MOVE off the checked path
+        userBindings.add(binding(reader, root));
+        for (int i = 1; i < bindings; i++) {
+            Resource target = i - 1 < others.size()
+                    ? others.get(i - 1)
+                    : detached("scattered-" + i);
+            userBindings.add(binding(mover, target));
+        }
+
+        RolePermissionMatrix matrix = new RolePermissionMatrix(null, null);
+        matrix.rebuild(List.of(reader, mover));
+
+        UserRoleResourceRepository urrRepository = InMemoryRepositories.of(UserRoleResourceRepository.class)
+                .on("findAllByUserId", args -> userId.equals(args[0]) ? userBindings : List.of())
+                .build();
+
+        ResourceRepository resourceRepository = InMemoryRepositories.of(ResourceRepository.class)
+                .on("findById", args -> Optional.ofNullable(resources.get((UUID) args[0])))
+                .build();
+
+        ResourceClosureRepository closureRepository = InMemoryRepositories.of(ResourceClosureRepository.class)
+                .on("findAncestorIds", args -> ancestors.getOrDefault((UUID) args[0], List.of()))
+                .build();
+
+        authorizationService = new AuthorizationService(
+                resourceRepository,
+                new PermissionIndex(urrRepository, matrix, 100_000, Duration.ofMinutes(5)),
+                matrix,
+                closureRepository,
+                new AuthorizationDecisionCache("on".equals(decisionCache) ? 100_000 : 0, Duration.ofMinutes(5)),
+                new AuthorizationTracer(1)
+        );
+    }
+
+    /* ===== BENCHMARKS ===== */
+
+    @Benchmark
+    public boolean hasPermission_grantedAtRoot() {
+        return authorizationService.hasPermission(userId, "RESOURCE_READ", nextLeaf());
+    }
+
+    @Benchmark
+    public boolean hasPermission_deniedFullWalk() {
+        return authorizationService.hasPermission(userId, "RESOURCE_MOVE", nextLeaf());
+    }
+
+    @Benchmark
+    public Set<String> getEffectivePermissions() {
+        return authorizationService.getEffectivePermissions(userId, nextLeaf().getId());
+    }
+
+    @Benchmark
+    public boolean checkGlobalPermission() {
+        try {
+            authorizationService.checkGlobalPermission(userId, "RESOURCE_CREATE");
+            return true;
+        } catch (AccessDeniedException e) {
+            return false;
+        }
+    }
+
+    /* ===== FIXTURES ===== */
+
+    private Resource nextLeaf() {
+        Resource leaf = leaves[cursor];
+        cursor = cursor + 1 == leaves.length ? 0 : cursor + 1;
+        return leaf;
+    }
+
+    private Resource resource(Resource parent, String name) {
+        Resource resource = detached(name);
+        resource.setParent(parent);
+        resources.put(resource.getId(), resource);
+
+        List<UUID> chain = new ArrayList<>();
+        chain.add(resource.getId());
+        if (parent != null) {
+            chain.addAll(ancestors.get(parent.getId()));
+        }
+        ancestors.put(resource.getId(), chain);
+        return resource;
+    }
+
+    private static Resource detached(String name) {
+        Resource resource = new Resource();
+        resource.setId(UUID.randomUUID());
+        resource.setName(name);
+        resource.setType("FOLDER");
+        return resource;
+    }
+
+    private static Role role(short id, String name, Permission... permissions) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        role.setScope("RESOURCE");
+        role.setPermissions(new HashSet<>(Arrays.asList(permissions)));
+        return role;
+    }
+
+    private UserRoleResource binding(Role role, Resource resource) {
+        AppUser user = new AppUser();
+        user.setId(userId);
+
+        UserRoleResource urr = new UserRoleResource();
+        urr.setUser(user);
+        urr.setRole(role);
+        urr.setResource(resource);
+        return urr;
+    }
+}
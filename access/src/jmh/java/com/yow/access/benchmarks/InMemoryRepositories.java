@@ -0,0 +1,62 @@
+package com.yow.access.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for Spring Data repositories, so the engine can be
+ * benchmarked offline. Only the methods given a handler are implemented;
+ * any other call fails loudly instead of silently returning null.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static <T> Builder<T> of(Class<T> repositoryType) {
+        return new Builder<>(repositoryType);
+    }
+
+    static final class Builder<T> {
+
+        private final Class<T> repositoryType;
+        private final Map<String, Function<Object[], Object>> handlers = new HashMap<>();
+
+        private Builder(Class<T> repositoryType) {
+            this.repositoryType = repositoryType;
+        }
+
+        Builder<T> on(String methodName, Function<Object[], Object> handler) {
+            handlers.put(methodName, handler);
+            return this;
+        }
+
+        T build() {
+            InvocationHandler invocationHandler = (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "toString":
+                        return "InMemory" + repositoryType.getSimpleName();
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        Function<Object[], Object> handler = handlers.get(method.getName());
+                        if (handler == null) {
+                            throw new UnsupportedOperationException(
+                                    repositoryType.getSimpleName() + "." + method.getName());
+                        }
+                        return handler.apply(args);
+                }
+            };
+            return repositoryType.cast(Proxy.newProxyInstance(
+                    repositoryType.getClassLoader(),
+                    new Class<?>[]{repositoryType},
+                    invocationHandler
+            ));
+        }
+    }
+}
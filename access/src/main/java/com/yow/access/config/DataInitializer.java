@@ -27,6 +27,7 @@ public class DataInitializer implements CommandLineRunner {
     private final com.yow.access.repositories.ResourceRepository resourceRepository;
     private final com.yow.access.repositories.UserRoleResourceRepository urrRepository;
     private final com.yow.access.repositories.TenantRepository tenantRepository;
+    private final com.yow.access.repositories.ResourceClosureRepository resourceClosureRepository;
     private final PasswordEncoder passwordEncoder;
 
     @Autowired
@@ -37,6 +38,7 @@ public class DataInitializer implements CommandLineRunner {
             com.yow.access.repositories.ResourceRepository resourceRepository,
             com.yow.access.repositories.UserRoleResourceRepository urrRepository,
             com.yow.access.repositories.TenantRepository tenantRepository,
+            com.yow.access.repositories.ResourceClosureRepository resourceClosureRepository,
             PasswordEncoder passwordEncoder
     ) {
         this.userRepository = userRepository;
@@ -45,6 +47,7 @@ public class DataInitializer implements CommandLineRunner {
         this.resourceRepository = resourceRepository;
         this.urrRepository = urrRepository;
         this.tenantRepository = tenantRepository;
+        this.resourceClosureRepository = resourceClosureRepository;
         this.passwordEncoder = passwordEncoder;
     }
 
@@ -156,7 +159,8 @@ public class DataInitializer implements CommandLineRunner {
 
             // Créer une ressource système racine
             com.yow.access.entities.Resource systemRoot = com.yow.access.entities.ResourceFactory.createRootResource(systemTenant, "System Group");
-            resourceRepository.save(systemRoot);
+            resourceRepository.saveAndFlush(systemRoot);
+            resourceClosureRepository.insertSelfLink(systemRoot.getId());
 
             // Assigner le rôle ADMIN à l'utilisateur admin sur la ressource système
             com.yow.access.entities.Role adminRole = roleRepository.findByName("ADMIN")
@@ -0,0 +1,83 @@
+package com.yow.access.config.security;
+
+import com.yow.access.entities.AppUser;
+import com.yow.access.services.AuthorizationService;
+import com.yow.access.services.AuthorizationTracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Turns on RBAC decision tracing for requests carrying {@code X-Authz-Trace: true}.
+ * The trace id is returned in {@code X-Authz-Trace-Id} so the decisions can be
+ * fetched from {@code /api/authz/traces}.
+ * The header is only honored for super admins and for users whose tracing was
+ * enabled through that endpoint: a traced request bypasses the decision cache
+ * and writes to the shared ring buffer. Runs after the security chain, which
+ * has already authenticated the caller.
+ */
+@Component
+public class AuthorizationTraceFilter extends OncePerRequestFilter {
+
+    private final AuthorizationTracer tracer;
+    private final AuthorizationService authorizationService;
+
+    public AuthorizationTraceFilter(
+            AuthorizationTracer tracer,
+            AuthorizationService authorizationService
+    ) {
+        this.tracer = tracer;
+        this.authorizationService = authorizationService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"true".equalsIgnoreCase(request.getHeader(AuthorizationTracer.HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        // En-tête ignoré pour les anonymes et les utilisateurs non autorisés
+        if (!mayTrace(currentUserId())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String traceId = tracer.beginRequest();
+        response.setHeader(AuthorizationTracer.TRACE_ID_HEADER, traceId);
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            tracer.endRequest();
+        }
+    }
+
+    private boolean mayTrace(UUID userId) {
+        return userId != null
+                && (tracer.isUserTraced(userId) || authorizationService.isSuperAdmin(userId));
+    }
+
+    private static UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof AppUser user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
@@ -41,8 +41,8 @@ public class SecurityConfig {
                 "http://127.0.0.1:3000"
         ));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "X-Authz-Trace", "If-None-Match"));
+        configuration.setExposedHeaders(List.of("Authorization", "X-Authz-Trace-Id", "X-Structure-Version", "ETag"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -1,17 +1,27 @@
 package com.yow.access.controllers;
 
+import com.yow.access.dto.AuditLogPage;
+import com.yow.access.dto.AuditRollupBucket;
 import com.yow.access.entities.AppUser;
-import com.yow.access.entities.AuditLog;
-import com.yow.access.repositories.AuditLogRepository;
-import com.yow.access.repositories.UserRoleResourceRepository;
+import com.yow.access.services.AuditLogExporter;
+import com.yow.access.services.AuditLogQueryService;
+import com.yow.access.services.AuditRollupService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -20,66 +30,123 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/audit-logs")
 public class AuditLogController {
 
-    private final AuditLogRepository auditLogRepository;
-    private final UserRoleResourceRepository urrRepository;
+    private final AuditLogQueryService auditLogQueryService;
+    private final AuditRollupService auditRollupService;
 
-    public AuditLogController(AuditLogRepository auditLogRepository, UserRoleResourceRepository urrRepository) {
-        this.auditLogRepository = auditLogRepository;
-        this.urrRepository = urrRepository;
+    public AuditLogController(
+            AuditLogQueryService auditLogQueryService,
+            AuditRollupService auditRollupService
+    ) {
+        this.auditLogQueryService = auditLogQueryService;
+        this.auditRollupService = auditRollupService;
     }
 
+    /**
+     * Latest entries the caller may see, newest first, at most one page
+     * (MAX_PAGE_SIZE). Kept for existing clients; use /page to go further.
+     */
     @GetMapping
     public ResponseEntity<List<Map<String, Object>>> getAuditLogs(
             @AuthenticationPrincipal AppUser currentUser,
             @RequestParam(required = false) UUID tenantId
     ) {
-        // Obtenir les rôles de l'utilisateur
-        List<String> roles = urrRepository.findAllByUserId(currentUser.getId())
-                .stream()
-                .map(urr -> urr.getRole().getName())
-                .collect(Collectors.toList());
-
-        boolean isSuperAdmin = roles.contains("ADMIN");
-        boolean isTenantAdmin = roles.contains("TENANT_ADMIN");
-
-        List<AuditLog> logs;
-
-        if (isSuperAdmin) {
-            if (tenantId != null) {
-                logs = auditLogRepository.findAllByTenantId(tenantId);
-            } else {
-                logs = auditLogRepository.findAll();
-            }
-        } else if (isTenantAdmin) {
-            // Un admin de tenant ne peut voir que les logs de son propre tenant
-            // Pour simplifier, on récupère le tenantId depuis sa première assignation de rôle
-            UUID userTenantId = urrRepository.findAllByUserId(currentUser.getId()).stream()
-                    .map(urr -> urr.getResource().getTenant().getId())
-                    .findFirst()
-                    .orElse(null);
+        AuditLogQueryService.Filter filter =
+                new AuditLogQueryService.Filter(tenantId, null, null, null, null, null, null);
+        AuditLogPage page = auditLogQueryService.search(
+                currentUser.getId(), filter, AuditLogQueryService.MAX_PAGE_SIZE, null);
 
-            if (userTenantId == null) {
-                return ResponseEntity.status(403).build();
-            }
-            logs = auditLogRepository.findAllByTenantId(userTenantId);
-        } else {
-            // Les autres utilisateurs ne voient que leurs propres logs
-            logs = auditLogRepository.findAllByUserId(currentUser.getId());
-        }
-
-        List<Map<String, Object>> response = logs.stream()
+        List<Map<String, Object>> response = page.getItems().stream()
                 .map(log -> Map.<String, Object>of(
                         "id", log.getId(),
                         "action", log.getAction(),
                         "timestamp", log.getTimestamp(),
-                        "username", log.getUser() != null ? log.getUser().getUsername() : "Système",
-                        "resourceType", log.getResource() != null ? log.getResource().getType() : (log.getTargetType() != null ? log.getTargetType() : ""),
+                        "username", log.getUsername() != null ? log.getUsername() : "Système",
+                        "resourceType", log.getResourceType() != null ? log.getResourceType() : "",
                         "outcome", log.getOutcome() != null ? log.getOutcome() : "",
                         "message", log.getMessage() != null ? log.getMessage() : ""
                 ))
-                .sorted((a, b) -> ((java.time.Instant) b.get("timestamp")).compareTo((java.time.Instant) a.get("timestamp")))
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Keyset-paginated audit entries, newest first. Filters are optional;
+     * from is inclusive, to exclusive (ISO-8601). Pass back nextCursor to
+     * get the following page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<AuditLogPage> getAuditLogPage(
+            @AuthenticationPrincipal AppUser currentUser,
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) UUID resourceId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String outcome,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor
+    ) {
+        AuditLogQueryService.Filter filter =
+                new AuditLogQueryService.Filter(tenantId, userId, resourceId, action, outcome, from, to);
+        return ResponseEntity.ok(auditLogQueryService.search(
+                currentUser.getId(),
+                filter,
+                Math.min(limit, AuditLogQueryService.MAX_PAGE_SIZE),
+                cursor
+        ));
+    }
+
+    /**
+     * Full export as CSV or NDJSON (format=csv|ndjson), optionally gzipped,
+     * streamed from a database cursor: memory stays flat whatever the volume.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @AuthenticationPrincipal AppUser currentUser,
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        AuditLogExporter.Format exportFormat = AuditLogExporter.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        StreamingResponseBody body = auditLogQueryService.export(
+                currentUser.getId(), tenantId, from, to, exportFormat, gzip);
+
+        String filename = "audit-log" + (tenantId != null ? "-" + tenantId : "")
+                + (exportFormat == AuditLogExporter.Format.CSV ? ".csv" : ".ndjson")
+                + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : exportFormat == AuditLogExporter.Format.CSV
+                        ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                        : MediaType.parseMediaType("application/x-ndjson");
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    /**
+     * Hourly event counts per (action, outcome) over [from, to), read from the
+     * pre-aggregated rollups (last 24 hours by default).
+     */
+    @GetMapping("/rollups")
+    public ResponseEntity<List<AuditRollupBucket>> getAuditRollups(
+            @AuthenticationPrincipal AppUser currentUser,
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String outcome
+    ) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofHours(24));
+        return ResponseEntity.ok(auditRollupService.getRollups(
+                currentUser.getId(), tenantId, start, end, action, outcome));
+    }
 }
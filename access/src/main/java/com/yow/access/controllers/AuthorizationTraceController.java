@@ -0,0 +1,92 @@
+package com.yow.access.controllers;
+
+import com.yow.access.config.security.context.AuthenticatedUserContext;
+import com.yow.access.dto.AuthorizationTraceEntry;
+import com.yow.access.exceptions.AccessDeniedException;
+import com.yow.access.services.AuthorizationService;
+import com.yow.access.services.AuthorizationTracer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Debug access to traced RBAC decisions (ADMIN only).
+ * Tracing is enabled per request with the X-Authz-Trace header,
+ * or per user through this controller.
+ */
+@RestController
+@RequestMapping("/api/authz/traces")
+public class AuthorizationTraceController {
+
+    private static final int MAX_LIMIT = 500;
+
+    private final AuthorizationTracer tracer;
+    private final AuthorizationService authorizationService;
+    private final AuthenticatedUserContext userContext;
+
+    public AuthorizationTraceController(
+            AuthorizationTracer tracer,
+            AuthorizationService authorizationService,
+            AuthenticatedUserContext userContext
+    ) {
+        this.tracer = tracer;
+        this.authorizationService = authorizationService;
+        this.userContext = userContext;
+    }
+
+    /**
+     * RECENT DECISIONS
+     * Most recent first, filtered by trace id (X-Authz-Trace-Id) and/or user.
+     */
+    @GetMapping
+    public ResponseEntity<List<AuthorizationTraceEntry>> getTraces(
+            @RequestParam(required = false) String traceId,
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        requireAdmin();
+        return ResponseEntity.ok(
+                tracer.recent(traceId, userId, Math.max(1, Math.min(limit, MAX_LIMIT)))
+        );
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clearTraces() {
+        requireAdmin();
+        tracer.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * PER-USER TRACING
+     * Every decision taken for these users is traced, whatever the request.
+     */
+    @GetMapping("/users")
+    public ResponseEntity<Set<UUID>> getTracedUsers() {
+        requireAdmin();
+        return ResponseEntity.ok(tracer.tracedUsers());
+    }
+
+    @PutMapping("/users/{userId}")
+    public ResponseEntity<Void> enableUserTrace(@PathVariable UUID userId) {
+        requireAdmin();
+        tracer.enableUser(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/users/{userId}")
+    public ResponseEntity<Void> disableUserTrace(@PathVariable UUID userId) {
+        requireAdmin();
+        tracer.disableUser(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private void requireAdmin() {
+        if (!authorizationService.isSuperAdmin(userContext.getUserId())) {
+            throw new AccessDeniedException("ADMIN");
+        }
+    }
+}
@@ -31,6 +31,12 @@ public class GlobalExceptionHandler {
                 .body(error("VALIDATION_ERROR", ex.getMessage()));
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleBadRequest(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest()
+                .body(error("BAD_REQUEST", ex.getMessage()));
+    }
+
     private Map<String, Object> error(String code, String message) {
         return Map.of(
                 "timestamp", Instant.now(),
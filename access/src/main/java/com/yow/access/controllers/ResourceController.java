@@ -1,22 +1,41 @@
 package com.yow.access.controllers;
 
 import com.yow.access.config.security.context.AuthenticatedUserContext;
+import com.yow.access.dto.BatchPermissionCheckRequest;
+import com.yow.access.dto.BulkResourceImportRequest;
+import com.yow.access.dto.BulkResourceImportResponse;
 import com.yow.access.dto.CreateResourceRequest;
 import com.yow.access.dto.MoveResourceRequest;
-import com.yow.access.dto.ResourceTreeResponse;
+import com.yow.access.dto.ResourceChangesResponse;
+import com.yow.access.dto.ResourceChildrenPage;
+import com.yow.access.dto.ResourceDeletionJobResponse;
+import com.yow.access.dto.ResourceSearchPage;
+import com.yow.access.dto.ResourceTreeSnapshot;
 import com.yow.access.services.ResourceService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.net.URI;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/resources")
 public class ResourceController {
 
+    private static final int MAX_DEPTH = 3;
+    private static final int MAX_LIMIT = 200;
+    private static final int MAX_CHANGES = 5000;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    // Tenant structure version of a returned tree, the "since" of the next delta sync
+    private static final String STRUCTURE_VERSION_HEADER = "X-Structure-Version";
+
     private final ResourceService resourceService;
     private final com.yow.access.services.AuthorizationService authorizationService;
     private final AuthenticatedUserContext userContext;
@@ -35,13 +54,55 @@ public class ResourceController {
      * READ RESOURCE TREE (RBAC protected)
      */
     @GetMapping("/tree/{rootId}")
-    public ResponseEntity<ResourceTreeResponse> getTree(
+    public ResponseEntity<byte[]> getTree(
+            @PathVariable UUID rootId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return snapshotResponse(
+                resourceService.getResourceTreeSnapshot(
+                        userContext.getUserId(),
+                        rootId,
+                        ifNoneMatch
+                )
+        );
+    }
+
+    /**
+     * STREAM RESOURCE TREE (RBAC protected)
+     * Same JSON as /tree/{rootId}, written depth-first while it is read from the
+     * database: memory stays bounded for exports of very large trees.
+     */
+    @GetMapping(value = "/tree/{rootId}/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTree(
             @PathVariable UUID rootId
     ) {
-        return ResponseEntity.ok(
-                resourceService.getResourceTree(
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(resourceService.streamResourceTree(
                         userContext.getUserId(),
                         rootId
+                ));
+    }
+
+    /**
+     * LAZY TREE EXPANSION (RBAC protected)
+     * Children of a node, sorted and keyset-paginated by (name, id), expanded
+     * down to {@code depth} levels; pass the returned nextCursor to get the next page.
+     */
+    @GetMapping("/tree/{rootId}/children")
+    public ResponseEntity<ResourceChildrenPage> getChildren(
+            @PathVariable UUID rootId,
+            @RequestParam(defaultValue = "1") int depth,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor
+    ) {
+        return ResponseEntity.ok(
+                resourceService.getChildren(
+                        userContext.getUserId(),
+                        rootId,
+                        Math.max(1, Math.min(depth, MAX_DEPTH)),
+                        Math.max(1, Math.min(limit, MAX_LIMIT)),
+                        cursor
                 )
         );
     }
@@ -63,13 +124,43 @@ public class ResourceController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    /**
+     * BULK IMPORT (RBAC protected)
+     * Creates a nested tree and/or a flat list (parentTempId) under one parent
+     * in a single transaction; returns the ids assigned to each tempId.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<BulkResourceImportResponse> importResources(
+            @Valid @RequestBody BulkResourceImportRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(
+                resourceService.importResources(
+                        userContext.getUserId(),
+                        request
+                )
+        );
+    }
+
     /**
      * DELETE RESOURCE (RBAC protected)
+     * With async=true the subtree is hidden at once and purged in the
+     * background: 202 with the job to poll on /deletions/{jobId}.
      */
     @DeleteMapping("/{resourceId}")
-    public ResponseEntity<Void> deleteResource(
-            @PathVariable UUID resourceId
+    public ResponseEntity<ResourceDeletionJobResponse> deleteResource(
+            @PathVariable UUID resourceId,
+            @RequestParam(defaultValue = "false") boolean async
     ) {
+        if (async) {
+            ResourceDeletionJobResponse job = resourceService.deleteResourceAsync(
+                    userContext.getUserId(),
+                    resourceId
+            );
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/resources/deletions/" + job.getId()))
+                    .body(job);
+        }
+
         resourceService.deleteResource(
                 userContext.getUserId(),
                 resourceId
@@ -78,6 +169,18 @@ public class ResourceController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * ASYNC DELETION PROGRESS
+     */
+    @GetMapping("/deletions/{jobId}")
+    public ResponseEntity<ResourceDeletionJobResponse> getDeletionJob(
+            @PathVariable UUID jobId
+    ) {
+        return ResponseEntity.ok(
+                resourceService.getDeletionJob(userContext.getUserId(), jobId)
+        );
+    }
+
     /**
      * MOVE RESOURCE (RBAC protected)
      */
@@ -97,14 +200,63 @@ public class ResourceController {
 
     /**
      * GET ROOT RESOURCES BY TENANT
-     * Retourne l'arbre complet des ressources d'un tenant
+     * Retourne l'arbre des ressources d'un tenant, limité à ce que l'utilisateur peut lire
      */
     @GetMapping("/tenant/{tenantId}")
-    public ResponseEntity<List<ResourceTreeResponse>> getResourcesByTenant(
-            @PathVariable UUID tenantId
+    public ResponseEntity<byte[]> getResourcesByTenant(
+            @PathVariable UUID tenantId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return snapshotResponse(
+                resourceService.getRootResourcesSnapshot(userContext.getUserId(), tenantId, ifNoneMatch)
+        );
+    }
+
+    /**
+     * SEARCH RESOURCES
+     * Recherche insensible à la casse sur le nom ou le type (sous-chaîne, ou
+     * préfixe avec prefix=true), limitée aux ressources lisibles ; chaque
+     * résultat porte son chemin.
+     */
+    @GetMapping("/tenant/{tenantId}/search")
+    public ResponseEntity<ResourceSearchPage> searchResources(
+            @PathVariable UUID tenantId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "false") boolean prefix,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor
     ) {
         return ResponseEntity.ok(
-                resourceService.getRootResourcesByTenant(tenantId)
+                resourceService.searchResources(
+                        userContext.getUserId(),
+                        tenantId,
+                        q,
+                        prefix,
+                        Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)),
+                        cursor
+                )
+        );
+    }
+
+    /**
+     * DELTA SYNC
+     * Changements de structure du tenant depuis la version {@code since}
+     * (en-tête X-Structure-Version des arbres), ou resyncRequired quand le
+     * journal ne couvre plus cette version.
+     */
+    @GetMapping("/tenant/{tenantId}/changes")
+    public ResponseEntity<ResourceChangesResponse> getChanges(
+            @PathVariable UUID tenantId,
+            @RequestParam long since,
+            @RequestParam(defaultValue = "1000") int limit
+    ) {
+        return ResponseEntity.ok(
+                resourceService.getChanges(
+                        userContext.getUserId(),
+                        tenantId,
+                        since,
+                        Math.max(1, Math.min(limit, MAX_CHANGES))
+                )
         );
     }
 
@@ -132,4 +284,40 @@ public class ResourceController {
                 authorizationService.getEffectivePermissions(userContext.getUserId(), resourceId)
         );
     }
+
+    /**
+     * BATCH PERMISSION CHECK
+     * One permission across many resources, e.g. every node of a tree page.
+     */
+    @PostMapping("/permissions/check")
+    public ResponseEntity<java.util.Map<UUID, Boolean>> checkPermissions(
+            @Valid @RequestBody BatchPermissionCheckRequest request
+    ) {
+        return ResponseEntity.ok(
+                authorizationService.checkPermissions(
+                        userContext.getUserId(),
+                        request.getResourceIds(),
+                        request.getPermission()
+                )
+        );
+    }
+
+    // Pre-serialized tree: 304 when the ETag matches, revalidation required otherwise
+    private ResponseEntity<byte[]> snapshotResponse(ResourceTreeSnapshot snapshot) {
+        if (snapshot.isNotModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getEtag())
+                    .header(STRUCTURE_VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(STRUCTURE_VERSION_HEADER, String.valueOf(snapshot.getVersion()));
+        if (snapshot.getEtag() != null) {
+            response.eTag(snapshot.getEtag());
+        }
+        return response.body(snapshot.getJson());
+    }
 }
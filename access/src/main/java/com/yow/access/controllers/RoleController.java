@@ -5,6 +5,7 @@ import com.yow.access.entities.Permission;
 import com.yow.access.entities.Role;
 import com.yow.access.repositories.PermissionRepository;
 import com.yow.access.repositories.RoleRepository;
+import com.yow.access.services.AuthorizationService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,15 +22,18 @@ public class RoleController {
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
     private final com.yow.access.config.security.context.AuthenticatedUserContext userContext;
+    private final AuthorizationService authorizationService;
 
     public RoleController(
             RoleRepository roleRepository,
             PermissionRepository permissionRepository,
-            com.yow.access.config.security.context.AuthenticatedUserContext userContext
+            com.yow.access.config.security.context.AuthenticatedUserContext userContext,
+            AuthorizationService authorizationService
     ) {
         this.roleRepository = roleRepository;
         this.permissionRepository = permissionRepository;
         this.userContext = userContext;
+        this.authorizationService = authorizationService;
     }
 
     @GetMapping
@@ -98,6 +102,7 @@ public class RoleController {
         }
 
         roleRepository.save(role);
+        authorizationService.onRolePermissionsChanged();
         return ResponseEntity.status(HttpStatus.CREATED).body(role);
     }
 }
@@ -6,10 +6,9 @@ import com.yow.access.dto.TenantResponse;
 import com.yow.access.dto.TenantStatsResponse;
 import com.yow.access.dto.TenantSummaryDTO;
 import com.yow.access.entities.Tenant;
-import com.yow.access.repositories.ResourceRepository;
-import com.yow.access.repositories.UserRoleResourceRepository;
 import com.yow.access.services.AuthorizationService;
 import com.yow.access.services.TenantService;
+import com.yow.access.services.TenantStatsService;
 import com.yow.access.config.security.context.AuthenticatedUserContext;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -26,21 +25,18 @@ public class TenantController {
     private final TenantService tenantService;
     private final AuthorizationService authorizationService;
     private final AuthenticatedUserContext userContext;
-    private final ResourceRepository resourceRepository;
-    private final UserRoleResourceRepository urrRepository;
+    private final TenantStatsService tenantStatsService;
 
     public TenantController(
             TenantService tenantService,
             AuthorizationService authorizationService,
             AuthenticatedUserContext userContext,
-            ResourceRepository resourceRepository,
-            UserRoleResourceRepository urrRepository
+            TenantStatsService tenantStatsService
     ) {
         this.tenantService = tenantService;
         this.authorizationService = authorizationService;
         this.userContext = userContext;
-        this.resourceRepository = resourceRepository;
-        this.urrRepository = urrRepository;
+        this.tenantStatsService = tenantStatsService;
     }
 
     /* ============================
@@ -97,8 +93,7 @@ public class TenantController {
         UUID userId = userContext.getUserId();
         
         // Vérifier si l'utilisateur est SUPER_ADMIN (Role ADMIN global)
-        boolean isSuperAdmin = urrRepository.findAllByUserId(userId).stream()
-                .anyMatch(urr -> urr.getRole().getName().equals("ADMIN"));
+        boolean isSuperAdmin = authorizationService.isSuperAdmin(userId);
 
         List<Tenant> tenants;
         if (isSuperAdmin) {
@@ -116,15 +111,13 @@ public class TenantController {
 
     /* ============================
        GET TENANT STATS
+       Compteurs maintenus à chaque écriture : une lecture par clé primaire
        ============================ */
     @GetMapping("/{tenantId}/stats")
     public ResponseEntity<TenantStatsResponse> getTenantStats(
             @PathVariable UUID tenantId
     ) {
-        long userCount = urrRepository.countDistinctUsersByTenantId(tenantId);
-        long resourceCount = resourceRepository.countByTenantId(tenantId);
-
-        return ResponseEntity.ok(new TenantStatsResponse(userCount, resourceCount));
+        return ResponseEntity.ok(tenantStatsService.getStats(tenantId));
     }
 
     
@@ -134,23 +127,14 @@ public class TenantController {
     @GetMapping("/summary")
     public ResponseEntity<List<TenantSummaryDTO>> getTenantsSummary() {
         UUID userId = userContext.getUserId();
-        System.out.println("DEBUG: getTenantsSummary called by user " + userId);
-
-        List<com.yow.access.entities.UserRoleResource> roles = urrRepository.findAllByUserId(userId);
-        System.out.println("DEBUG: Found " + roles.size() + " roles for user.");
-        roles.forEach(r -> System.out.println("DEBUG: Role=" + r.getRole().getName() + " on Resource=" + r.getResource().getName()));
 
         // Vérifier si l'utilisateur est SUPER_ADMIN
-        boolean isSuperAdmin = roles.stream()
-                .anyMatch(urr -> urr.getRole().getName().equals("ADMIN"));
-        
-        System.out.println("DEBUG: isSuperAdmin=" + isSuperAdmin);
+        boolean isSuperAdmin = authorizationService.isSuperAdmin(userId);
 
         // FALLBACK: Si le rôle n'est pas trouvé (problème cache/DB), on autorise explicitement l'email admin
         if (!isSuperAdmin) {
              // ID admin: 95729637-9f57-4d5e-a0af-a8e208bdc446
              if (userId.toString().equals("95729637-9f57-4d5e-a0af-a8e208bdc446")) {
-                 System.out.println("DEBUG: Force ADMIN access for ID 95729637...");
                  isSuperAdmin = true;
              }
         }
@@ -0,0 +1,60 @@
+package com.yow.access.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One audit record as returned by the paginated audit API.
+ */
+public class AuditLogEntryResponse {
+
+    private final UUID id;
+    private final Instant timestamp;
+    private final String action;
+    private final String outcome;
+    private final String message;
+    private final UUID tenantId;
+    private final UUID userId;
+    private final String username;
+    private final UUID resourceId;
+    private final String resourceType;
+    private final UUID targetId;
+
+    public AuditLogEntryResponse(
+            UUID id,
+            Instant timestamp,
+            String action,
+            String outcome,
+            String message,
+            UUID tenantId,
+            UUID userId,
+            String username,
+            UUID resourceId,
+            String resourceType,
+            UUID targetId
+    ) {
+        this.id = id;
+        this.timestamp = timestamp;
+        this.action = action;
+        this.outcome = outcome;
+        this.message = message;
+        this.tenantId = tenantId;
+        this.userId = userId;
+        this.username = username;
+        this.resourceId = resourceId;
+        this.resourceType = resourceType;
+        this.targetId = targetId;
+    }
+
+    public UUID getId() { return id; }
+    public Instant getTimestamp() { return timestamp; }
+    public String getAction() { return action; }
+    public String getOutcome() { return outcome; }
+    public String getMessage() { return message; }
+    public UUID getTenantId() { return tenantId; }
+    public UUID getUserId() { return userId; }
+    public String getUsername() { return username; }
+    public UUID getResourceId() { return resourceId; }
+    public String getResourceType() { return resourceType; }
+    public UUID getTargetId() { return targetId; }
+}
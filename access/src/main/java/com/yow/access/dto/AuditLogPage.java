@@ -0,0 +1,24 @@
+package com.yow.access.dto;
+
+import java.util.List;
+
+/**
+ * One page of audit records, newest first (timestamp, id descending).
+ * nextCursor is null on the last page.
+ */
+public class AuditLogPage {
+
+    private final List<AuditLogEntryResponse> items;
+    private final String nextCursor;
+    private final boolean hasMore;
+
+    public AuditLogPage(List<AuditLogEntryResponse> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<AuditLogEntryResponse> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasMore() { return hasMore; }
+}
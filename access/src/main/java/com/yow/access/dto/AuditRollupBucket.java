@@ -0,0 +1,26 @@
+package com.yow.access.dto;
+
+import java.time.Instant;
+
+/**
+ * Number of audit events with one (action, outcome) during the hour starting at bucket.
+ */
+public class AuditRollupBucket {
+
+    private final Instant bucket;
+    private final String action;
+    private final String outcome;
+    private final long count;
+
+    public AuditRollupBucket(Instant bucket, String action, String outcome, long count) {
+        this.bucket = bucket;
+        this.action = action;
+        this.outcome = outcome;
+        this.count = count;
+    }
+
+    public Instant getBucket() { return bucket; }
+    public String getAction() { return action; }
+    public String getOutcome() { return outcome; }
+    public long getCount() { return count; }
+}
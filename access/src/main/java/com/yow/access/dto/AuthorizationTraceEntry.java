@@ -0,0 +1,66 @@
+package com.yow.access.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One traced RBAC decision: the walked hierarchy, the matching binding
+ * (resource + roles granting the permission there) and the evaluation time.
+ */
+public class AuthorizationTraceEntry {
+
+    private final String traceId;
+    private final Instant at;
+    private final UUID userId;
+    private final UUID resourceId;
+    private final String permission;
+    private final boolean granted;
+    private final String reason;
+    private final List<UUID> walkedPath;
+    private final UUID matchedResourceId;
+    private final List<String> matchedRoles;
+    private final Boolean cachedDecision;
+    private final long elapsedNanos;
+
+    public AuthorizationTraceEntry(
+            String traceId,
+            Instant at,
+            UUID userId,
+            UUID resourceId,
+            String permission,
+            boolean granted,
+            String reason,
+            List<UUID> walkedPath,
+            UUID matchedResourceId,
+            List<String> matchedRoles,
+            Boolean cachedDecision,
+            long elapsedNanos
+    ) {
+        this.traceId = traceId;
+        this.at = at;
+        this.userId = userId;
+        this.resourceId = resourceId;
+        this.permission = permission;
+        this.granted = granted;
+        this.reason = reason;
+        this.walkedPath = walkedPath;
+        this.matchedResourceId = matchedResourceId;
+        this.matchedRoles = matchedRoles;
+        this.cachedDecision = cachedDecision;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getTraceId() { return traceId; }
+    public Instant getAt() { return at; }
+    public UUID getUserId() { return userId; }
+    public UUID getResourceId() { return resourceId; }
+    public String getPermission() { return permission; }
+    public boolean isGranted() { return granted; }
+    public String getReason() { return reason; }
+    public List<UUID> getWalkedPath() { return walkedPath; }
+    public UUID getMatchedResourceId() { return matchedResourceId; }
+    public List<String> getMatchedRoles() { return matchedRoles; }
+    public Boolean getCachedDecision() { return cachedDecision; }
+    public long getElapsedNanos() { return elapsedNanos; }
+}
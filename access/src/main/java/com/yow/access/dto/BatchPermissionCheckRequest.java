@@ -0,0 +1,25 @@
+package com.yow.access.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public class BatchPermissionCheckRequest {
+
+    @NotBlank
+    private String permission;
+
+    @NotEmpty
+    @Size(max = 5000)
+    private List<UUID> resourceIds;
+
+    public BatchPermissionCheckRequest() {}
+
+    public String getPermission() { return permission; }
+    public void setPermission(String permission) { this.permission = permission; }
+    public List<UUID> getResourceIds() { return resourceIds; }
+    public void setResourceIds(List<UUID> resourceIds) { this.resourceIds = resourceIds; }
+}
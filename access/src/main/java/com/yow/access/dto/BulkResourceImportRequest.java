@@ -0,0 +1,63 @@
+package com.yow.access.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resources to create under one existing parent, either nested (children)
+ * or flat (parentTempId pointing to another node's tempId), or both.
+ * Top-level nodes without parentTempId go directly under parentResourceId.
+ */
+public class BulkResourceImportRequest {
+
+    @NotNull
+    private UUID parentResourceId;
+
+    @NotEmpty
+    @Valid
+    private List<Node> nodes = new ArrayList<>();
+
+    public BulkResourceImportRequest() {}
+
+    public UUID getParentResourceId() { return parentResourceId; }
+    public void setParentResourceId(UUID parentResourceId) { this.parentResourceId = parentResourceId; }
+    public List<Node> getNodes() { return nodes; }
+    public void setNodes(List<Node> nodes) { this.nodes = nodes; }
+
+    public static class Node {
+
+        // Client-side id, echoed back with the real id
+        private String tempId;
+
+        // Flat form only; ignored for nested children
+        private String parentTempId;
+
+        @NotBlank
+        private String name;
+
+        @NotBlank
+        private String type;
+
+        @Valid
+        private List<Node> children = new ArrayList<>();
+
+        public Node() {}
+
+        public String getTempId() { return tempId; }
+        public void setTempId(String tempId) { this.tempId = tempId; }
+        public String getParentTempId() { return parentTempId; }
+        public void setParentTempId(String parentTempId) { this.parentTempId = parentTempId; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getType() { return type; }
+        public void setType(String type) { this.type = type; }
+        public List<Node> getChildren() { return children; }
+        public void setChildren(List<Node> children) { this.children = children; }
+    }
+}
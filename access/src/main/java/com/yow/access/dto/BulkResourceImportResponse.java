@@ -0,0 +1,19 @@
+package com.yow.access.dto;
+
+import java.util.Map;
+import java.util.UUID;
+
+public class BulkResourceImportResponse {
+
+    private final int created;
+    // tempId -> id attribué, pour les nœuds envoyés avec un tempId
+    private final Map<String, UUID> ids;
+
+    public BulkResourceImportResponse(int created, Map<String, UUID> ids) {
+        this.created = created;
+        this.ids = ids;
+    }
+
+    public int getCreated() { return created; }
+    public Map<String, UUID> getIds() { return ids; }
+}
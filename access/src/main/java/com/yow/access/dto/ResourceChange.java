@@ -0,0 +1,57 @@
+package com.yow.access.dto;
+
+import com.yow.access.entities.Resource;
+
+import java.util.UUID;
+
+/**
+ * One entry of the tenant change log. Events are idempotent: clients apply
+ * CREATE and MOVE as upserts and DELETE as the removal of the whole subtree.
+ * DELETE events only carry the id of the removed root.
+ */
+public class ResourceChange {
+
+    public static final String CREATE = "CREATE";
+    public static final String MOVE = "MOVE";
+    public static final String DELETE = "DELETE";
+
+    private long seq;
+    private String event;
+    private UUID resourceId;
+    private UUID parentId;
+    private String name;
+    private String type;
+
+    public ResourceChange() {}
+
+    public ResourceChange(long seq, String event, UUID resourceId, UUID parentId, String name, String type) {
+        this.seq = seq;
+        this.event = event;
+        this.resourceId = resourceId;
+        this.parentId = parentId;
+        this.name = name;
+        this.type = type;
+    }
+
+    public static ResourceChange of(long seq, String event, Resource resource) {
+        return new ResourceChange(
+                seq,
+                event,
+                resource.getId(),
+                resource.getParent() != null ? resource.getParent().getId() : null,
+                resource.getName(),
+                resource.getType()
+        );
+    }
+
+    public static ResourceChange deleted(long seq, UUID resourceId) {
+        return new ResourceChange(seq, DELETE, resourceId, null, null, null);
+    }
+
+    public long getSeq() { return seq; }
+    public String getEvent() { return event; }
+    public UUID getResourceId() { return resourceId; }
+    public UUID getParentId() { return parentId; }
+    public String getName() { return name; }
+    public String getType() { return type; }
+}
@@ -0,0 +1,37 @@
+package com.yow.access.dto;
+
+import java.util.List;
+
+/**
+ * Deltas since a structure version. When resyncRequired is true the log no
+ * longer covers the requested range: the client reloads the tree instead.
+ * version is the version reached after applying changes; hasMore asks for
+ * another call with since = version.
+ */
+public class ResourceChangesResponse {
+
+    private final long version;
+    private final boolean resyncRequired;
+    private final boolean hasMore;
+    private final List<ResourceChange> changes;
+
+    private ResourceChangesResponse(long version, boolean resyncRequired, boolean hasMore, List<ResourceChange> changes) {
+        this.version = version;
+        this.resyncRequired = resyncRequired;
+        this.hasMore = hasMore;
+        this.changes = changes;
+    }
+
+    public static ResourceChangesResponse changes(long version, boolean hasMore, List<ResourceChange> changes) {
+        return new ResourceChangesResponse(version, false, hasMore, changes);
+    }
+
+    public static ResourceChangesResponse resync(long currentVersion) {
+        return new ResourceChangesResponse(currentVersion, true, false, List.of());
+    }
+
+    public long getVersion() { return version; }
+    public boolean isResyncRequired() { return resyncRequired; }
+    public boolean isHasMore() { return hasMore; }
+    public List<ResourceChange> getChanges() { return changes; }
+}
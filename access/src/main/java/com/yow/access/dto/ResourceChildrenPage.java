@@ -0,0 +1,33 @@
+package com.yow.access.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of the children of a node, sorted by (name, id).
+ * nextCursor is null on the last page.
+ */
+public class ResourceChildrenPage {
+
+    private final UUID parentId;
+    private final List<ResourceNodeResponse> items;
+    private final String nextCursor;
+    private final boolean hasMore;
+
+    public ResourceChildrenPage(
+            UUID parentId,
+            List<ResourceNodeResponse> items,
+            String nextCursor,
+            boolean hasMore
+    ) {
+        this.parentId = parentId;
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public UUID getParentId() { return parentId; }
+    public List<ResourceNodeResponse> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasMore() { return hasMore; }
+}
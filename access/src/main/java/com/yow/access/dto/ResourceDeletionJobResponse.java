@@ -0,0 +1,40 @@
+package com.yow.access.dto;
+
+import com.yow.access.entities.ResourceDeletionJob;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class ResourceDeletionJobResponse {
+
+    private UUID id;
+    private UUID rootResourceId;
+    private String status;
+    private int totalCount;
+    private int deletedCount;
+    private String error;
+    private Instant createdAt;
+    private Instant completedAt;
+
+    public static ResourceDeletionJobResponse fromEntity(ResourceDeletionJob job) {
+        ResourceDeletionJobResponse dto = new ResourceDeletionJobResponse();
+        dto.id = job.getId();
+        dto.rootResourceId = job.getRootResourceId();
+        dto.status = job.getStatus();
+        dto.totalCount = job.getTotalCount();
+        dto.deletedCount = job.getDeletedCount();
+        dto.error = job.getError();
+        dto.createdAt = job.getCreatedAt();
+        dto.completedAt = job.getCompletedAt();
+        return dto;
+    }
+
+    public UUID getId() { return id; }
+    public UUID getRootResourceId() { return rootResourceId; }
+    public String getStatus() { return status; }
+    public int getTotalCount() { return totalCount; }
+    public int getDeletedCount() { return deletedCount; }
+    public String getError() { return error; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getCompletedAt() { return completedAt; }
+}
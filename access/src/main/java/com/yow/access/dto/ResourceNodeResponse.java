@@ -0,0 +1,57 @@
+package com.yow.access.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Node of a lazily expanded tree: children are only present up to the
+ * requested depth; childCount and hasMore tell the UI what is left to load.
+ * A node the caller cannot read, kept only to reach readable descendants,
+ * carries its id and {@code readable=false} only.
+ */
+public class ResourceNodeResponse {
+
+    private UUID id;
+    private String name;
+    private String type;
+    private boolean readable = true;
+    private long childCount;
+    private boolean hasMore;
+    private List<ResourceNodeResponse> children = new ArrayList<>();
+
+    public static ResourceNodeResponse of(UUID id, String name, String type) {
+        ResourceNodeResponse dto = new ResourceNodeResponse();
+        dto.id = id;
+        dto.name = name;
+        dto.type = type;
+        return dto;
+    }
+
+    public static ResourceNodeResponse connector(UUID id) {
+        ResourceNodeResponse dto = new ResourceNodeResponse();
+        dto.id = id;
+        dto.readable = false;
+        return dto;
+    }
+
+    public void addChild(ResourceNodeResponse child) {
+        this.children.add(child);
+    }
+
+    public void setChildCount(long childCount) {
+        this.childCount = childCount;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public UUID getId() { return id; }
+    public String getName() { return name; }
+    public String getType() { return type; }
+    public boolean isReadable() { return readable; }
+    public long getChildCount() { return childCount; }
+    public boolean isHasMore() { return hasMore; }
+    public List<ResourceNodeResponse> getChildren() { return children; }
+}
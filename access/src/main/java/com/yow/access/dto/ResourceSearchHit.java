@@ -0,0 +1,30 @@
+package com.yow.access.dto;
+
+import java.util.UUID;
+
+/**
+ * One search result, with its materialized path so the UI can open the
+ * tree straight down to the node.
+ */
+public class ResourceSearchHit {
+
+    private final UUID id;
+    private final UUID parentId;
+    private final String name;
+    private final String type;
+    private final String path;
+
+    public ResourceSearchHit(UUID id, UUID parentId, String name, String type, String path) {
+        this.id = id;
+        this.parentId = parentId;
+        this.name = name;
+        this.type = type;
+        this.path = path;
+    }
+
+    public UUID getId() { return id; }
+    public UUID getParentId() { return parentId; }
+    public String getName() { return name; }
+    public String getType() { return type; }
+    public String getPath() { return path; }
+}
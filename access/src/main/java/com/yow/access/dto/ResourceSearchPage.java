@@ -0,0 +1,25 @@
+package com.yow.access.dto;
+
+import java.util.List;
+
+/**
+ * One page of readable search hits, sorted by (name, id).
+ * nextCursor is null once every match has been examined; a page may hold
+ * fewer hits than requested while hasMore is still true.
+ */
+public class ResourceSearchPage {
+
+    private final List<ResourceSearchHit> items;
+    private final String nextCursor;
+    private final boolean hasMore;
+
+    public ResourceSearchPage(List<ResourceSearchHit> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<ResourceSearchHit> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasMore() { return hasMore; }
+}
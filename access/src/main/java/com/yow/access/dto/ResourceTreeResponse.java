@@ -6,11 +6,16 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Node of a resource tree. A node the caller cannot read, kept only to reach
+ * readable descendants, carries its id and {@code readable=false} only.
+ */
 public class ResourceTreeResponse {
 
     private UUID id;
     private String name;
     private String type;
+    private boolean readable = true;
     private List<ResourceTreeResponse> children = new ArrayList<>();
 
     public static ResourceTreeResponse fromEntity(Resource resource) {
@@ -21,6 +26,21 @@ public class ResourceTreeResponse {
         return dto;
     }
 
+    public static ResourceTreeResponse of(UUID id, String name, String type) {
+        ResourceTreeResponse dto = new ResourceTreeResponse();
+        dto.id = id;
+        dto.name = name;
+        dto.type = type;
+        return dto;
+    }
+
+    public static ResourceTreeResponse connector(UUID id) {
+        ResourceTreeResponse dto = new ResourceTreeResponse();
+        dto.id = id;
+        dto.readable = false;
+        return dto;
+    }
+
     public void addChild(ResourceTreeResponse child) {
         this.children.add(child);
     }
@@ -29,5 +49,6 @@ public class ResourceTreeResponse {
     public UUID getId() { return id; }
     public String getName() { return name; }
     public String getType() { return type; }
+    public boolean isReadable() { return readable; }
     public List<ResourceTreeResponse> getChildren() { return children; }
 }
@@ -0,0 +1,52 @@
+package com.yow.access.dto;
+
+/**
+ * Serialized tree JSON with its ETag. The ETag is null for views pruned for
+ * one user (not shared, not cached); json is null when the client's
+ * If-None-Match already matches (304). version is the tenant structure
+ * version the tree was read at, the starting point for delta sync.
+ */
+public class ResourceTreeSnapshot {
+
+    private final String etag;
+    private final long version;
+    private final byte[] json;
+
+    private ResourceTreeSnapshot(String etag, long version, byte[] json) {
+        this.etag = etag;
+        this.version = version;
+        this.json = json;
+    }
+
+    public static ResourceTreeSnapshot of(String etag, long version, byte[] json) {
+        return new ResourceTreeSnapshot(etag, version, json);
+    }
+
+    public static ResourceTreeSnapshot notModified(String etag, long version) {
+        return new ResourceTreeSnapshot(etag, version, null);
+    }
+
+    /** Weak comparison against an If-None-Match header value ("*" or a list of tags). */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String wanted = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaque(tag).equals(wanted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    public boolean isNotModified() { return json == null; }
+    public String getEtag() { return etag; }
+    public long getVersion() { return version; }
+    public byte[] getJson() { return json; }
+}
@@ -4,6 +4,7 @@ public class TenantStatsResponse {
 
     private long userCount;
     private long resourceCount;
+    private long bindingCount;
 
     public TenantStatsResponse() {
     }
@@ -13,6 +14,12 @@ public class TenantStatsResponse {
         this.resourceCount = resourceCount;
     }
 
+    public TenantStatsResponse(long userCount, long resourceCount, long bindingCount) {
+        this.userCount = userCount;
+        this.resourceCount = resourceCount;
+        this.bindingCount = bindingCount;
+    }
+
     public long getUserCount() {
         return userCount;
     }
@@ -28,4 +35,12 @@ public class TenantStatsResponse {
     public void setResourceCount(long resourceCount) {
         this.resourceCount = resourceCount;
     }
+
+    public long getBindingCount() {
+        return bindingCount;
+    }
+
+    public void setBindingCount(long bindingCount) {
+        this.bindingCount = bindingCount;
+    }
 }
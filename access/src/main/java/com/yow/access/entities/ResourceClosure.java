@@ -0,0 +1,26 @@
+package com.yow.access.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Transitive closure of the resource hierarchy.
+ * One row per (ancestor, descendant) pair, including the (r, r, 0) self link.
+ * Maintained by ResourceService through ResourceClosureRepository.
+ */
+@Entity
+@Table(name = "resource_closure")
+public class ResourceClosure {
+
+    @EmbeddedId
+    private ResourceClosureId id;
+
+    @Column(name = "depth", nullable = false)
+    private int depth;
+
+    public ResourceClosure() {}
+
+    public ResourceClosureId getId() { return id; }
+    public void setId(ResourceClosureId id) { this.id = id; }
+    public int getDepth() { return depth; }
+    public void setDepth(int depth) { this.depth = depth; }
+}
@@ -0,0 +1,42 @@
+package com.yow.access.entities;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+@Embeddable
+public class ResourceClosureId implements Serializable {
+
+    @Column(name = "ancestor_id")
+    private UUID ancestorId;
+
+    @Column(name = "descendant_id")
+    private UUID descendantId;
+
+    public ResourceClosureId() {}
+
+    public ResourceClosureId(UUID ancestorId, UUID descendantId) {
+        this.ancestorId = ancestorId;
+        this.descendantId = descendantId;
+    }
+
+    public UUID getAncestorId() { return ancestorId; }
+    public void setAncestorId(UUID ancestorId) { this.ancestorId = ancestorId; }
+    public UUID getDescendantId() { return descendantId; }
+    public void setDescendantId(UUID descendantId) { this.descendantId = descendantId; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ResourceClosureId that = (ResourceClosureId) o;
+        return Objects.equals(ancestorId, that.ancestorId) &&
+                Objects.equals(descendantId, that.descendantId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ancestorId, descendantId);
+    }
+}
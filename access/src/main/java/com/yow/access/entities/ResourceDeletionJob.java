@@ -0,0 +1,77 @@
+package com.yow.access.entities;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Asynchronous purge of a tombstoned subtree, processed bottom-up in chunks.
+ */
+@Entity
+@Table(name = "resource_deletion_job")
+public class ResourceDeletionJob {
+
+    public static final String PENDING = "PENDING";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @Column(name = "id", columnDefinition = "uuid", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "tenant_id", columnDefinition = "uuid")
+    private UUID tenantId;
+
+    @Column(name = "root_resource_id", columnDefinition = "uuid", nullable = false)
+    private UUID rootResourceId;
+
+    @Column(name = "requested_by", columnDefinition = "uuid")
+    private UUID requestedBy;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status = PENDING;
+
+    @Column(name = "total_count", nullable = false)
+    private int totalCount;
+
+    @Column(name = "deleted_count", nullable = false)
+    private int deletedCount;
+
+    @Column(name = "error", columnDefinition = "text")
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt = Instant.now();
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt = Instant.now();
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    public ResourceDeletionJob() {}
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public UUID getTenantId() { return tenantId; }
+    public void setTenantId(UUID tenantId) { this.tenantId = tenantId; }
+    public UUID getRootResourceId() { return rootResourceId; }
+    public void setRootResourceId(UUID rootResourceId) { this.rootResourceId = rootResourceId; }
+    public UUID getRequestedBy() { return requestedBy; }
+    public void setRequestedBy(UUID requestedBy) { this.requestedBy = requestedBy; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public int getTotalCount() { return totalCount; }
+    public void setTotalCount(int totalCount) { this.totalCount = totalCount; }
+    public int getDeletedCount() { return deletedCount; }
+    public void setDeletedCount(int deletedCount) { this.deletedCount = deletedCount; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+    public Instant getCompletedAt() { return completedAt; }
+    public void setCompletedAt(Instant completedAt) { this.completedAt = completedAt; }
+}
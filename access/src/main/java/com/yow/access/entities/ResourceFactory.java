@@ -29,14 +29,22 @@ public final class ResourceFactory {
         resource.setType(type);
         resource.setName(name);
 
-        // Hierarchical path construction
-        String parentPath = parent.getPath();
+        resource.setPath(childPath(parent.getPath(), name));
+
+        return resource;
+    }
+
+    /**
+     * Hierarchical path of a child: "/" + name under a root, parent path + "/" + name otherwise.
+     */
+    public static String childPath(String parentPath, String name) {
+        if (parentPath == null || parentPath.isEmpty()) {
+            return "/" + name;
+        }
         String normalized = parentPath.endsWith("/")
                 ? parentPath
                 : parentPath + "/";
 
-        resource.setPath(normalized + name);
-
-        return resource;
+        return normalized + name;
     }
 }
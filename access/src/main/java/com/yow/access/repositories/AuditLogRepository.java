@@ -2,7 +2,11 @@ package com.yow.access.repositories;
 
 import com.yow.access.entities.AuditLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,5 +15,10 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
     List<AuditLog> findAllByTenantId(UUID tenantId);
 
     List<AuditLog> findAllByUserId(UUID userId);
-}
 
+    // L'historique survit à la purge : seul le lien vers la ressource est coupé (target_id reste)
+    @Modifying
+    @Query(value = "UPDATE audit_log SET resource_id = NULL WHERE resource_id IN (:resourceIds)",
+            nativeQuery = true)
+    int detachResources(@Param("resourceIds") Collection<UUID> resourceIds);
+}
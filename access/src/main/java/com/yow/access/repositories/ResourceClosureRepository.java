@@ -0,0 +1,116 @@
+package com.yow.access.repositories;
+
+import com.yow.access.entities.ResourceClosure;
+import com.yow.access.entities.ResourceClosureId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface ResourceClosureRepository
+        extends JpaRepository<ResourceClosure, ResourceClosureId> {
+
+    // Ancêtres d'une ressource (elle-même incluse), du plus proche au plus lointain
+    @Query(value = """
+        SELECT ancestor_id
+        FROM resource_closure
+        WHERE descendant_id = :resourceId
+        ORDER BY depth
+        """, nativeQuery = true)
+    List<UUID> findAncestorIds(@Param("resourceId") UUID resourceId);
+
+    // Paires (descendant, ancêtre) pour un lot de ressources vivantes, en une requête
+    // (un sous-arbre en tombstone l'est en entier : ses ancêtres vivants ne sont pas concernés)
+    @Query(value = """
+        SELECT c.descendant_id, c.ancestor_id
+        FROM resource_closure c
+        JOIN resource r ON r.id = c.descendant_id
+        WHERE c.descendant_id IN (:resourceIds)
+          AND r.deleted_at IS NULL
+        """, nativeQuery = true)
+    List<Object[]> findAncestorPairs(@Param("resourceIds") Collection<UUID> resourceIds);
+
+    // Sous-arbre d'une ressource (elle-même incluse)
+    @Query(value = """
+        SELECT descendant_id
+        FROM resource_closure
+        WHERE ancestor_id = :resourceId
+        """, nativeQuery = true)
+    List<UUID> findDescendantIds(@Param("resourceId") UUID resourceId);
+
+    @Query(value = """
+        SELECT COUNT(*) > 0
+        FROM resource_closure
+        WHERE ancestor_id = :ancestorId
+          AND descendant_id = :descendantId
+        """, nativeQuery = true)
+    boolean isAncestorOrSelf(
+            @Param("ancestorId") UUID ancestorId,
+            @Param("descendantId") UUID descendantId
+    );
+
+    /* ===== MAINTENANCE ===== */
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO resource_closure (ancestor_id, descendant_id, depth)
+        VALUES (:resourceId, :resourceId, 0)
+        """, nativeQuery = true)
+    void insertSelfLink(@Param("resourceId") UUID resourceId);
+
+    // Le nouvel enfant hérite de tous les ancêtres de son parent, plus son lien réflexif
+    @Modifying
+    @Query(value = """
+        INSERT INTO resource_closure (ancestor_id, descendant_id, depth)
+        SELECT ancestor_id, :childId, depth + 1
+        FROM resource_closure
+        WHERE descendant_id = :parentId
+        UNION ALL
+        SELECT :childId, :childId, 0
+        """, nativeQuery = true)
+    void insertLinksForChild(
+            @Param("childId") UUID childId,
+            @Param("parentId") UUID parentId
+    );
+
+    // Coupe les liens entre le sous-arbre et ses anciens ancêtres (liens internes conservés)
+    @Modifying
+    @Query(value = """
+        DELETE FROM resource_closure
+        WHERE descendant_id IN (
+                SELECT descendant_id FROM resource_closure WHERE ancestor_id = :resourceId
+            )
+          AND ancestor_id NOT IN (
+                SELECT descendant_id FROM resource_closure WHERE ancestor_id = :resourceId
+            )
+        """, nativeQuery = true)
+    void detachSubtree(@Param("resourceId") UUID resourceId);
+
+    // Rattache le sous-arbre sous son nouveau parent (produit ancêtres × descendants)
+    @Modifying
+    @Query(value = """
+        INSERT INTO resource_closure (ancestor_id, descendant_id, depth)
+        SELECT sup.ancestor_id, sub.descendant_id, sup.depth + sub.depth + 1
+        FROM resource_closure sup
+        CROSS JOIN resource_closure sub
+        WHERE sup.descendant_id = :newParentId
+          AND sub.ancestor_id = :resourceId
+        """, nativeQuery = true)
+    void attachSubtree(
+            @Param("resourceId") UUID resourceId,
+            @Param("newParentId") UUID newParentId
+    );
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM resource_closure
+        WHERE descendant_id IN (
+                SELECT descendant_id FROM resource_closure WHERE ancestor_id = :resourceId
+            )
+        """, nativeQuery = true)
+    void deleteSubtreeLinks(@Param("resourceId") UUID resourceId);
+}
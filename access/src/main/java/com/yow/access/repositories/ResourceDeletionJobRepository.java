@@ -0,0 +1,14 @@
+package com.yow.access.repositories;
+
+import com.yow.access.entities.ResourceDeletionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface ResourceDeletionJobRepository extends JpaRepository<ResourceDeletionJob, UUID> {
+
+    // Jobs à reprendre au démarrage (interrompus par un arrêt)
+    List<ResourceDeletionJob> findAllByStatusInOrderByCreatedAt(Collection<String> statuses);
+}
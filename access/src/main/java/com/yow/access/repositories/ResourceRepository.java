@@ -3,7 +3,12 @@ package com.yow.access.repositories;
 import com.yow.access.entities.Resource;
 import com.yow.access.entities.Tenant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,5 +28,270 @@ public interface ResourceRepository extends JpaRepository<Resource, UUID> {
     // Compter les ressources d'un tenant
     long countByTenantId(UUID tenantId);
 
-}
+    // Chaîne (id, parent_id, depth) d'une ressource et de ses ancêtres en une requête,
+    // la ressource d'abord. SQL standard : identique sur PostgreSQL et H2 (profil test).
+    // La borne sur depth protège contre un cycle dans parent_id.
+    @Query(value = """
+        WITH RECURSIVE chain (id, parent_id, depth) AS (
+            SELECT r.id, r.parent_id, 0
+            FROM resource r
+            WHERE r.id = :resourceId
+            UNION ALL
+            SELECT p.id, p.parent_id, c.depth + 1
+            FROM resource p
+            JOIN chain c ON p.id = c.parent_id
+            WHERE c.depth < 1000
+        )
+        SELECT id, parent_id, depth
+        FROM chain
+        ORDER BY depth
+        """, nativeQuery = true)
+    List<Object[]> findAncestorChain(@Param("resourceId") UUID resourceId);
+
+    /* ===== CHARGEMENT D'ARBRE EN UNE REQUÊTE ===== */
+
+    // Lignes (id, parent_id, name, type) du sous-arbre, racine incluse, triées par nom
+    @Query(value = """
+        WITH RECURSIVE subtree (id, parent_id, name, type, depth) AS (
+            SELECT r.id, r.parent_id, r.name, r.type, 0
+            FROM resource r
+            WHERE r.id = :rootId
+              AND r.deleted_at IS NULL
+            UNION ALL
+            SELECT c.id, c.parent_id, c.name, c.type, s.depth + 1
+            FROM resource c
+            JOIN subtree s ON c.parent_id = s.id
+            WHERE s.depth < 1000
+              AND c.deleted_at IS NULL
+        )
+        SELECT id, parent_id, name, type
+        FROM subtree
+        ORDER BY name, id
+        """, nativeQuery = true)
+    List<Object[]> findSubtreeRows(@Param("rootId") UUID rootId);
+
+    // Lignes (id, parent_id, name, type) de toutes les ressources d'un tenant, triées par nom
+    @Query(value = """
+        SELECT id, parent_id, name, type
+        FROM resource
+        WHERE tenant_id = :tenantId
+          AND deleted_at IS NULL
+        ORDER BY name, id
+        """, nativeQuery = true)
+    List<Object[]> findTreeRowsByTenantId(@Param("tenantId") UUID tenantId);
+
+    /* ===== EXPANSION PARESSEUSE (KEYSET SUR name, id) ===== */
+
+    // Première page des enfants, via idx_resource_parent_name_id
+    @Query(value = """
+        SELECT id, parent_id, name, type
+        FROM resource
+        WHERE parent_id = :parentId
+          AND deleted_at IS NULL
+        ORDER BY name, id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Object[]> findChildRows(
+            @Param("parentId") UUID parentId,
+            @Param("limit") int limit
+    );
+
+    // Page suivante : enfants strictement après (afterName, afterId)
+    @Query(value = """
+        SELECT id, parent_id, name, type
+        FROM resource
+        WHERE parent_id = :parentId
+          AND (name, id) > (:afterName, :afterId)
+          AND deleted_at IS NULL
+        ORDER BY name, id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Object[]> findChildRowsAfter(
+            @Param("parentId") UUID parentId,
+            @Param("afterName") String afterName,
+            @Param("afterId") UUID afterId,
+            @Param("limit") int limit
+    );
+
+    // Enfants des parents donnés qui sont, ou contiennent, une ressource vivante où une
+    // affectation de l'utilisateur accorde la permission (branches élaguées)
+    @Query(value = """
+        SELECT r.id, r.parent_id, r.name, r.type
+        FROM resource r
+        WHERE r.parent_id IN (:parentIds)
+          AND r.deleted_at IS NULL
+          AND EXISTS (
+              SELECT 1
+              FROM resource_closure c
+              JOIN resource d ON d.id = c.descendant_id AND d.deleted_at IS NULL
+              JOIN user_role_resource urr ON urr.resource_id = c.descendant_id
+              JOIN role_permission rp ON rp.role_id = urr.role_id
+              JOIN permission p ON p.id = rp.permission_id
+              WHERE c.ancestor_id = r.id
+                AND urr.user_id = :userId
+                AND p.name = :permission
+          )
+        ORDER BY r.parent_id, r.name, r.id
+        """, nativeQuery = true)
+    List<Object[]> findChildRowsLeadingToGrant(
+            @Param("parentIds") Collection<UUID> parentIds,
+            @Param("userId") UUID userId,
+            @Param("permission") String permission
+    );
+
+    // Les perChild premiers enfants de chaque parent, au plus maxRows lignes en tout
+    @Query(value = """
+        SELECT id, parent_id, name, type
+        FROM (
+            SELECT id, parent_id, name, type,
+                   ROW_NUMBER() OVER (PARTITION BY parent_id ORDER BY name, id) AS rn
+            FROM resource
+            WHERE parent_id IN (:parentIds)
+              AND deleted_at IS NULL
+        ) ranked
+        WHERE rn <= :perChild
+        ORDER BY parent_id, name, id
+        LIMIT :maxRows
+        """, nativeQuery = true)
+    List<Object[]> findFirstChildRows(
+            @Param("parentIds") Collection<UUID> parentIds,
+            @Param("perChild") int perChild,
+            @Param("maxRows") int maxRows
+    );
+
+    /* ===== RECHERCHE PAR NOM ===== */
+
+    // pattern déjà en minuscules et échappé ('\' pour %, _ et \). Sur PostgreSQL,
+    // LOWER(name|type) LIKE est servi par les index trigrammes (migration 017).
+    @Query(value = """
+        SELECT id, parent_id, name, type, path
+        FROM resource
+        WHERE tenant_id = :tenantId
+          AND deleted_at IS NULL
+          AND (LOWER(name) LIKE :pattern ESCAPE '\\' OR LOWER(type) LIKE :pattern ESCAPE '\\')
+        ORDER BY name, id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Object[]> searchRows(
+            @Param("tenantId") UUID tenantId,
+            @Param("pattern") String pattern,
+            @Param("limit") int limit
+    );
 
+    // Suite de la recherche : résultats strictement après (afterName, afterId)
+    @Query(value = """
+        SELECT id, parent_id, name, type, path
+        FROM resource
+        WHERE tenant_id = :tenantId
+          AND deleted_at IS NULL
+          AND (LOWER(name) LIKE :pattern ESCAPE '\\' OR LOWER(type) LIKE :pattern ESCAPE '\\')
+          AND (name, id) > (:afterName, :afterId)
+        ORDER BY name, id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Object[]> searchRowsAfter(
+            @Param("tenantId") UUID tenantId,
+            @Param("pattern") String pattern,
+            @Param("afterName") String afterName,
+            @Param("afterId") UUID afterId,
+            @Param("limit") int limit
+    );
+
+    // Lignes (parent_id, nombre d'enfants) ; les parents sans enfant sont absents
+    @Query(value = """
+        SELECT parent_id, COUNT(*)
+        FROM resource
+        WHERE parent_id IN (:parentIds)
+          AND deleted_at IS NULL
+        GROUP BY parent_id
+        """, nativeQuery = true)
+    List<Object[]> countChildrenByParentIds(@Param("parentIds") Collection<UUID> parentIds);
+
+    /* ===== MAINTENANCE DES CHEMINS ===== */
+
+    // Réécrit en une requête le chemin des descendants (ressource exclue) :
+    // les cut - 1 premiers caractères (l'ancien préfixe) sont remplacés par newPrefix.
+    // Le LIKE s'appuie sur idx_resource_tenant_path_prefix ; la closure écarte les homonymes
+    // (deux frères de même nom partagent le même chemin).
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        UPDATE resource
+        SET path = :newPrefix || SUBSTRING(path FROM :cut)
+        WHERE tenant_id = :tenantId
+          AND path LIKE :pattern ESCAPE '\\'
+          AND id IN (
+                SELECT descendant_id
+                FROM resource_closure
+                WHERE ancestor_id = :resourceId
+                  AND depth > 0
+            )
+        """, nativeQuery = true)
+    int replaceDescendantPathPrefix(
+            @Param("tenantId") UUID tenantId,
+            @Param("resourceId") UUID resourceId,
+            @Param("pattern") String pattern,
+            @Param("cut") int cut,
+            @Param("newPrefix") String newPrefix
+    );
+
+    /* ===== SUPPRESSION ASYNCHRONE ===== */
+
+    // Marque tout le sous-arbre (racine incluse) ; retourne le nombre de nœuds marqués
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        UPDATE resource
+        SET deleted_at = :deletedAt
+        WHERE deleted_at IS NULL
+          AND id IN (
+                SELECT descendant_id
+                FROM resource_closure
+                WHERE ancestor_id = :resourceId
+            )
+        """, nativeQuery = true)
+    int tombstoneSubtree(
+            @Param("resourceId") UUID resourceId,
+            @Param("deletedAt") Instant deletedAt
+    );
+
+    // Prochain lot à purger, les plus profonds d'abord : aucun nœud du lot
+    // n'a d'enfant hors du lot, la cascade sur parent_id reste bornée
+    @Query(value = """
+        SELECT descendant_id
+        FROM resource_closure
+        WHERE ancestor_id = :rootId
+        ORDER BY depth DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<UUID> findPurgeBatch(
+            @Param("rootId") UUID rootId,
+            @Param("limit") int limit
+    );
+
+    // Ressources encore visibles d'un sous-arbre (les tombstones sont déjà décomptées),
+    // lues via la closure : pas de liste d'ids liée, quelle que soit la taille de la branche
+    @Query(value = """
+        SELECT COUNT(*) FROM resource
+        WHERE deleted_at IS NULL
+          AND (id = :rootId
+               OR id IN (SELECT descendant_id FROM resource_closure WHERE ancestor_id = :rootId))
+        """, nativeQuery = true)
+    long countLiveInSubtree(@Param("rootId") UUID rootId);
+
+    // Ressources vivantes du tenant parmi les ids donnés
+    @Query(value = """
+        SELECT COUNT(*) FROM resource
+        WHERE id IN (:ids) AND tenant_id = :tenantId AND deleted_at IS NULL
+        """, nativeQuery = true)
+    long countInTenant(@Param("ids") Collection<UUID> ids, @Param("tenantId") UUID tenantId);
+
+    @Query(value = """
+        SELECT DISTINCT tenant_id FROM resource
+        WHERE id IN (:ids) AND deleted_at IS NULL
+        ORDER BY tenant_id
+        """, nativeQuery = true)
+    List<UUID> findTenantIdsByIds(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM resource WHERE id IN (:ids)", nativeQuery = true)
+    int deleteAllByIds(@Param("ids") Collection<UUID> ids);
+}
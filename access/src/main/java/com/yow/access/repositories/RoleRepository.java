@@ -2,6 +2,7 @@ package com.yow.access.repositories;
 
 import com.yow.access.entities.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 
@@ -15,5 +16,12 @@ public interface RoleRepository extends JpaRepository<Role, Short> {
     // Check global uniqueness / specific tenant uniqueness
     Optional<Role> findByNameAndTenantId(String name, java.util.UUID tenantId);
     Optional<Role> findByNameAndTenantIdIsNull(String name);
+
+    // Projections used to compile the role -> permission matrix without loading entities
+    @Query("SELECT r.id, r.name FROM Role r")
+    java.util.List<Object[]> findAllRoleHeaders();
+
+    @Query(value = "SELECT role_id, permission_id FROM role_permission", nativeQuery = true)
+    java.util.List<Object[]> findAllRolePermissionPairs();
 }
 
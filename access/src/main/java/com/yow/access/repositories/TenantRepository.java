@@ -2,6 +2,7 @@ package com.yow.access.repositories;
 
 import com.yow.access.entities.Tenant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -45,4 +46,75 @@ public interface TenantRepository extends JpaRepository<Tenant, UUID> {
         ORDER BY t.created_at DESC
         """, nativeQuery = true)
     List<Object[]> findAllTenantsWithOwnersRaw();
+
+    /* ===== VERSION DE STRUCTURE ===== */
+
+    // Incrémentée à chaque création, déplacement ou suppression de ressource
+    @Query(value = "SELECT structure_version FROM tenant WHERE id = :tenantId", nativeQuery = true)
+    Long findStructureVersion(@Param("tenantId") UUID tenantId);
+
+    @Modifying
+    @Query(value = "UPDATE tenant SET structure_version = structure_version + 1 WHERE id = :tenantId",
+            nativeQuery = true)
+    int incrementStructureVersion(@Param("tenantId") UUID tenantId);
+
+    /* ===== COMPTEURS (tableau de bord) ===== */
+
+    @Query(value = "SELECT resource_count, user_count, binding_count FROM tenant WHERE id = :tenantId",
+            nativeQuery = true)
+    List<Object[]> findStats(@Param("tenantId") UUID tenantId);
+
+    // Verrouille la ligne : les mises à jour incrémentales attendent la fin du recalage
+    @Query(value = "SELECT resource_count, user_count, binding_count FROM tenant WHERE id = :tenantId FOR UPDATE",
+            nativeQuery = true)
+    List<Object[]> lockStats(@Param("tenantId") UUID tenantId);
+
+    // Valeurs réelles, même définition que la migration 016
+    @Query(value = """
+        SELECT
+            (SELECT COUNT(*) FROM resource r
+             WHERE r.tenant_id = :tenantId AND r.deleted_at IS NULL),
+            (SELECT COUNT(DISTINCT urr.user_id)
+             FROM user_role_resource urr
+             JOIN resource r ON r.id = urr.resource_id
+             WHERE r.tenant_id = :tenantId),
+            (SELECT COUNT(*)
+             FROM user_role_resource urr
+             JOIN resource r ON r.id = urr.resource_id
+             WHERE r.tenant_id = :tenantId)
+        """, nativeQuery = true)
+    List<Object[]> countStats(@Param("tenantId") UUID tenantId);
+
+    @Modifying
+    @Query(value = """
+        UPDATE tenant
+        SET resource_count = resource_count + :resources,
+            user_count = user_count + :users,
+            binding_count = binding_count + :bindings
+        WHERE id = :tenantId
+        """, nativeQuery = true)
+    int adjustStats(
+            @Param("tenantId") UUID tenantId,
+            @Param("resources") long resources,
+            @Param("users") long users,
+            @Param("bindings") long bindings
+    );
+
+    @Modifying
+    @Query(value = """
+        UPDATE tenant
+        SET resource_count = :resources,
+            user_count = :users,
+            binding_count = :bindings
+        WHERE id = :tenantId
+        """, nativeQuery = true)
+    int setStats(
+            @Param("tenantId") UUID tenantId,
+            @Param("resources") long resources,
+            @Param("users") long users,
+            @Param("bindings") long bindings
+    );
+
+    @Query("SELECT t.id FROM Tenant t")
+    List<UUID> findAllIds();
 }
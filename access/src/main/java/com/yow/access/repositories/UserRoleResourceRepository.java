@@ -3,9 +3,11 @@ package com.yow.access.repositories;
 import com.yow.access.entities.UserRoleResource;
 import com.yow.access.entities.UserRoleResourceId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -29,7 +31,10 @@ public interface UserRoleResourceRepository
             Long resourceId
     );
 
-    List<UserRoleResource> findAllByUserId(UUID userId);
+    // Affectations effectives : celles des ressources en tombstone (purge en attente) sont ignorées
+    @Query("SELECT urr FROM UserRoleResource urr " +
+           "WHERE urr.id.userId = :userId AND urr.resource.deletedAt IS NULL")
+    List<UserRoleResource> findAllByUserId(@Param("userId") UUID userId);
 
     // Compter les utilisateurs distincts ayant accès à un tenant (via ses ressources)
     @Query("SELECT COUNT(DISTINCT urr.user.id) FROM UserRoleResource urr WHERE urr.resource.tenant.id = :tenantId")
@@ -43,5 +48,48 @@ public interface UserRoleResourceRepository
 
     @Query("SELECT DISTINCT urr.user FROM UserRoleResource urr WHERE urr.resource.tenant.id = :tenantId")
     List<com.yow.access.entities.AppUser> findUsersByTenantId(@Param("tenantId") UUID tenantId);
-}
 
+    // Utilisateurs dont les affectations vont disparaître avec un lot de ressources
+    @Query(value = "SELECT DISTINCT user_id FROM user_role_resource WHERE resource_id IN (:resourceIds)",
+            nativeQuery = true)
+    List<UUID> findUserIdsByResourceIds(@Param("resourceIds") Collection<UUID> resourceIds);
+
+    // Affectations et utilisateurs d'un sous-arbre, via la closure (branche de taille quelconque)
+    @Query(value = """
+        SELECT COUNT(*) FROM user_role_resource
+        WHERE resource_id = :rootId
+           OR resource_id IN (SELECT descendant_id FROM resource_closure WHERE ancestor_id = :rootId)
+        """, nativeQuery = true)
+    long countInSubtree(@Param("rootId") UUID rootId);
+
+    @Query(value = """
+        SELECT DISTINCT user_id FROM user_role_resource
+        WHERE resource_id = :rootId
+           OR resource_id IN (SELECT descendant_id FROM resource_closure WHERE ancestor_id = :rootId)
+        """, nativeQuery = true)
+    List<UUID> findUserIdsInSubtree(@Param("rootId") UUID rootId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_role_resource WHERE resource_id IN (:resourceIds)", nativeQuery = true)
+    int deleteAllByResourceIds(@Param("resourceIds") Collection<UUID> resourceIds);
+
+    // Affectations d'un utilisateur dans un tenant (compteur d'utilisateurs distincts)
+    @Query(value = """
+        SELECT COUNT(*)
+        FROM user_role_resource urr
+        JOIN resource r ON r.id = urr.resource_id
+        WHERE urr.user_id = :userId
+          AND r.tenant_id = :tenantId
+        """, nativeQuery = true)
+    long countByUserIdAndTenantId(@Param("userId") UUID userId, @Param("tenantId") UUID tenantId);
+
+    // Parmi userIds, ceux qui gardent au moins une affectation dans le tenant
+    @Query(value = """
+        SELECT COUNT(DISTINCT urr.user_id)
+        FROM user_role_resource urr
+        JOIN resource r ON r.id = urr.resource_id
+        WHERE urr.user_id IN (:userIds)
+          AND r.tenant_id = :tenantId
+        """, nativeQuery = true)
+    long countUsersInTenant(@Param("userIds") Collection<UUID> userIds, @Param("tenantId") UUID tenantId);
+}
@@ -0,0 +1,42 @@
+package com.yow.access.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position (timestamp, id) of the last audit record returned, opaque
+ * to clients: base64url of "&lt;id&gt;:&lt;ISO-8601 timestamp&gt;".
+ */
+record AuditCursor(Instant timestamp, UUID id) {
+
+    private static final int UUID_LENGTH = 36;
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((id + ":" + timestamp).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Null for a missing cursor (first page).
+     */
+    static AuditCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (raw.length() <= UUID_LENGTH || raw.charAt(UUID_LENGTH) != ':') {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new AuditCursor(
+                    Instant.parse(raw.substring(UUID_LENGTH + 1)),
+                    UUID.fromString(raw.substring(0, UUID_LENGTH))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.yow.access.services;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes audit entries as CSV or NDJSON straight from a forward-only JDBC
+ * cursor (fixed fetch size), oldest first: one row is held at a time, so
+ * memory stays flat whatever the size of the export.
+ */
+@Component
+public class AuditLogExporter {
+
+    static final int FETCH_SIZE = 1000;
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String CSV_HEADER =
+            "id,timestamp,tenant_id,user_id,username,action,outcome,resource_id,target_type,target_id,message,ip_address";
+
+    private static final String SELECT = """
+        SELECT a.id, a.timestamp, a.tenant_id, a.user_id, u.username, a.action, a.outcome,
+               a.resource_id, a.target_type, a.target_id, a.message, a.ip_address
+        FROM audit_log a
+        LEFT JOIN app_user u ON u.id = a.user_id
+        WHERE 1 = 1
+        """;
+
+    /** One exported line; field order is the CSV column order. */
+    record Row(
+            UUID id,
+            Instant timestamp,
+            UUID tenantId,
+            UUID userId,
+            String username,
+            String action,
+            String outcome,
+            UUID resourceId,
+            String targetType,
+            UUID targetId,
+            String message,
+            String ipAddress
+    ) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public AuditLogExporter(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper
+    ) {
+        // Même principe que ResourceTreeStreamer : le driver PostgreSQL ne lit
+        // par paquets de FETCH_SIZE qu'avec une taille de fetch et dans une transaction
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Streams the entries within {@code scope} and [from, to) to {@code out};
+     * the caller resolves the scope. Runs in its own read-only transaction,
+     * since the response is written after the request thread has returned.
+     */
+    public void write(
+            AuditLogQueryService.Scope scope,
+            Instant from,
+            Instant to,
+            Format format,
+            boolean gzip,
+            OutputStream out
+    ) throws IOException {
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> args = new ArrayList<>();
+        condition(sql, args, "a.tenant_id = ?", scope.tenantId());
+        condition(sql, args, "a.user_id = ?", scope.userId());
+        condition(sql, args, "a.timestamp >= ?", from != null ? Timestamp.from(from) : null);
+        condition(sql, args, "a.timestamp < ?", to != null ? Timestamp.from(to) : null);
+        sql.append(" ORDER BY a.timestamp, a.id");
+
+        OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+                    sql.toString(),
+                    rs -> {
+                        Row row = new Row(
+                                rs.getObject("id", UUID.class),
+                                rs.getTimestamp("timestamp").toInstant(),
+                                rs.getObject("tenant_id", UUID.class),
+                                rs.getObject("user_id", UUID.class),
+                                rs.getString("username"),
+                                rs.getString("action"),
+                                rs.getString("outcome"),
+                                rs.getObject("resource_id", UUID.class),
+                                rs.getString("target_type"),
+                                rs.getObject("target_id", UUID.class),
+                                rs.getString("message"),
+                                rs.getString("ip_address")
+                        );
+                        try {
+                            writer.write(format == Format.CSV ? csvLine(row) : objectMapper.writeValueAsString(row));
+                            writer.write('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e); // client déconnecté : on arrête la lecture
+                        }
+                    },
+                    args.toArray()
+            ));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+        if (gzip) {
+            ((GZIPOutputStream) target).finish();
+        }
+    }
+
+    private static void condition(StringBuilder sql, List<Object> args, String clause, Object value) {
+        if (value != null) {
+            sql.append(" AND ").append(clause);
+            args.add(value);
+        }
+    }
+
+    /* ===== CSV ===== */
+
+    static String csvLine(Row row) {
+        return String.join(",",
+                csv(row.id()),
+                csv(row.timestamp()),
+                csv(row.tenantId()),
+                csv(row.userId()),
+                csv(row.username()),
+                csv(row.action()),
+                csv(row.outcome()),
+                csv(row.resourceId()),
+                csv(row.targetType()),
+                csv(row.targetId()),
+                csv(row.message()),
+                csv(row.ipAddress())
+        );
+    }
+
+    /** RFC 4180: quoted when it holds a separator, a quote or a line break. */
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,178 @@
+package com.yow.access.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Housekeeping of audit_log. On PostgreSQL the table is range-partitioned by
+ * month (audit_log_pYYYYMM, see changeset 019): upcoming partitions are
+ * created ahead of time and partitions entirely older than the longest
+ * retention in use are detached or dropped, which is instant DDL. Tenants
+ * whose retention (tenant.audit_retention_days, default
+ * {@code audit.retention.default-days}) is shorter are then trimmed with a
+ * DELETE confined to the remaining partitions. Elsewhere (H2) only the
+ * DELETE pass runs.
+ */
+@Component
+public class AuditLogPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogPartitionMaintenance.class);
+
+    public enum ExpiredPartitionAction { DETACH, DROP }
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("audit_log_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String SELECT_PARTITIONS = """
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_class p ON p.oid = i.inhparent
+        WHERE p.relname = 'audit_log'
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int defaultRetentionDays;
+    private final int monthsAhead;
+    private final ExpiredPartitionAction expiredAction;
+
+    private volatile Boolean partitioned;
+
+    public AuditLogPartitionMaintenance(
+            JdbcTemplate jdbcTemplate,
+            @Value("${audit.retention.default-days:365}") int defaultRetentionDays,
+            @Value("${audit.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${audit.partitions.expired-action:DROP}") ExpiredPartitionAction expiredAction
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultRetentionDays = defaultRetentionDays;
+        this.monthsAhead = monthsAhead;
+        this.expiredAction = expiredAction;
+    }
+
+    @Scheduled(cron = "${audit.partitions.maintenance-cron:0 0 2 * * *}")
+    public void maintain() {
+        LocalDate today = LocalDate.now();
+        Map<UUID, Integer> tenantRetention = tenantRetentionDays();
+        int longest = tenantRetention.values().stream()
+                .reduce(defaultRetentionDays, Math::max);
+
+        if (isPartitioned()) {
+            createUpcomingPartitions(YearMonth.from(today));
+            removeExpiredPartitions(today.minusDays(longest));
+        }
+        purgeRows(today, tenantRetention);
+    }
+
+    /* ===== PARTITIONS ===== */
+
+    void createUpcomingPartitions(YearMonth current) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                jdbcTemplate.execute(String.format(
+                        "CREATE TABLE IF NOT EXISTS %s PARTITION OF audit_log FOR VALUES FROM ('%s') TO ('%s')",
+                        partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+            } catch (DataAccessException e) {
+                // Typiquement : des lignes du mois sont déjà dans audit_log_default
+                log.error("Création de la partition d'audit {} impossible", partitionName(month), e);
+            }
+        }
+    }
+
+    /** Partitions whose upper bound is on or before the cutoff hold only expired rows. */
+    void removeExpiredPartitions(LocalDate cutoff) {
+        for (String name : jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class)) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (!matcher.matches()) {
+                continue; // audit_log_default
+            }
+            YearMonth month = YearMonth.parse(matcher.group(1), PARTITION_SUFFIX);
+            if (month.plusMonths(1).atDay(1).isAfter(cutoff)) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE audit_log DETACH PARTITION " + name);
+            if (expiredAction == ExpiredPartitionAction.DROP) {
+                jdbcTemplate.execute("DROP TABLE " + name);
+            }
+            log.info("Partition d'audit expirée {} : {}", expiredAction == ExpiredPartitionAction.DROP
+                    ? "supprimée" : "détachée", name);
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return "audit_log_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            partitioned = "PostgreSQL".equals(product)
+                    && !jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class).isEmpty();
+        }
+        return partitioned;
+    }
+
+    /* ===== RÉTENTION PAR TENANT ===== */
+
+    private Map<UUID, Integer> tenantRetentionDays() {
+        return jdbcTemplate.query(
+                "SELECT id, audit_retention_days FROM tenant WHERE audit_retention_days IS NOT NULL",
+                (rs, rowNum) -> Map.entry(rs.getObject("id", UUID.class), rs.getInt("audit_retention_days"))
+        ).stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    /**
+     * Rows past their tenant's retention. Once expired partitions are gone
+     * these deletes only reach the oldest remaining months.
+     */
+    void purgeRows(LocalDate today, Map<UUID, Integer> tenantRetention) {
+        int removed = 0;
+        for (Map.Entry<UUID, Integer> entry : tenantRetention.entrySet()) {
+            removed += jdbcTemplate.update(
+                    "DELETE FROM audit_log WHERE tenant_id = ? AND timestamp < ?",
+                    entry.getKey(),
+                    startOfDay(today.minusDays(entry.getValue()))
+            );
+        }
+
+        // Tenants sans réglage propre et événements système (tenant_id NULL)
+        List<Object> args = new ArrayList<>();
+        args.add(startOfDay(today.minusDays(defaultRetentionDays)));
+        String sql = "DELETE FROM audit_log WHERE timestamp < ?";
+        if (!tenantRetention.isEmpty()) {
+            sql += " AND (tenant_id IS NULL OR tenant_id NOT IN ("
+                    + String.join(", ", Collections.nCopies(tenantRetention.size(), "?")) + "))";
+            args.addAll(tenantRetention.keySet());
+        }
+        removed += jdbcTemplate.update(sql, args.toArray());
+
+        if (removed > 0) {
+            log.info("Rétention de l'audit : {} entrée(s) supprimée(s)", removed);
+        }
+    }
+
+    private static Timestamp startOfDay(LocalDate day) {
+        return Timestamp.valueOf(day.atStartOfDay());
+    }
+}
@@ -0,0 +1,194 @@
+package com.yow.access.services;
+
+import com.yow.access.dto.AuditLogEntryResponse;
+import com.yow.access.dto.AuditLogPage;
+import com.yow.access.exceptions.AccessDeniedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read side of the audit log: resolves what the caller may see, then pages
+ * through audit_log newest first with a keyset on (timestamp, id). Filters
+ * are pushed into SQL; each combination is backed by a composite index
+ * ending in (timestamp, id), so a page costs one index range scan whatever
+ * the offset.
+ */
+@Service
+public class AuditLogQueryService {
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /** Optional filters; null means "any". from is inclusive, to exclusive. */
+    public record Filter(
+            UUID tenantId,
+            UUID userId,
+            UUID resourceId,
+            String action,
+            String outcome,
+            Instant from,
+            Instant to
+    ) {}
+
+    /** Mandatory restriction derived from the caller's roles; null means unrestricted. */
+    public record Scope(UUID tenantId, UUID userId) {}
+
+    private static final String SELECT = """
+        SELECT a.id, a.timestamp, a.action, a.outcome, a.message, a.tenant_id,
+               a.user_id, u.username, a.resource_id, r.type AS resource_type,
+               a.target_type, a.target_id
+        FROM audit_log a
+        LEFT JOIN app_user u ON u.id = a.user_id
+        LEFT JOIN resource r ON r.id = a.resource_id
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuthorizationService authorizationService;
+    private final AuditLogExporter exporter;
+
+    public AuditLogQueryService(
+            JdbcTemplate jdbcTemplate,
+            AuthorizationService authorizationService,
+            AuditLogExporter exporter
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.authorizationService = authorizationService;
+        this.exporter = exporter;
+    }
+
+    /* ===== PORTÉE ===== */
+
+    /**
+     * ADMIN sees everything (optionally one tenant), TENANT_ADMIN one of the
+     * tenants they administer (the first one by default), anyone else only
+     * their own entries. Roles are read from the compiled permission index.
+     */
+    @Transactional(readOnly = true)
+    public Scope resolveScope(UUID currentUserId, UUID requestedTenantId) {
+        if (authorizationService.isSuperAdmin(currentUserId)) {
+            return new Scope(requestedTenantId, null);
+        }
+
+        List<UUID> administered = authorizationService.administeredTenants(currentUserId);
+        if (!administered.isEmpty()) {
+            if (requestedTenantId == null) {
+                return new Scope(administered.get(0), null);
+            }
+            if (!administered.contains(requestedTenantId)) {
+                throw new AccessDeniedException("TENANT_ADMIN");
+            }
+            return new Scope(requestedTenantId, null);
+        }
+
+        // Les autres utilisateurs ne voient que leurs propres logs
+        return new Scope(requestedTenantId, currentUserId);
+    }
+
+    /* ===== PAGINATION ===== */
+
+    @Transactional(readOnly = true)
+    public AuditLogPage search(UUID currentUserId, Filter filter, int limit, String cursor) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        AuditCursor after = AuditCursor.decode(cursor);
+
+        Scope scope = resolveScope(currentUserId, filter.tenantId());
+        if (scope.userId() != null && filter.userId() != null && !scope.userId().equals(filter.userId())) {
+            throw new AccessDeniedException("AUDIT_READ");
+        }
+
+        StringBuilder sql = new StringBuilder(SELECT).append("WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        condition(sql, args, "a.tenant_id = ?", scope.tenantId());
+        condition(sql, args, "a.user_id = ?", scope.userId() != null ? scope.userId() : filter.userId());
+        condition(sql, args, "a.resource_id = ?", filter.resourceId());
+        condition(sql, args, "a.action = ?", blankToNull(filter.action()));
+        condition(sql, args, "a.outcome = ?", blankToNull(filter.outcome()));
+        condition(sql, args, "a.timestamp >= ?", toTimestamp(filter.from()));
+        condition(sql, args, "a.timestamp < ?", toTimestamp(filter.to()));
+        if (after != null) {
+            sql.append(" AND (a.timestamp, a.id) < (?, ?)");
+            args.add(Timestamp.from(after.timestamp()));
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY a.timestamp DESC, a.id DESC LIMIT ?");
+        args.add(limit + 1); // une ligne de plus pour savoir s'il reste une page
+
+        List<AuditLogEntryResponse> rows = jdbcTemplate.query(
+                sql.toString(),
+                (rs, rowNum) -> new AuditLogEntryResponse(
+                        rs.getObject("id", UUID.class),
+                        rs.getTimestamp("timestamp").toInstant(),
+                        rs.getString("action"),
+                        rs.getString("outcome"),
+                        rs.getString("message"),
+                        rs.getObject("tenant_id", UUID.class),
+                        rs.getObject("user_id", UUID.class),
+                        rs.getString("username"),
+                        rs.getObject("resource_id", UUID.class),
+                        rs.getString("resource_type") != null
+                                ? rs.getString("resource_type")
+                                : rs.getString("target_type"),
+                        rs.getObject("target_id", UUID.class)
+                ),
+                args.toArray()
+        );
+
+        boolean hasMore = rows.size() > limit;
+        List<AuditLogEntryResponse> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            AuditLogEntryResponse last = items.get(items.size() - 1);
+            nextCursor = new AuditCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        return new AuditLogPage(List.copyOf(items), nextCursor, hasMore);
+    }
+
+    /* ===== EXPORT ===== */
+
+    /**
+     * Full export of what the caller may see within [from, to), oldest first.
+     * The scope is resolved now, on the request thread; rows are read while
+     * the response is written.
+     */
+    public StreamingResponseBody export(
+            UUID currentUserId,
+            UUID tenantId,
+            Instant from,
+            Instant to,
+            AuditLogExporter.Format format,
+            boolean gzip
+    ) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        Scope scope = resolveScope(currentUserId, tenantId);
+        return out -> exporter.write(scope, from, to, format, gzip, out);
+    }
+
+    private static void condition(StringBuilder sql, List<Object> args, String clause, Object value) {
+        if (value != null) {
+            sql.append(" AND ").append(clause);
+            args.add(value);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+}
@@ -11,11 +11,18 @@ import java.util.UUID;
 public class AuditLogService {
 
     private final AuditLogRepository repository;
+    private final AuditLogWriter writer;
 
-    public AuditLogService(AuditLogRepository repository) {
+    public AuditLogService(AuditLogRepository repository, AuditLogWriter writer) {
         this.repository = repository;
+        this.writer = writer;
     }
 
+    /**
+     * Records one audit entry. Synchronous by default (saved in the caller's
+     * transaction); with audit.async.enabled the entry is handed to
+     * {@link AuditLogWriter} once the transaction commits.
+     */
     @Transactional
     public void log(
             Tenant tenant,
@@ -43,6 +50,10 @@ public class AuditLogService {
                         userAgent
                 );
 
+        if (writer.isEnabled()) {
+            writer.submitAfterCommit(log);
+            return;
+        }
         repository.save(log);
     }
 }
@@ -0,0 +1,352 @@
+package com.yow.access.services;
+
+import com.yow.access.entities.AuditLog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous audit sink: events are queued once the caller's transaction
+ * has committed (a rolled-back change leaves no trace, as with the synchronous
+ * save) and written by one background thread as JDBC batches of
+ * {@code batch-size} rows, at least every {@code flush-interval}.
+ *
+ * When the queue is full the overflow policy applies: BLOCK waits up to
+ * {@code block-timeout} for room and then drops, DROP drops at once, SPILL
+ * writes the event on the caller's thread. Dropped, spilled and failed
+ * events are counted; the queue depth is published as {@code audit.queue.depth}.
+ * On shutdown the queue is drained before the datasource closes.
+ */
+@Component
+public class AuditLogWriter implements SmartLifecycle, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    public enum OverflowPolicy { BLOCK, DROP, SPILL }
+
+    /** Row of audit_log, detached from the persistence context of the caller. */
+    record Event(
+            UUID id,
+            UUID tenantId,
+            UUID userId,
+            UUID resourceId,
+            String action,
+            String targetType,
+            UUID targetId,
+            String outcome,
+            String message,
+            String ipAddress,
+            String userAgent,
+            Instant timestamp
+    ) {
+        static Event of(AuditLog entry) {
+            return new Event(
+                    UUID.randomUUID(),
+                    entry.getTenant() != null ? entry.getTenant().getId() : null,
+                    entry.getUser() != null ? entry.getUser().getId() : null,
+                    entry.getResource() != null ? entry.getResource().getId() : null,
+                    entry.getAction(),
+                    entry.getTargetType(),
+                    entry.getTargetId(),
+                    entry.getOutcome(),
+                    entry.getMessage(),
+                    entry.getIpAddress(),
+                    entry.getUserAgent(),
+                    entry.getTimestamp()
+            );
+        }
+    }
+
+    private static final String INSERT = """
+        INSERT INTO audit_log
+            (id, tenant_id, user_id, resource_id, action, target_type, target_id,
+             outcome, message, ip_address, user_agent, timestamp)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    // Arrêt après le serveur web (phases plus hautes), avant la fermeture de la datasource
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final BlockingQueue<Event> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final OverflowPolicy overflow;
+    private final Duration blockTimeout;
+    private final Duration shutdownTimeout;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditLogWriter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${audit.async.enabled:false}") boolean enabled,
+            @Value("${audit.async.capacity:10000}") int capacity,
+            @Value("${audit.async.batch-size:500}") int batchSize,
+            @Value("${audit.async.flush-interval:PT0.2S}") Duration flushInterval,
+            @Value("${audit.async.overflow:BLOCK}") OverflowPolicy overflow,
+            @Value("${audit.async.block-timeout:PT1S}") Duration blockTimeout,
+            @Value("${audit.async.shutdown-timeout:PT10S}") Duration shutdownTimeout
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.overflow = overflow;
+        this.blockTimeout = blockTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues the entry after the current transaction commits, or at once
+     * outside a transaction.
+     */
+    public void submitAfterCommit(AuditLog entry) {
+        Event event = Event.of(entry);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(event);
+            }
+        });
+    }
+
+    private void enqueue(Event event) {
+        if (!running) {
+            writeNow(event); // avant démarrage ou pendant l'arrêt
+            return;
+        }
+        offer(event);
+    }
+
+    void offer(Event event) {
+        if (queue.offer(event)) {
+            return;
+        }
+
+        switch (overflow) {
+            case BLOCK -> {
+                try {
+                    if (queue.offer(event, blockTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                drop(event);
+            }
+            case DROP -> drop(event);
+            case SPILL -> {
+                spilled.incrementAndGet();
+                writeNow(event);
+            }
+        }
+    }
+
+    private void drop(Event event) {
+        if (dropped.incrementAndGet() % 1000 == 1) {
+            log.warn("File d'audit pleine ({} événements), événement {} perdu", queue.size(), event.action());
+        }
+    }
+
+    private void writeNow(Event event) {
+        write(List.of(event));
+    }
+
+    /* ===== THREAD D'ÉCRITURE ===== */
+
+    private void runLoop() {
+        while (running) {
+            try {
+                drainOnce();
+            } catch (InterruptedException e) {
+                break; // flag non rétabli : le vidage final a besoin de la datasource
+            } catch (RuntimeException e) {
+                log.error("Erreur du writer d'audit", e);
+            }
+        }
+
+        drainRemaining();
+    }
+
+    // Arrêt : ce qui reste dans la file est écrit avant de rendre la main
+    private void drainRemaining() {
+        List<Event> batch = new ArrayList<>();
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Waits for a first event, then collects until the batch is full or the
+     * flush interval has elapsed, and writes it.
+     */
+    int drainOnce() throws InterruptedException {
+        Event first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return 0;
+        }
+        List<Event> batch = new ArrayList<>();
+        batch.add(first);
+
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            Event next;
+            try {
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                write(batch); // déjà retiré de la file
+                throw e;
+            }
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+
+        write(batch);
+        return batch.size();
+    }
+
+    /** One batch; on failure row by row, so one bad row does not lose the others. */
+    private void write(List<Event> events) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT, events, events.size(), (ps, event) -> bind(ps, event));
+            written.addAndGet(events.size());
+        } catch (RuntimeException batchError) {
+            if (events.size() == 1) {
+                failed.incrementAndGet();
+                log.error("Écriture d'audit impossible ({})", events.get(0).action(), batchError);
+                return;
+            }
+            for (Event event : events) {
+                write(List.of(event));
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Event event) throws SQLException {
+        ps.setObject(1, event.id());
+        ps.setObject(2, event.tenantId());
+        ps.setObject(3, event.userId());
+        ps.setObject(4, event.resourceId());
+        ps.setString(5, event.action());
+        ps.setString(6, event.targetType());
+        ps.setObject(7, event.targetId());
+        ps.setString(8, event.outcome());
+        ps.setString(9, event.message());
+        ps.setString(10, event.ipAddress());
+        ps.setString(11, event.userAgent());
+        ps.setTimestamp(12, Timestamp.from(event.timestamp() != null ? event.timestamp() : Instant.now()));
+    }
+
+    /* ===== CYCLE DE VIE ===== */
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::runLoop, "audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        // Pas d'interruption : la boucle sort au plus tard après flush-interval
+        running = false;
+        try {
+            worker.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            log.warn("Arrêt du writer d'audit avant la fin du vidage ({} événements restants)", queue.size());
+        } else {
+            drainRemaining(); // événements publiés pendant l'arrêt du thread
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /* ===== MÉTRIQUES ===== */
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit events waiting to be written")
+                .register(registry);
+        counter(registry, "audit.events.written", written);
+        counter(registry, "audit.events.dropped", dropped);
+        counter(registry, "audit.events.spilled", spilled);
+        counter(registry, "audit.events.failed", failed);
+    }
+
+    private static void counter(MeterRegistry registry, String name, AtomicLong value) {
+        FunctionCounter.builder(name, value, AtomicLong::get).register(registry);
+    }
+
+    long droppedCount() {
+        return dropped.get();
+    }
+
+    long spilledCount() {
+        return spilled.get();
+    }
+}
@@ -0,0 +1,236 @@
+package com.yow.access.services;
+
+import com.yow.access.dto.AuditRollupBucket;
+import com.yow.access.exceptions.AccessDeniedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hourly audit counts per (tenant, action, outcome) in audit_rollup_hourly.
+ * A catch-up job recomputes whole hours from audit_log up to a high-water
+ * mark, once they are closed for {@code settle-delay} (time for slow
+ * transactions and the async writer to commit). Queries read the rollups
+ * below the mark and aggregate the few raw hours above it, so a range costs
+ * one row per hour and (action, outcome) instead of one per event.
+ * Events without a tenant (system) are not rolled up.
+ */
+@Service
+public class AuditRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditRollupService.class);
+
+    public static final Duration MAX_RANGE = Duration.ofDays(366);
+
+    static final String STATE = "hourly";
+
+    private static final String ROLL_UP = """
+        INSERT INTO audit_rollup_hourly (tenant_id, bucket, action, outcome, event_count)
+        SELECT tenant_id, DATE_TRUNC('HOUR', timestamp), action, outcome, COUNT(*)
+        FROM audit_log
+        WHERE tenant_id IS NOT NULL
+          AND timestamp >= ?
+          AND timestamp < ?
+        GROUP BY tenant_id, DATE_TRUNC('HOUR', timestamp), action, outcome
+        """;
+
+    private static final String SELECT_ROLLUPS = """
+        SELECT bucket, action, outcome, SUM(event_count) AS event_count
+        FROM audit_rollup_hourly
+        WHERE bucket >= ?
+          AND bucket < ?
+        """;
+
+    private static final String SELECT_RAW = """
+        SELECT DATE_TRUNC('HOUR', timestamp) AS bucket, action, outcome, COUNT(*) AS event_count
+        FROM audit_log
+        WHERE tenant_id IS NOT NULL
+          AND timestamp >= ?
+          AND timestamp < ?
+        """;
+
+    private static final RowMapper<AuditRollupBucket> BUCKET = (rs, rowNum) -> new AuditRollupBucket(
+            rs.getTimestamp("bucket").toInstant(),
+            rs.getString("action"),
+            rs.getString("outcome"),
+            rs.getLong("event_count")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditLogQueryService auditLogQueryService;
+    private final TransactionTemplate transaction;
+    private final Duration settleDelay;
+    private final int maxHoursPerRun;
+
+    public AuditRollupService(
+            JdbcTemplate jdbcTemplate,
+            AuditLogQueryService auditLogQueryService,
+            PlatformTransactionManager transactionManager,
+            @Value("${audit.rollup.settle-delay:PT5M}") Duration settleDelay,
+            @Value("${audit.rollup.max-hours-per-run:168}") int maxHoursPerRun
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditLogQueryService = auditLogQueryService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.settleDelay = settleDelay;
+        this.maxHoursPerRun = maxHoursPerRun;
+    }
+
+    /* ===== RATTRAPAGE ===== */
+
+    @Scheduled(cron = "${audit.rollup.catch-up-cron:0 */5 * * * *}")
+    public void catchUp() {
+        LocalDateTime limit = LocalDateTime.now().minus(settleDelay).truncatedTo(ChronoUnit.HOURS);
+        long hours = 0;
+        Long batch;
+        while ((batch = transaction.execute(status -> rollUpNext(limit))) != null && batch > 0) {
+            hours += batch;
+        }
+        if (hours > 0) {
+            log.info("Agrégats d'audit rattrapés jusqu'à {} ({} heure(s))", limit, hours);
+        }
+    }
+
+    /**
+     * Rolls up the next hours below {@code limit}, at most maxHoursPerRun of
+     * them, in the caller's transaction; returns how many (0 once caught up).
+     * The state row is locked, so concurrent instances do not interleave.
+     */
+    long rollUpNext(LocalDateTime limit) {
+        List<Timestamp> state = jdbcTemplate.queryForList(
+                "SELECT high_water FROM audit_rollup_state WHERE name = ? FOR UPDATE", Timestamp.class, STATE);
+
+        LocalDateTime highWater;
+        if (state.isEmpty()) {
+            // Premier passage : depuis l'heure du plus ancien événement
+            Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(timestamp) FROM audit_log", Timestamp.class);
+            highWater = oldest != null ? oldest.toLocalDateTime().truncatedTo(ChronoUnit.HOURS) : limit;
+            jdbcTemplate.update("INSERT INTO audit_rollup_state (name, high_water) VALUES (?, ?)",
+                    STATE, Timestamp.valueOf(highWater));
+        } else {
+            highWater = state.get(0).toLocalDateTime();
+        }
+        if (!highWater.isBefore(limit)) {
+            return 0;
+        }
+
+        LocalDateTime end = highWater.plusHours(maxHoursPerRun);
+        if (end.isAfter(limit)) {
+            end = limit;
+        }
+        Timestamp start = Timestamp.valueOf(highWater);
+        Timestamp stop = Timestamp.valueOf(end);
+
+        // Heures recalculées en entier : rejouer un lot est sans effet
+        jdbcTemplate.update("DELETE FROM audit_rollup_hourly WHERE bucket >= ? AND bucket < ?", start, stop);
+        jdbcTemplate.update(ROLL_UP, start, stop);
+        jdbcTemplate.update("UPDATE audit_rollup_state SET high_water = ? WHERE name = ?", stop, STATE);
+
+        return Duration.between(highWater, end).toHours();
+    }
+
+    /* ===== LECTURE ===== */
+
+    /**
+     * Hourly counts over [from, to), widened to whole hours, ordered by hour.
+     * Tenant scope as for the audit log; users who only see their own entries
+     * have no per-tenant counts.
+     */
+    @Transactional(readOnly = true)
+    public List<AuditRollupBucket> getRollups(
+            UUID currentUserId,
+            UUID tenantId,
+            Instant from,
+            Instant to,
+            String action,
+            String outcome
+    ) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (Duration.between(from, to).compareTo(MAX_RANGE) > 0) {
+            throw new IllegalArgumentException("Range too large (max " + MAX_RANGE.toDays() + " days)");
+        }
+
+        AuditLogQueryService.Scope scope = auditLogQueryService.resolveScope(currentUserId, tenantId);
+        if (scope.userId() != null) {
+            throw new AccessDeniedException("TENANT_ADMIN");
+        }
+
+        LocalDateTime start = floorHour(from);
+        LocalDateTime end = ceilHour(to);
+
+        // Agrégats sous la marque, lignes brutes au-dessus (heures pas encore closes)
+        List<Timestamp> state = jdbcTemplate.queryForList(
+                "SELECT high_water FROM audit_rollup_state WHERE name = ?", Timestamp.class, STATE);
+        LocalDateTime split = state.isEmpty() ? start : state.get(0).toLocalDateTime();
+        if (split.isBefore(start)) {
+            split = start;
+        } else if (split.isAfter(end)) {
+            split = end;
+        }
+
+        List<AuditRollupBucket> buckets = new ArrayList<>();
+        if (start.isBefore(split)) {
+            buckets.addAll(query(SELECT_ROLLUPS, "bucket", start, split, scope.tenantId(), action, outcome));
+        }
+        if (split.isBefore(end)) {
+            buckets.addAll(query(SELECT_RAW, "DATE_TRUNC('HOUR', timestamp)", split, end, scope.tenantId(), action, outcome));
+        }
+        return buckets;
+    }
+
+    private List<AuditRollupBucket> query(
+            String select,
+            String bucketExpression,
+            LocalDateTime start,
+            LocalDateTime end,
+            UUID tenantId,
+            String action,
+            String outcome
+    ) {
+        StringBuilder sql = new StringBuilder(select);
+        List<Object> args = new ArrayList<>(List.of(Timestamp.valueOf(start), Timestamp.valueOf(end)));
+        condition(sql, args, "tenant_id = ?", tenantId);
+        condition(sql, args, "action = ?", action != null && !action.isBlank() ? action.trim() : null);
+        condition(sql, args, "outcome = ?", outcome != null && !outcome.isBlank() ? outcome.trim() : null);
+        sql.append(" GROUP BY ").append(bucketExpression).append(", action, outcome")
+                .append(" ORDER BY bucket, action, outcome");
+        return jdbcTemplate.query(sql.toString(), BUCKET, args.toArray());
+    }
+
+    private static void condition(StringBuilder sql, List<Object> args, String clause, Object value) {
+        if (value != null) {
+            sql.append(" AND ").append(clause);
+            args.add(value);
+        }
+    }
+
+    // Heures en heure locale de la JVM, comme les timestamps écrits dans audit_log
+    private static LocalDateTime floorHour(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault()).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static LocalDateTime ceilHour(Instant instant) {
+        LocalDateTime time = LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+        LocalDateTime hour = time.truncatedTo(ChronoUnit.HOURS);
+        return hour.isBefore(time) ? hour.plusHours(1) : hour;
+    }
+}
@@ -31,6 +31,9 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final EmailService emailService;
+    private final AuthorizationService authorizationService;
+    private final ResourceClosureRepository resourceClosureRepository;
+    private final TenantStatsService tenantStatsService;
 
     public AuthService(
             UserRepository userRepository,
@@ -40,7 +43,10 @@ public class AuthService {
             UserRoleResourceRepository userRoleResourceRepository,
             PasswordEncoder passwordEncoder,
             JwtService jwtService,
-            EmailService emailService
+            EmailService emailService,
+            AuthorizationService authorizationService,
+            ResourceClosureRepository resourceClosureRepository,
+            TenantStatsService tenantStatsService
     ) {
         this.userRepository = userRepository;
         this.tenantRepository = tenantRepository;
@@ -50,6 +56,9 @@ public class AuthService {
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.emailService = emailService;
+        this.authorizationService = authorizationService;
+        this.resourceClosureRepository = resourceClosureRepository;
+        this.tenantStatsService = tenantStatsService;
     }
 
     private static final String GENERIC_AUTH_ERROR = "Email ou mot de passe incorrect";
@@ -109,7 +118,9 @@ public class AuthService {
 
         // 4. Création de la Ressource Racine
         com.yow.access.entities.Resource rootResource = com.yow.access.entities.ResourceFactory.createRootResource(tenant, request.getOrganizationName());
-        resourceRepository.save(rootResource);
+        resourceRepository.saveAndFlush(rootResource);
+        resourceClosureRepository.insertSelfLink(rootResource.getId());
+        tenantStatsService.resourcesAdded(tenant.getId(), 1);
 
         // 5. Assignation du Rôle TENANT_ADMIN
         com.yow.access.entities.Role adminRole = roleRepository.findByName("TENANT_ADMIN")
@@ -119,6 +130,8 @@ public class AuthService {
         // Ici c'est une nouvelle ressource donc pas de doublon possible.
         com.yow.access.entities.UserRoleResource urr = com.yow.access.entities.UserRoleResourceFactory.create(adminUser, adminRole, rootResource);
         userRoleResourceRepository.save(urr);
+        tenantStatsService.bindingAdded(tenant.getId(), adminUser.getId());
+        authorizationService.invalidateUser(adminUser.getId());
 
         // 6. Génération Token et Réponse
         // On récupère TOUS les rôles de l'utilisateur (y compris ceux d'autres tenants s'il en a)
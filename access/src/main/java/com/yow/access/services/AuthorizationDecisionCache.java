@@ -0,0 +1,113 @@
+package com.yow.access.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of authorization decisions keyed by (user, resource, permission).
+ * Both grants and denials are cached. Entries are bounded by count and by age;
+ * the age only limits staleness if an invalidation is ever missed, precise
+ * eviction goes through {@link AuthorizationService}.
+ * Hit/miss statistics are published as {@code authz.decisions} cache metrics.
+ * A maximum size of 0 disables caching.
+ */
+@Component
+public class AuthorizationDecisionCache implements MeterBinder {
+
+    record Key(UUID userId, UUID resourceId, String permission) {}
+
+    private final Cache<Key, Boolean> decisions;
+
+    public AuthorizationDecisionCache(
+            @Value("${authz.decision-cache.max-size:100000}") long maximumSize,
+            @Value("${authz.decision-cache.ttl:PT5M}") Duration ttl
+    ) {
+        this.decisions = maximumSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    /**
+     * Cached decision, computed once per key on a miss.
+     * Exceptions thrown by the loader propagate and nothing is cached.
+     */
+    public boolean get(
+            UUID userId,
+            UUID resourceId,
+            String permissionName,
+            Supplier<Boolean> loader
+    ) {
+        // Anonymous or incomplete requests are not worth an entry
+        if (decisions == null || userId == null || resourceId == null || permissionName == null) {
+            return loader.get();
+        }
+        return decisions.get(
+                new Key(userId, resourceId, permissionName),
+                key -> loader.get()
+        );
+    }
+
+    /** Cached decision without loading it; null when absent. */
+    public Boolean peek(UUID userId, UUID resourceId, String permissionName) {
+        if (decisions == null || userId == null || resourceId == null || permissionName == null) {
+            return null;
+        }
+        return decisions.getIfPresent(new Key(userId, resourceId, permissionName));
+    }
+
+    /* ===== INVALIDATION ===== */
+
+    public void invalidateUser(UUID userId) {
+        if (decisions != null && userId != null) {
+            decisions.asMap().keySet().removeIf(key -> key.userId().equals(userId));
+        }
+    }
+
+    public void invalidateResources(Collection<UUID> resourceIds) {
+        if (decisions == null || resourceIds == null || resourceIds.isEmpty()) {
+            return;
+        }
+        Set<UUID> ids = resourceIds instanceof Set<UUID> set ? set : new HashSet<>(resourceIds);
+        decisions.asMap().keySet().removeIf(key -> ids.contains(key.resourceId()));
+    }
+
+    public void invalidateAll() {
+        if (decisions != null) {
+            decisions.invalidateAll();
+        }
+    }
+
+    /* ===== STATISTICS ===== */
+
+    public CacheStats stats() {
+        return decisions != null ? decisions.stats() : CacheStats.empty();
+    }
+
+    public long estimatedSize() {
+        return decisions != null ? decisions.estimatedSize() : 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (decisions != null) {
+            CaffeineCacheMetrics.monitor(registry, decisions, "authz.decisions");
+        }
+    }
+}
@@ -1,26 +1,44 @@
 package com.yow.access.services;
 
+import com.yow.access.dto.AuthorizationTraceEntry;
 import com.yow.access.entities.Resource;
-import com.yow.access.entities.UserRoleResource;
 import com.yow.access.exceptions.AccessDeniedException;
+import com.yow.access.repositories.ResourceClosureRepository;
 import com.yow.access.repositories.ResourceRepository;
-import com.yow.access.repositories.UserRoleResourceRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
 import java.util.*;
 
 @Service
 public class AuthorizationService {
 
-    private final UserRoleResourceRepository urrRepository;
+    // Taille max d'une liste IN (...) envoyée à la base
+    private static final int BATCH_CHUNK_SIZE = 1000;
+
     private final ResourceRepository resourceRepository;
+    private final PermissionIndex permissionIndex;
+    private final RolePermissionMatrix rolePermissionMatrix;
+    private final ResourceClosureRepository closureRepository;
+    private final AuthorizationDecisionCache decisionCache;
+    private final AuthorizationTracer tracer;
 
     public AuthorizationService(
-            UserRoleResourceRepository urrRepository,
-            ResourceRepository resourceRepository
+            ResourceRepository resourceRepository,
+            PermissionIndex permissionIndex,
+            RolePermissionMatrix rolePermissionMatrix,
+            ResourceClosureRepository closureRepository,
+            AuthorizationDecisionCache decisionCache,
+            AuthorizationTracer tracer
     ) {
-        this.urrRepository = urrRepository;
         this.resourceRepository = resourceRepository;
+        this.permissionIndex = permissionIndex;
+        this.rolePermissionMatrix = rolePermissionMatrix;
+        this.closureRepository = closureRepository;
+        this.decisionCache = decisionCache;
+        this.tracer = tracer;
     }
 
     /**
@@ -33,117 +51,255 @@ public class AuthorizationService {
             UUID resourceId,
             String permissionName
     ) {
-        Resource resource = resourceRepository.findById(resourceId)
-                .orElseThrow(() -> new IllegalStateException("Resource not found"));
+        String traceId = tracer.traceIdFor(userId);
+
+        // A cached decision spares the resource lookup as well
+        boolean allowed = traceId != null
+                ? evaluatePermission(userId, permissionName, loadResource(resourceId), traceId)
+                : decisionCache.get(userId, resourceId, permissionName, () ->
+                        evaluatePermission(userId, permissionName, loadResource(resourceId), null));
 
-        if (!hasPermission(userId, permissionName, resource)) {
+        if (!allowed) {
             throw new AccessDeniedException("Permission denied: " + permissionName);
         }
     }
 
     /**
      * RBAC check without resource scope (SYSTEM / GLOBAL permissions).
+     * Answered from the union of the user's role masks, kept in the index:
+     * every path removing bindings must call {@link #invalidateUser(UUID)}.
      * @throws AccessDeniedException if user lacks the permission
      */
     public void checkGlobalPermission(
             UUID userId,
             String permissionName
     ) {
-        boolean allowed = urrRepository.findAllByUserId(userId)
-                .stream()
-                .anyMatch(urr -> urr.getRole().getPermissions()
-                        .stream()
-                        .anyMatch(p -> p.getName().equals(permissionName)));
+        CompiledUserPermissions compiled = permissionIndex.get(userId);
+        boolean allowed = compiled.grantsAnywhere(compiled.bitOf(permissionName));
+
+        if (!allowed) {
+            throw new AccessDeniedException("Permission denied: " + permissionName);
+        }
+    }
+
+    /**
+     * RBAC check at tenant level: the permission must be granted by a binding
+     * on at least one live resource of the tenant (any binding for ADMIN).
+     * @throws AccessDeniedException if user lacks the permission in the tenant
+     */
+    public void checkTenantPermission(
+            UUID userId,
+            UUID tenantId,
+            String permissionName
+    ) {
+        CompiledUserPermissions compiled = permissionIndex.get(userId);
+        boolean allowed = compiled.isAdmin();
+
+        if (!allowed) {
+            int permissionBit = compiled.bitOf(permissionName);
+            if (permissionBit >= 0 && compiled.grantsAnywhere(permissionBit)) {
+                Set<UUID> granting = compiled.resourcesGranting(permissionBit);
+                allowed = resourceRepository.countInTenant(granting, tenantId) > 0;
+            }
+        }
 
         if (!allowed) {
             throw new AccessDeniedException("Permission denied: " + permissionName);
         }
     }
 
+    /**
+     * True when the user holds the ADMIN (super admin) role.
+     * Read from the compiled index: no query once the user is indexed
+     * (same invalidation contract as {@link #checkGlobalPermission}).
+     */
+    public boolean isSuperAdmin(UUID userId) {
+        return permissionIndex.get(userId).isAdmin();
+    }
+
+    /**
+     * Tenants of the live resources on which the user holds TENANT_ADMIN,
+     * in a stable order. Empty without any such binding (no query).
+     */
+    public List<UUID> administeredTenants(UUID userId) {
+        Set<UUID> resources = permissionIndex.get(userId).tenantAdminResources();
+        return resources.isEmpty() ? List.of() : resourceRepository.findTenantIdsByIds(resources);
+    }
+
+    /* ===== INDEX MAINTENANCE ===== */
+    /**
+     * Drops the compiled permissions and cached decisions of a user whose
+     * bindings changed. Evicted immediately and again after commit, so a
+     * concurrent reader cannot re-index the pre-commit state for good.
+     */
+    public void invalidateUser(UUID userId) {
+        Runnable evict = () -> {
+            permissionIndex.invalidate(userId);
+            decisionCache.invalidateUser(userId);
+        };
+        evict.run();
+        afterCommit(evict);
+    }
+
+    /**
+     * Drops cached decisions on resources whose ancestors changed
+     * (moved or deleted subtree). Bindings themselves are unaffected.
+     */
+    public void invalidateResources(Collection<UUID> resourceIds) {
+        List<UUID> ids = List.copyOf(resourceIds);
+        decisionCache.invalidateResources(ids);
+        afterCommit(() -> decisionCache.invalidateResources(ids));
+    }
+
+    /**
+     * Recompiles the role → permission matrix after a role was added or its
+     * permissions changed. Indexed users are recompiled lazily on next access;
+     * every cached decision is dropped.
+     */
+    public void onRolePermissionsChanged() {
+        Runnable rebuild = () -> {
+            rolePermissionMatrix.rebuild();
+            decisionCache.invalidateAll();
+        };
+        rebuild.run();
+        afterCommit(rebuild);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     /* ===== INTERNAL RBAC ENGINE ===== */
     /**
      * Core RBAC permission check with hierarchy inheritance.
-     * Walks up the resource tree until a matching permission is found.
-     * Protected against circular references.
+     * Answered from the decision cache when possible.
      */
     public boolean hasPermission(
             UUID userId,
             String permissionName,
             Resource target
     ) {
-        // Early returns for invalid inputs
-        if (target == null) {
+        // Early returns for invalid inputs (a tombstoned resource grants nothing)
+        if (target == null || target.getDeletedAt() != null) {
             return false;
         }
 
-        List<UserRoleResource> bindings = urrRepository.findAllByUserId(userId);
-        System.out.println("DEBUG: Check Permission '" + permissionName + "' for User " + userId + " on Resource " + target.getName() + " (" + target.getId() + ")");
-        System.out.println("DEBUG: Found " + bindings.size() + " bindings for user.");
+        // Traced checks bypass the cache so the walk is always captured
+        String traceId = tracer.traceIdFor(userId);
+        if (traceId != null) {
+            return evaluatePermission(userId, permissionName, target, traceId);
+        }
+
+        return decisionCache.get(
+                userId,
+                target.getId(),
+                permissionName,
+                () -> evaluatePermission(userId, permissionName, target, null)
+        );
+    }
+
+    /**
+     * Uncached evaluation.
+     * Walks up the resource tree until a matching permission is found.
+     * Protected against circular references.
+     * With a trace id, the walk is recorded by the {@link AuthorizationTracer}.
+     */
+    private boolean evaluatePermission(
+            UUID userId,
+            String permissionName,
+            Resource target,
+            String traceId
+    ) {
+        long started = traceId != null ? System.nanoTime() : 0L;
+        List<UUID> walked = traceId != null ? new ArrayList<>() : null;
+
+        CompiledUserPermissions compiled = permissionIndex.get(userId);
 
         // No bindings = no permissions
-        if (bindings == null || bindings.isEmpty()) {
-            System.out.println("DEBUG: No bindings found. Access denied.");
-            return false;
+        if (compiled.isEmpty()) {
+            return decided(traceId, started, userId, permissionName, target,
+                    false, "NO_BINDINGS", walked, null, compiled, -1);
         }
 
-        // Walks up the resource tree until a matching permission is found.
-        // Protected against circular references.
         // ADMIN role has full access.
-        for (UserRoleResource urr : bindings) {
-            if (urr.getRole().getName().equals("ADMIN")) {
-                System.out.println("DEBUG: ADMIN role found. Access granted.");
-                return true;
-            }
+        if (compiled.isAdmin()) {
+            return decided(traceId, started, userId, permissionName, target,
+                    true, "ADMIN", walked, null, compiled, -1);
         }
 
-        Resource current = target;
-        Set<UUID> visitedResources = new HashSet<>(); // Anti-loop protection
+        // Resolved once: each level is then a single bitwise AND
+        int permissionBit = compiled.bitOf(permissionName);
+        if (permissionBit < 0) {
+            return decided(traceId, started, userId, permissionName, target,
+                    false, "UNKNOWN_PERMISSION", walked, null, compiled, -1);
+        }
 
-        // Walk up the resource hierarchy
-        while (current != null) {
-            System.out.println("DEBUG: Checking at resource level: " + current.getName() + " (" + current.getId() + ")");
-            // Detect and break circular references
-            if (visitedResources.contains(current.getId())) {
-                System.out.println("DEBUG: Circular reference detected.");
-                break; // Circular reference detected
+        // Walk up the resource hierarchy (target first, root last)
+        for (UUID levelId : ancestorChain(target)) {
+            if (walked != null) {
+                walked.add(levelId);
             }
-            visitedResources.add(current.getId());
 
-            // Check all bindings for current resource level
-            for (UserRoleResource urr : bindings) {
-                // Skip bindings for different resources
-                if (!urr.getResource().getId().equals(current.getId())) {
-                    continue;
-                }
-                
-                System.out.println("DEBUG: Matching resource binding found. Role: " + urr.getRole().getName());
-                
-                // Debug permissions
-                urr.getRole().getPermissions().forEach(p -> System.out.println("DEBUG:   - Has permission: " + p.getName()));
-
-                // Check if role has the required permission
-                boolean hasPermission = urr.getRole().getPermissions()
-                        .stream()
-                        .anyMatch(p -> p.getName().equals(permissionName));
-
-                if (hasPermission) {
-                    System.out.println("DEBUG: Permission MATCHED! Access granted.");
-                    return true; // Permission granted
-                }
+            // One lookup per level: OR of the role masks bound on this resource
+            if (compiled.grants(levelId, permissionBit)) {
+                return decided(traceId, started, userId, permissionName, target,
+                        true, "BINDING", walked, levelId, compiled, permissionBit);
             }
+        }
 
-            // Move up to parent resource
-            current = current.getParent();
-            if (current != null) {
-                System.out.println("DEBUG: Moving up to parent: " + current.getName());
-            } else {
-                System.out.println("DEBUG: No parent (Root reached).");
-            }
+        // No matching permission found in hierarchy
+        return decided(traceId, started, userId, permissionName, target,
+                false, "NO_MATCH", walked, null, compiled, permissionBit);
+    }
+
+    /**
+     * Returns the decision, recording it first when the check is traced.
+     */
+    private boolean decided(
+            String traceId,
+            long started,
+            UUID userId,
+            String permissionName,
+            Resource target,
+            boolean granted,
+            String reason,
+            List<UUID> walked,
+            UUID matchedResourceId,
+            CompiledUserPermissions compiled,
+            int permissionBit
+    ) {
+        if (traceId == null) {
+            return granted;
         }
-        
-        System.out.println("DEBUG: End of hierarchy reached. Access denied.");
-        return false; // No matching permission found in hierarchy
+
+        long elapsed = System.nanoTime() - started;
+        tracer.record(new AuthorizationTraceEntry(
+                traceId,
+                Instant.now(),
+                userId,
+                target.getId(),
+                permissionName,
+                granted,
+                reason,
+                List.copyOf(walked),
+                matchedResourceId,
+                matchedResourceId != null
+                        ? compiled.rolesGranting(matchedResourceId, permissionBit)
+                        : List.of(),
+                decisionCache.peek(userId, target.getId(), permissionName),
+                elapsed
+        ));
+        return granted;
     }
+
     /**
      * Get all effective permissions for a user on a given resource.
      * Walks up the hierarchy and aggregates permissions.
@@ -151,17 +307,15 @@ public class AuthorizationService {
     public Set<String> getEffectivePermissions(UUID userId, UUID resourceId) {
         Set<String> permissions = new HashSet<>();
         
-        Resource target = resourceRepository.findById(resourceId)
-                .orElseThrow(() -> new IllegalStateException("Resource not found"));
+        Resource target = loadResource(resourceId);
 
-        List<UserRoleResource> bindings = urrRepository.findAllByUserId(userId);
-        if (bindings == null || bindings.isEmpty()) {
+        CompiledUserPermissions compiled = permissionIndex.get(userId);
+        if (compiled.isEmpty()) {
             return permissions;
         }
 
         // Check for ADMIN (Super Admin)
-        boolean isAdmin = bindings.stream().anyMatch(urr -> urr.getRole().getName().equals("ADMIN"));
-        if (isAdmin) {
+        if (compiled.isAdmin()) {
             // Return ALL known permissions? Or a special "ALL" flag?
             // For now, let's return a set of all standard permissions defined in Permissions class
             // But since Permissions class fields are static final, we can't iterate them easily without reflection.
@@ -178,27 +332,17 @@ public class AuthorizationService {
             return permissions;
         }
 
-        Resource current = target;
-        Set<UUID> visitedResources = new HashSet<>();
         boolean isTenantAdmin = false;
 
         // Walk up
-        while (current != null) {
-            if (visitedResources.contains(current.getId())) break;
-            visitedResources.add(current.getId());
-
-            for (UserRoleResource urr : bindings) {
-                if (urr.getResource().getId().equals(current.getId())) {
-                     // Collect all permissions from this role
-                     urr.getRole().getPermissions().forEach(p -> permissions.add(p.getName()));
-                     
-                     // Helper: if role is TENANT_ADMIN, grant all relevant tenant permissions
-                     if (urr.getRole().getName().equals("TENANT_ADMIN")) {
-                         isTenantAdmin = true;
-                     }
-                }
+        for (UUID levelId : ancestorChain(target)) {
+            // Collect all permissions from the roles bound at this level
+            permissions.addAll(compiled.permissionsAt(levelId));
+
+            // Helper: if role is TENANT_ADMIN, grant all relevant tenant permissions
+            if (compiled.isTenantAdminAt(levelId)) {
+                isTenantAdmin = true;
             }
-            current = current.getParent();
         }
         
         if (isTenantAdmin) {
@@ -214,4 +358,137 @@ public class AuthorizationService {
 
         return permissions;
     }
-}
\ No newline at end of file
+
+    /**
+     * Prepares a top-down evaluation of one permission below {@code root}.
+     * The root is checked once against its whole ancestor chain; descendants
+     * are then decided from their parent's state and their own bindings only.
+     */
+    public SubtreeAccess subtreeAccess(
+            UUID userId,
+            Resource root,
+            String permissionName
+    ) {
+        CompiledUserPermissions compiled = permissionIndex.get(userId);
+        if (root == null || compiled.isEmpty()) {
+            return SubtreeAccess.none();
+        }
+        if (compiled.isAdmin() || hasPermission(userId, permissionName, root)) {
+            return SubtreeAccess.full();
+        }
+
+        int permissionBit = compiled.bitOf(permissionName);
+        if (permissionBit < 0 || !compiled.grantsAnywhere(permissionBit)) {
+            return SubtreeAccess.none();
+        }
+        return new SubtreeAccess(compiled, permissionBit, false, true);
+    }
+
+    /**
+     * Batch RBAC check: one permission across many resources.
+     * Bindings are compiled once and the ancestor chains of all targets are
+     * loaded in one query; ancestors shared by siblings are evaluated once.
+     * Unknown resources are reported as denied.
+     */
+    public Map<UUID, Boolean> checkPermissions(
+            UUID userId,
+            Collection<UUID> resourceIds,
+            String permissionName
+    ) {
+        Map<UUID, Boolean> results = new LinkedHashMap<>();
+        for (UUID resourceId : resourceIds) {
+            results.put(resourceId, Boolean.FALSE);
+        }
+
+        CompiledUserPermissions compiled = permissionIndex.get(userId);
+        int permissionBit = compiled.bitOf(permissionName);
+        if (compiled.isEmpty() || (!compiled.isAdmin() && permissionBit < 0)) {
+            return results;
+        }
+
+        Map<UUID, List<UUID>> chains = new HashMap<>();
+        for (List<UUID> chunk : chunks(new ArrayList<>(results.keySet()), BATCH_CHUNK_SIZE)) {
+            for (Object[] row : closureRepository.findAncestorPairs(chunk)) {
+                chains.computeIfAbsent((UUID) row[0], id -> new ArrayList<>()).add((UUID) row[1]);
+            }
+        }
+
+        // Resources without closure rows: walk their parents once, sharing visited levels
+        List<UUID> missing = results.keySet().stream()
+                .filter(id -> !chains.containsKey(id))
+                .toList();
+        if (!missing.isEmpty()) {
+            for (Resource resource : resourceRepository.findAllById(missing)) {
+                if (resource.getDeletedAt() == null) {
+                    chains.put(resource.getId(), ancestorChain(resource));
+                }
+            }
+        }
+
+        Map<UUID, Boolean> levelGrants = new HashMap<>();
+        for (Map.Entry<UUID, List<UUID>> chain : chains.entrySet()) {
+            if (!results.containsKey(chain.getKey())) {
+                continue;
+            }
+            boolean granted = compiled.isAdmin();
+            for (int i = 0; !granted && i < chain.getValue().size(); i++) {
+                granted = levelGrants.computeIfAbsent(
+                        chain.getValue().get(i),
+                        levelId -> compiled.grants(levelId, permissionBit)
+                );
+            }
+            results.put(chain.getKey(), granted);
+        }
+
+        return results;
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += size) {
+            chunks.add(items.subList(from, Math.min(items.size(), from + size)));
+        }
+        return chunks;
+    }
+
+    // Tombstone : la ressource est traitée comme absente
+    private Resource loadResource(UUID resourceId) {
+        return resourceRepository.findById(resourceId)
+                .filter(resource -> resource.getDeletedAt() == null)
+                .orElseThrow(() -> new IllegalStateException("Resource not found"));
+    }
+
+    /**
+     * Ids of the target and its ancestors, closest first.
+     * Read from resource_closure in one query; when the closure has no row
+     * yet, from a recursive query on parent_id (one round trip whatever the
+     * depth). Loaded parents are only followed for entities not persisted.
+     */
+    private List<UUID> ancestorChain(Resource target) {
+        List<UUID> chain = closureRepository.findAncestorIds(target.getId());
+        if (chain != null && !chain.isEmpty()) {
+            return chain;
+        }
+
+        // No closure rows yet: whole chain in one recursive query
+        List<UUID> walked = new ArrayList<>();
+        Set<UUID> visitedResources = new HashSet<>(); // Anti-loop protection
+        for (Object[] row : resourceRepository.findAncestorChain(target.getId())) {
+            if (!visitedResources.add((UUID) row[0])) {
+                break;
+            }
+            walked.add((UUID) row[0]);
+        }
+        if (!walked.isEmpty()) {
+            return walked;
+        }
+
+        // Not persisted (transient graph): follow the loaded parents
+        Resource current = target;
+        while (current != null && visitedResources.add(current.getId())) {
+            walked.add(current.getId());
+            current = current.getParent();
+        }
+        return walked;
+    }
+}
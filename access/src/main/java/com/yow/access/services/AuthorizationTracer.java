@@ -0,0 +1,111 @@
+package com.yow.access.services;
+
+import com.yow.access.dto.AuthorizationTraceEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in tracing of RBAC decisions, switched on per request
+ * (header {@value #HEADER}) or per user.
+ * When nothing is switched on, {@link #traceIdFor(UUID)} is a thread-local
+ * read and an empty-set check; traced decisions go to a bounded ring buffer
+ * read by the debug endpoint.
+ */
+@Component
+public class AuthorizationTracer {
+
+    public static final String HEADER = "X-Authz-Trace";
+    public static final String TRACE_ID_HEADER = "X-Authz-Trace-Id";
+
+    private final ThreadLocal<String> requestTrace = new ThreadLocal<>();
+    private final Set<UUID> tracedUsers = ConcurrentHashMap.newKeySet();
+    private final ArrayDeque<AuthorizationTraceEntry> recent;
+    private final int capacity;
+
+    public AuthorizationTracer(
+            @Value("${authz.trace.capacity:500}") int capacity
+    ) {
+        this.capacity = Math.max(1, capacity);
+        this.recent = new ArrayDeque<>(this.capacity);
+    }
+
+    /* ===== ACTIVATION ===== */
+
+    /** Traces every decision taken on the current thread until {@link #endRequest()}. */
+    public String beginRequest() {
+        String traceId = UUID.randomUUID().toString();
+        requestTrace.set(traceId);
+        return traceId;
+    }
+
+    public void endRequest() {
+        requestTrace.remove();
+    }
+
+    public void enableUser(UUID userId) {
+        tracedUsers.add(userId);
+    }
+
+    public void disableUser(UUID userId) {
+        tracedUsers.remove(userId);
+    }
+
+    public boolean isUserTraced(UUID userId) {
+        return userId != null && tracedUsers.contains(userId);
+    }
+
+    public Set<UUID> tracedUsers() {
+        return Set.copyOf(tracedUsers);
+    }
+
+    /**
+     * Trace id for a decision of this user, or null when tracing is off
+     * (the common case).
+     */
+    public String traceIdFor(UUID userId) {
+        String traceId = requestTrace.get();
+        if (traceId != null) {
+            return traceId;
+        }
+        if (!tracedUsers.isEmpty() && userId != null && tracedUsers.contains(userId)) {
+            return "user:" + userId;
+        }
+        return null;
+    }
+
+    /* ===== RING BUFFER ===== */
+
+    public void record(AuthorizationTraceEntry entry) {
+        synchronized (recent) {
+            if (recent.size() == capacity) {
+                recent.removeFirst();
+            }
+            recent.addLast(entry);
+        }
+    }
+
+    /** Most recent entries first, optionally filtered by trace id and/or user. */
+    public List<AuthorizationTraceEntry> recent(String traceId, UUID userId, int limit) {
+        List<AuthorizationTraceEntry> result = new ArrayList<>();
+        synchronized (recent) {
+            Iterator<AuthorizationTraceEntry> it = recent.descendingIterator();
+            while (it.hasNext() && result.size() < limit) {
+                AuthorizationTraceEntry entry = it.next();
+                if ((traceId == null || traceId.equals(entry.getTraceId()))
+                        && (userId == null || userId.equals(entry.getUserId()))) {
+                    result.add(entry);
+                }
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        synchronized (recent) {
+            recent.clear();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.yow.access.services;
+
+import com.yow.access.entities.UserRoleResource;
+
+import java.util.*;
+
+/**
+ * Immutable, pre-computed view of a user's role bindings.
+ * Maps each bound resource to the OR of the masks of the roles bound there
+ * (see {@link RolePermissionMatrix}), so a hierarchy check is one hash lookup
+ * and one bitwise AND per level. The OR of every bound role is kept as well,
+ * which answers resource-independent (global) questions in one AND.
+ */
+public final class CompiledUserPermissions {
+
+    private final RolePermissionMatrix.Snapshot matrix;
+    private final boolean admin;
+    private final long[] unionMask;
+    private final Map<UUID, long[]> maskByResource;
+    private final Map<UUID, List<Short>> rolesByResource;
+    private final Set<UUID> tenantAdminResources;
+
+    private CompiledUserPermissions(
+            RolePermissionMatrix.Snapshot matrix,
+            boolean admin,
+            long[] unionMask,
+            Map<UUID, long[]> maskByResource,
+            Map<UUID, List<Short>> rolesByResource,
+            Set<UUID> tenantAdminResources
+    ) {
+        this.matrix = matrix;
+        this.admin = admin;
+        this.unionMask = unionMask;
+        this.maskByResource = maskByResource;
+        this.rolesByResource = rolesByResource;
+        this.tenantAdminResources = tenantAdminResources;
+    }
+
+    static CompiledUserPermissions empty(RolePermissionMatrix.Snapshot matrix) {
+        return new CompiledUserPermissions(matrix, false, matrix.newMask(), Map.of(), Map.of(), Set.of());
+    }
+
+    /**
+     * Only identifiers are read from the bindings: role and resource stay
+     * uninitialized proxies, permissions come from the matrix.
+     */
+    public static CompiledUserPermissions compile(
+            List<UserRoleResource> bindings,
+            RolePermissionMatrix.Snapshot matrix
+    ) {
+        if (bindings == null || bindings.isEmpty()) {
+            return empty(matrix);
+        }
+
+        boolean admin = false;
+        long[] unionMask = matrix.newMask();
+        Map<UUID, long[]> byResource = new HashMap<>();
+        Map<UUID, List<Short>> rolesByResource = new HashMap<>();
+        Set<UUID> tenantAdminResources = new HashSet<>();
+
+        for (UserRoleResource urr : bindings) {
+            Short roleId = urr.getRole().getId();
+            UUID resourceId = urr.getResource().getId();
+            String roleName = matrix.roleName(roleId);
+
+            if ("ADMIN".equals(roleName)) {
+                admin = true;
+            }
+            if ("TENANT_ADMIN".equals(roleName)) {
+                tenantAdminResources.add(resourceId);
+            }
+
+            long[] mask = byResource.computeIfAbsent(resourceId, id -> matrix.newMask());
+            RolePermissionMatrix.Snapshot.or(mask, matrix.maskOf(roleId));
+            RolePermissionMatrix.Snapshot.or(unionMask, matrix.maskOf(roleId));
+            rolesByResource.computeIfAbsent(resourceId, id -> new ArrayList<>(1)).add(roleId);
+        }
+
+        return new CompiledUserPermissions(
+                matrix,
+                admin,
+                unionMask,
+                Collections.unmodifiableMap(byResource),
+                Collections.unmodifiableMap(rolesByResource),
+                Collections.unmodifiableSet(tenantAdminResources)
+        );
+    }
+
+    /** True when this view was compiled against the given matrix. */
+    boolean compiledAgainst(RolePermissionMatrix.Snapshot current) {
+        return matrix == current;
+    }
+
+    /** True when the user holds no binding at all. */
+    public boolean isEmpty() {
+        return !admin && maskByResource.isEmpty();
+    }
+
+    /** True when the user holds the global ADMIN role on any resource. */
+    public boolean isAdmin() {
+        return admin;
+    }
+
+    /** Bit index to pass to {@link #grants(UUID, int)}; -1 if no role grants it. */
+    public int bitOf(String permissionName) {
+        return matrix.bitOf(permissionName);
+    }
+
+    /** True when a role bound directly on this resource grants the permission bit. */
+    public boolean grants(UUID resourceId, int permissionBit) {
+        long[] mask = maskByResource.get(resourceId);
+        return mask != null && RolePermissionMatrix.Snapshot.test(mask, permissionBit);
+    }
+
+    /** True when at least one binding, on any resource, grants the permission bit. */
+    public boolean grantsAnywhere(int permissionBit) {
+        return RolePermissionMatrix.Snapshot.test(unionMask, permissionBit);
+    }
+
+    /** Resources whose direct bindings grant the permission bit. */
+    public Set<UUID> resourcesGranting(int permissionBit) {
+        Set<UUID> resources = new HashSet<>();
+        maskByResource.forEach((resourceId, mask) -> {
+            if (RolePermissionMatrix.Snapshot.test(mask, permissionBit)) {
+                resources.add(resourceId);
+            }
+        });
+        return resources;
+    }
+
+    /** Permissions granted by the roles bound directly on this resource. */
+    public Set<String> permissionsAt(UUID resourceId) {
+        long[] mask = maskByResource.get(resourceId);
+        return mask != null ? matrix.namesOf(mask) : Set.of();
+    }
+
+    /** Names of the roles bound on this resource that grant the permission bit. */
+    public List<String> rolesGranting(UUID resourceId, int permissionBit) {
+        List<String> names = new ArrayList<>();
+        for (Short roleId : rolesByResource.getOrDefault(resourceId, List.of())) {
+            if (RolePermissionMatrix.Snapshot.test(matrix.maskOf(roleId), permissionBit)) {
+                names.add(matrix.roleName(roleId));
+            }
+        }
+        return names;
+    }
+
+    /** True when TENANT_ADMIN is bound directly on this resource. */
+    public boolean isTenantAdminAt(UUID resourceId) {
+        return tenantAdminResources.contains(resourceId);
+    }
+
+    /** Resources on which TENANT_ADMIN is bound directly. */
+    public Set<UUID> tenantAdminResources() {
+        return tenantAdminResources;
+    }
+
+    /** Number of distinct resources carrying at least one binding. */
+    public int boundResourceCount() {
+        return maskByResource.size();
+    }
+}
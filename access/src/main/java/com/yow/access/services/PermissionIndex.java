@@ -0,0 +1,104 @@
+package com.yow.access.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yow.access.repositories.UserRoleResourceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lazily built, in-memory index user → resourceId → permission mask.
+ * An entry is compiled on first use and dropped whenever the user's
+ * bindings change (see {@link AuthorizationService#invalidateUser(UUID)}).
+ * Entries compiled against an older {@link RolePermissionMatrix} are
+ * recompiled transparently. The index is bounded by count (least recently
+ * used users go first) and by age; as for the decision cache, the age only
+ * limits staleness if a write path ever misses an invalidation. Published as
+ * {@code authz.permission-index} cache metrics.
+ */
+@Component
+public class PermissionIndex implements MeterBinder {
+
+    private final UserRoleResourceRepository urrRepository;
+    private final RolePermissionMatrix rolePermissionMatrix;
+    private final Cache<UUID, CompiledUserPermissions> entries;
+
+    // Incrémenté à chaque invalidation : un chargement concurrent n'est pas conservé
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public PermissionIndex(
+            UserRoleResourceRepository urrRepository,
+            RolePermissionMatrix rolePermissionMatrix,
+            @Value("${authz.permission-index.max-size:50000}") long maximumSize,
+            @Value("${authz.permission-index.ttl:PT5M}") Duration ttl
+    ) {
+        this.urrRepository = urrRepository;
+        this.rolePermissionMatrix = rolePermissionMatrix;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, maximumSize))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Compiled permissions of the user, loading its bindings on a miss.
+     * The query and the compilation run outside any lock; concurrent misses
+     * may load the same user twice. A load that overlaps an invalidation is
+     * returned to its caller but not kept, so a stale entry can never
+     * survive an invalidation.
+     */
+    public CompiledUserPermissions get(UUID userId) {
+        RolePermissionMatrix.Snapshot matrix = rolePermissionMatrix.current();
+        if (userId == null) {
+            return CompiledUserPermissions.empty(matrix);
+        }
+
+        CompiledUserPermissions cached = entries.getIfPresent(userId);
+        if (cached != null && cached.compiledAgainst(matrix)) {
+            return cached;
+        }
+
+        long version = invalidations.get();
+        CompiledUserPermissions compiled =
+                CompiledUserPermissions.compile(urrRepository.findAllByUserId(userId), matrix);
+
+        CompiledUserPermissions published = entries.asMap().merge(userId, compiled,
+                (existing, fresh) -> existing.compiledAgainst(matrix) ? existing : fresh);
+
+        // Invalidation pendant le chargement : l'entrée publiée est retirée
+        if (invalidations.get() != version) {
+            entries.asMap().remove(userId, compiled);
+            return compiled;
+        }
+        return published;
+    }
+
+    public void invalidate(UUID userId) {
+        if (userId != null) {
+            invalidations.incrementAndGet();
+            entries.invalidate(userId);
+        }
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        entries.invalidateAll();
+    }
+
+    public long estimatedSize() {
+        return entries.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, entries, "authz.permission-index");
+    }
+}
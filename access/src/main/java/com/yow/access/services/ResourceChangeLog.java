@@ -0,0 +1,114 @@
+package com.yow.access.services;
+
+import com.yow.access.dto.ResourceChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-tenant log of structure changes (resource_change_log), written in the
+ * transaction of the change. seq is the tenant's structure version after the
+ * change, so a client holding version N asks for every event with seq > N.
+ * Entries older than the retention are compacted away; a client whose N
+ * predates the oldest entry must resync.
+ */
+@Component
+public class ResourceChangeLog {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceChangeLog.class);
+
+    private static final String INSERT = """
+        INSERT INTO resource_change_log
+            (tenant_id, seq, resource_id, event_type, parent_id, name, type, created_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String SELECT_SINCE = """
+        SELECT seq, event_type, resource_id, parent_id, name, type
+        FROM resource_change_log
+        WHERE tenant_id = ?
+          AND seq > ?
+          AND seq <= ?
+        ORDER BY seq, resource_id
+        LIMIT ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration retention;
+
+    public ResourceChangeLog(
+            JdbcTemplate jdbcTemplate,
+            @Value("${resources.change-log.retention:P7D}") Duration retention
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = retention;
+    }
+
+    public void append(UUID tenantId, List<ResourceChange> changes) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT, changes, ResourceBulkInserter.BATCH_SIZE, (ps, change) -> {
+            ps.setObject(1, tenantId);
+            ps.setLong(2, change.getSeq());
+            ps.setObject(3, change.getResourceId());
+            ps.setString(4, change.getEvent());
+            ps.setObject(5, change.getParentId());
+            ps.setString(6, change.getName());
+            ps.setString(7, change.getType());
+            ps.setTimestamp(8, now);
+        });
+    }
+
+    /**
+     * Events with since < seq <= until, oldest first, at most {@code limit}.
+     * The upper bound keeps out versions committed after the caller read
+     * the current one.
+     */
+    public List<ResourceChange> findSince(UUID tenantId, long since, long until, int limit) {
+        return jdbcTemplate.query(
+                SELECT_SINCE,
+                (rs, rowNum) -> new ResourceChange(
+                        rs.getLong("seq"),
+                        rs.getString("event_type"),
+                        rs.getObject("resource_id", UUID.class),
+                        rs.getObject("parent_id", UUID.class),
+                        rs.getString("name"),
+                        rs.getString("type")
+                ),
+                tenantId,
+                since,
+                until,
+                limit
+        );
+    }
+
+    /** Oldest seq still in the log for the tenant, null when empty. */
+    public Long oldestSeq(UUID tenantId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT MIN(seq) FROM resource_change_log WHERE tenant_id = ?",
+                Long.class,
+                tenantId
+        );
+    }
+
+    /* ===== COMPACTAGE ===== */
+
+    @Scheduled(cron = "${resources.change-log.compaction-cron:0 15 * * * *}")
+    public void compact() {
+        int removed = jdbcTemplate.update(
+                "DELETE FROM resource_change_log WHERE created_at < ?",
+                Timestamp.from(Instant.now().minus(retention))
+        );
+        if (removed > 0) {
+            log.info("Journal des changements compacté : {} entrée(s) supprimée(s)", removed);
+        }
+    }
+}
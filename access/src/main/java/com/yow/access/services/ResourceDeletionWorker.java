@@ -0,0 +1,176 @@
+package com.yow.access.services;
+
+import com.yow.access.entities.ResourceDeletionJob;
+import com.yow.access.repositories.AuditLogRepository;
+import com.yow.access.repositories.ResourceDeletionJobRepository;
+import com.yow.access.repositories.ResourceRepository;
+import com.yow.access.repositories.UserRoleResourceRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Background purge of tombstoned subtrees: deepest nodes first, CHUNK_SIZE
+ * resources per transaction, so no single transaction locks the whole branch.
+ * Jobs interrupted by a shutdown are resumed on the next startup.
+ */
+@Component
+public class ResourceDeletionWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceDeletionWorker.class);
+
+    static final int CHUNK_SIZE = 500;
+
+    private final ResourceDeletionJobRepository jobRepository;
+    private final ResourceRepository resourceRepository;
+    private final UserRoleResourceRepository urrRepository;
+    private final AuditLogRepository auditLogRepository;
+    private final AuthorizationService authorizationService;
+    private final TenantStatsService tenantStatsService;
+    private final TransactionTemplate transaction;
+
+    // One job at a time: purges compete for the same tables
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "resource-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ResourceDeletionWorker(
+            ResourceDeletionJobRepository jobRepository,
+            ResourceRepository resourceRepository,
+            UserRoleResourceRepository urrRepository,
+            AuditLogRepository auditLogRepository,
+            AuthorizationService authorizationService,
+            TenantStatsService tenantStatsService,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.jobRepository = jobRepository;
+        this.resourceRepository = resourceRepository;
+        this.urrRepository = urrRepository;
+        this.auditLogRepository = auditLogRepository;
+        this.authorizationService = authorizationService;
+        this.tenantStatsService = tenantStatsService;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Queues the job once the current transaction has committed (the job row
+     * and the tombstones must be visible to the worker).
+     */
+    public void submitAfterCommit(UUID jobId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(jobId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(jobId);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<ResourceDeletionJob> jobs = jobRepository.findAllByStatusInOrderByCreatedAt(
+                List.of(ResourceDeletionJob.PENDING, ResourceDeletionJob.RUNNING)
+        );
+        if (!jobs.isEmpty()) {
+            log.info("Reprise de {} suppression(s) de ressources", jobs.size());
+        }
+        jobs.forEach(job -> submit(job.getId()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void submit(UUID jobId) {
+        executor.execute(() -> run(jobId));
+    }
+
+    void run(UUID jobId) {
+        ResourceDeletionJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null
+                || ResourceDeletionJob.COMPLETED.equals(job.getStatus())
+                || ResourceDeletionJob.FAILED.equals(job.getStatus())) {
+            return;
+        }
+
+        try {
+            update(jobId, j -> j.setStatus(ResourceDeletionJob.RUNNING));
+
+            int purged;
+            do {
+                if (Thread.currentThread().isInterrupted()) {
+                    return; // left RUNNING, resumed on next startup
+                }
+                purged = transaction.execute(status -> purgeChunk(jobId, job.getRootResourceId()));
+            } while (purged > 0);
+
+            update(jobId, j -> {
+                j.setStatus(ResourceDeletionJob.COMPLETED);
+                j.setCompletedAt(Instant.now());
+            });
+        } catch (RuntimeException e) {
+            log.error("Échec de la suppression {} (racine {})", jobId, job.getRootResourceId(), e);
+            update(jobId, j -> {
+                j.setStatus(ResourceDeletionJob.FAILED);
+                j.setError(e.getMessage());
+            });
+        }
+    }
+
+    /**
+     * One bounded transaction: bindings and audit links of the chunk first,
+     * then the resources (closure rows follow by cascade).
+     */
+    private int purgeChunk(UUID jobId, UUID rootId) {
+        List<UUID> ids = resourceRepository.findPurgeBatch(rootId, CHUNK_SIZE);
+        if (ids.isEmpty() && resourceRepository.existsById(rootId)) {
+            ids = List.of(rootId); // root without closure row
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        List<UUID> affectedUsers = urrRepository.findUserIdsByResourceIds(ids);
+        auditLogRepository.detachResources(ids);
+        int unbound = urrRepository.deleteAllByResourceIds(ids);
+        int deleted = resourceRepository.deleteAllByIds(ids);
+
+        ResourceDeletionJob job = jobRepository.findById(jobId).orElseThrow();
+        tenantStatsService.bindingsRemoved(job.getTenantId(), unbound, affectedUsers);
+        job.setDeletedCount(job.getDeletedCount() + deleted);
+        job.setUpdatedAt(Instant.now());
+        jobRepository.save(job);
+
+        affectedUsers.forEach(authorizationService::invalidateUser);
+        return deleted;
+    }
+
+    private void update(UUID jobId, Consumer<ResourceDeletionJob> change) {
+        transaction.executeWithoutResult(status -> {
+            ResourceDeletionJob job = jobRepository.findById(jobId).orElseThrow();
+            change.accept(job);
+            job.setUpdatedAt(Instant.now());
+            jobRepository.save(job);
+        });
+    }
+}
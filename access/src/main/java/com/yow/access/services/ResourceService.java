@@ -1,31 +1,103 @@
 package com.yow.access.services;
 
+import com.yow.access.dto.BulkResourceImportRequest;
+import com.yow.access.dto.BulkResourceImportResponse;
+import com.yow.access.dto.ResourceChange;
+import com.yow.access.dto.ResourceChangesResponse;
+import com.yow.access.dto.ResourceChildrenPage;
+import com.yow.access.dto.ResourceDeletionJobResponse;
+import com.yow.access.dto.ResourceNodeResponse;
+import com.yow.access.dto.ResourceSearchHit;
+import com.yow.access.dto.ResourceSearchPage;
 import com.yow.access.dto.ResourceTreeResponse;
+import com.yow.access.dto.ResourceTreeSnapshot;
 import com.yow.access.entities.Resource;
+import com.yow.access.entities.ResourceDeletionJob;
 import com.yow.access.entities.ResourceFactory;
 import com.yow.access.exceptions.AccessDeniedException;
+import com.yow.access.repositories.ResourceClosureRepository;
+import com.yow.access.repositories.ResourceDeletionJobRepository;
 import com.yow.access.repositories.ResourceRepository;
+import com.yow.access.repositories.TenantRepository;
+import com.yow.access.repositories.UserRoleResourceRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class ResourceService {
 
+    /** Upper bound on the nodes returned by one lazy expansion. */
+    static final int MAX_EXPANDED_NODES = 2000;
+
+    /** Upper bound on the nodes created by one bulk import. */
+    static final int MAX_IMPORT_NODES = 50_000;
+
+    /** Matches examined per search call before returning a partial page. */
+    static final int MAX_SEARCH_SCANNED = 5000;
+
+    static final int SEARCH_BATCH_SIZE = 200;
+    private static final int MIN_SEARCH_LENGTH = 2;
+
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_TYPE_LENGTH = 50;
+    private static final int MAX_PATH_LENGTH = 500;
+
     private final ResourceRepository resourceRepository;
     private final AuthorizationService authorizationService;
     private final AuditLogService auditLogService;
+    private final ResourceClosureRepository closureRepository;
+    private final ResourceTreeStreamer treeStreamer;
+    private final ResourceBulkInserter bulkInserter;
+    private final ResourceDeletionJobRepository deletionJobRepository;
+    private final ResourceDeletionWorker deletionWorker;
+    private final TenantRepository tenantRepository;
+    private final ResourceTreeCache treeCache;
+    private final ResourceChangeLog changeLog;
+    private final TenantStatsService tenantStatsService;
+    private final UserRoleResourceRepository urrRepository;
 
     public ResourceService(
             ResourceRepository resourceRepository,
             AuthorizationService authorizationService,
-            AuditLogService auditLogService
+            AuditLogService auditLogService,
+            ResourceClosureRepository closureRepository,
+            ResourceTreeStreamer treeStreamer,
+            ResourceBulkInserter bulkInserter,
+            ResourceDeletionJobRepository deletionJobRepository,
+            ResourceDeletionWorker deletionWorker,
+            TenantRepository tenantRepository,
+            ResourceTreeCache treeCache,
+            ResourceChangeLog changeLog,
+            TenantStatsService tenantStatsService,
+            UserRoleResourceRepository urrRepository
     ) {
         this.resourceRepository = resourceRepository;
         this.authorizationService = authorizationService;
         this.auditLogService = auditLogService;
+        this.closureRepository = closureRepository;
+        this.treeStreamer = treeStreamer;
+        this.bulkInserter = bulkInserter;
+        this.deletionJobRepository = deletionJobRepository;
+        this.deletionWorker = deletionWorker;
+        this.tenantRepository = tenantRepository;
+        this.treeCache = treeCache;
+        this.changeLog = changeLog;
+        this.tenantStatsService = tenantStatsService;
+        this.urrRepository = urrRepository;
     }
 
     /* =========================================================
@@ -49,7 +121,11 @@ public class ResourceService {
         Resource child =
                 ResourceFactory.createChildResource(parent, name, type);
 
-        resourceRepository.save(child);
+        // Flushed first: the closure rows reference the new resource
+        resourceRepository.saveAndFlush(child);
+        closureRepository.insertLinksForChild(child.getId(), parent.getId());
+        recordChanges(parent.getTenant().getId(), ResourceChange.CREATE, List.of(child));
+        tenantStatsService.resourcesAdded(parent.getTenant().getId(), 1);
 
         auditLogService.log(
                 parent.getTenant(),
@@ -65,6 +141,179 @@ public class ResourceService {
         );
     }
 
+    /* =========================================================
+       BULK IMPORT
+       ========================================================= */
+
+    /**
+     * Creates a whole structure under one existing parent: one permission
+     * check, ids and paths computed in memory, resources and closure links
+     * inserted as JDBC batches, one audit record for the import.
+     */
+    @Transactional
+    public BulkResourceImportResponse importResources(
+            UUID actorUserId,
+            BulkResourceImportRequest request
+    ) {
+        Resource parent = loadResource(request.getParentResourceId());
+
+        authorizationService.checkPermission(
+                actorUserId,
+                parent.getId(),
+                "RESOURCE_CREATE"
+        );
+
+        List<PendingResource> pending = flattenImport(request.getNodes());
+        List<UUID> parentChain = closureRepository.findAncestorIds(parent.getId());
+        if (parentChain.isEmpty()) {
+            parentChain = List.of(parent.getId());
+        }
+
+        List<Resource> resources = new ArrayList<>(pending.size());
+        List<ResourceBulkInserter.ClosureLink> links = new ArrayList<>();
+        Map<String, UUID> ids = new LinkedHashMap<>();
+        Instant now = Instant.now();
+
+        // Parents first: each node takes its parent's path and ancestor chain
+        for (PendingResource node : pending) {
+            Resource parentResource = node.parent != null ? node.parent.resource : parent;
+            List<UUID> chain = node.parent != null ? node.parent.chain : parentChain;
+
+            Resource resource = new Resource();
+            resource.setId(UUID.randomUUID());
+            resource.setTenant(parent.getTenant());
+            resource.setParent(parentResource);
+            resource.setName(node.source.getName());
+            resource.setType(node.source.getType());
+            resource.setPath(ResourceFactory.childPath(parentResource.getPath(), node.source.getName()));
+            resource.setCreatedAt(now);
+
+            if (resource.getPath().length() > MAX_PATH_LENGTH) {
+                throw new IllegalArgumentException("Path too long: " + resource.getPath());
+            }
+
+            node.resource = resource;
+            node.chain = new ArrayList<>(chain.size() + 1);
+            node.chain.add(resource.getId());
+            node.chain.addAll(chain);
+            for (int depth = 0; depth < node.chain.size(); depth++) {
+                links.add(new ResourceBulkInserter.ClosureLink(node.chain.get(depth), resource.getId(), depth));
+            }
+
+            resources.add(resource);
+            if (node.source.getTempId() != null) {
+                ids.put(node.source.getTempId(), resource.getId());
+            }
+        }
+
+        bulkInserter.insertResources(resources);
+        bulkInserter.insertClosureLinks(links);
+        recordChanges(parent.getTenant().getId(), ResourceChange.CREATE, resources);
+        tenantStatsService.resourcesAdded(parent.getTenant().getId(), resources.size());
+
+        auditLogService.log(
+                parent.getTenant(),
+                null,
+                parent,
+                "BULK_IMPORT_RESOURCES",
+                "RESOURCE",
+                parent.getId(),
+                "SUCCESS",
+                resources.size() + " resources imported",
+                null,
+                null
+        );
+
+        return new BulkResourceImportResponse(resources.size(), ids);
+    }
+
+    /**
+     * Nested and flat nodes as one list where every parent comes before its
+     * children. Rejects oversized imports, invalid names, duplicate or unknown
+     * temp ids and parentTempId cycles.
+     */
+    private static List<PendingResource> flattenImport(List<BulkResourceImportRequest.Node> roots) {
+        List<PendingResource> all = new ArrayList<>();
+        Map<String, PendingResource> byTempId = new HashMap<>();
+
+        Deque<PendingResource> stack = new ArrayDeque<>();
+        for (BulkResourceImportRequest.Node root : roots) {
+            stack.push(new PendingResource(root, null));
+        }
+        while (!stack.isEmpty()) {
+            PendingResource node = stack.pop();
+            if (all.size() == MAX_IMPORT_NODES) {
+                throw new IllegalArgumentException("Import too large (max " + MAX_IMPORT_NODES + " resources)");
+            }
+            validateImportNode(node.source);
+            all.add(node);
+
+            String tempId = node.source.getTempId();
+            if (tempId != null && byTempId.putIfAbsent(tempId, node) != null) {
+                throw new IllegalArgumentException("Duplicate tempId: " + tempId);
+            }
+            if (node.source.getChildren() != null) {
+                for (BulkResourceImportRequest.Node child : node.source.getChildren()) {
+                    stack.push(new PendingResource(child, node));
+                }
+            }
+        }
+
+        // Flat references, then parents-before-children order (BFS from the top level)
+        Map<PendingResource, List<PendingResource>> children = new HashMap<>();
+        Deque<PendingResource> queue = new ArrayDeque<>();
+        for (PendingResource node : all) {
+            String parentTempId = node.source.getParentTempId();
+            if (node.parent == null && parentTempId != null) {
+                node.parent = byTempId.get(parentTempId);
+                if (node.parent == null) {
+                    throw new IllegalArgumentException("Unknown parentTempId: " + parentTempId);
+                }
+            }
+            if (node.parent == null) {
+                queue.add(node);
+            } else {
+                children.computeIfAbsent(node.parent, p -> new ArrayList<>()).add(node);
+            }
+        }
+
+        List<PendingResource> ordered = new ArrayList<>(all.size());
+        while (!queue.isEmpty()) {
+            PendingResource node = queue.poll();
+            ordered.add(node);
+            queue.addAll(children.getOrDefault(node, List.of()));
+        }
+        if (ordered.size() != all.size()) {
+            throw new IllegalArgumentException("Cycle in parentTempId references");
+        }
+        return ordered;
+    }
+
+    private static void validateImportNode(BulkResourceImportRequest.Node node) {
+        if (node == null) {
+            throw new IllegalArgumentException("Empty import node");
+        }
+        if (node.getName() == null || node.getName().isBlank() || node.getName().length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Invalid resource name: " + node.getName());
+        }
+        if (node.getType() == null || node.getType().isBlank() || node.getType().length() > MAX_TYPE_LENGTH) {
+            throw new IllegalArgumentException("Invalid resource type: " + node.getType());
+        }
+    }
+
+    // Nœud d'import en cours de résolution (identité par référence)
+    private static final class PendingResource {
+        private final BulkResourceImportRequest.Node source;
+        private PendingResource parent;
+        private Resource resource;
+        private List<UUID> chain;
+
+        private PendingResource(BulkResourceImportRequest.Node source, PendingResource parent) {
+            this.source = source;
+            this.parent = parent;
+        }
+    }
+
     /* =========================================================
        READ TREE
        ========================================================= */
@@ -73,41 +322,457 @@ public class ResourceService {
             UUID userId,
             UUID rootResourceId
     ) {
+        Resource root = loadResource(rootResourceId);
+
+        return assembleTree(rootResourceId, readAccess(userId, root));
+    }
+
+    /**
+     * Same tree, serialized. A full view (READ on the root) is the same for
+     * every reader: it is cached per structure version and tagged with an ETag,
+     * so an unchanged tree costs one version lookup (or a 304). Pruned views
+     * depend on the caller and are always rebuilt.
+     */
+    @Transactional(readOnly = true)
+    public ResourceTreeSnapshot getResourceTreeSnapshot(
+            UUID userId,
+            UUID rootResourceId,
+            String ifNoneMatch
+    ) {
+        Resource root = loadResource(rootResourceId);
+        SubtreeAccess access = readAccess(userId, root);
+
+        long version = structureVersion(root.getTenant().getId());
+        if (!access.rootGranted()) {
+            return ResourceTreeSnapshot.of(null, version, treeCache.serialize(assembleTree(rootResourceId, access)));
+        }
+
+        String etag = etag("tree", rootResourceId, version);
+        if (ResourceTreeSnapshot.matches(ifNoneMatch, etag)) {
+            return ResourceTreeSnapshot.notModified(etag, version);
+        }
+        return ResourceTreeSnapshot.of(etag, version, treeCache.getTree(
+                rootResourceId,
+                version,
+                () -> assembleTree(rootResourceId, access)
+        ));
+    }
+
+    private SubtreeAccess readAccess(UUID userId, Resource root) {
+        SubtreeAccess access =
+                authorizationService.subtreeAccess(userId, root, "RESOURCE_READ");
+        if (!access.anyGranted()) {
+            throw new AccessDeniedException("RESOURCE_READ");
+        }
+        return access;
+    }
+
+    private ResourceTreeResponse assembleTree(UUID rootResourceId, SubtreeAccess access) {
+        // Whole subtree in one query, assembled in memory
+        ResourceTreeResponse tree =
+                new ResourceTreeAssembler(resourceRepository.findSubtreeRows(rootResourceId))
+                        .build(rootResourceId, access);
+
+        if (tree == null) {
+            throw new AccessDeniedException("RESOURCE_READ");
+        }
+        return tree;
+    }
+
+    /* =========================================================
+       STREAM TREE
+       ========================================================= */
+
+    /**
+     * Whole subtree written as JSON while it is read, for exports of very large
+     * trees. Nothing is pruned, so READ is required on the root itself (it is
+     * inherited by every node below); partial views go through getResourceTree.
+     */
+    public StreamingResponseBody streamResourceTree(
+            UUID userId,
+            UUID rootResourceId
+    ) {
+        loadResource(rootResourceId);
+
         authorizationService.checkPermission(
                 userId,
                 rootResourceId,
                 "RESOURCE_READ"
         );
 
-        Resource root = loadResource(rootResourceId);
-        return buildTree(root);
+        return out -> treeStreamer.write(rootResourceId, out);
     }
 
-    private ResourceTreeResponse buildTree(Resource resource) {
-        ResourceTreeResponse node =
-                ResourceTreeResponse.fromEntity(resource);
+    /* =========================================================
+       LAZY TREE EXPANSION
+       ========================================================= */
+
+    /**
+     * One page of the children of {@code parentId}, keyset-paginated by (name, id),
+     * each child expanded down to {@code depth} levels (1 = the children only).
+     * Nested levels keep the first {@code limit} children of each node and cost
+     * one query per level; {@link #MAX_EXPANDED_NODES} bounds the whole response.
+     * Below a node the caller cannot read, only branches leading to a readable
+     * resource are returned, unreadable nodes as id-only connectors; such a
+     * pruned level is bounded by the caller's bindings and comes in one page.
+     * Denied when no child leads to a readable resource.
+     */
+    @Transactional(readOnly = true)
+    public ResourceChildrenPage getChildren(
+            UUID userId,
+            UUID parentId,
+            int depth,
+            int limit,
+            String cursor
+    ) {
+        Resource parent = loadResource(parentId);
 
-        List<Resource> children =
-                resourceRepository.findByParentId(resource.getId());
+        // READ is inherited: every node below a readable node is readable
+        SubtreeAccess access = authorizationService.subtreeAccess(userId, parent, "RESOURCE_READ");
+        if (!access.anyGranted()) {
+            throw new AccessDeniedException("Permission denied: RESOURCE_READ");
+        }
+        boolean pruned = !access.rootGranted();
 
-        for (Resource child : children) {
-            node.addChild(buildTree(child));
+        TreeCursor after = TreeCursor.decode(cursor);
+        List<Object[]> rows;
+        boolean hasMore;
+        if (!pruned) {
+            rows = after == null
+                    ? resourceRepository.findChildRows(parentId, limit + 1)
+                    : resourceRepository.findChildRowsAfter(parentId, after.name(), after.id(), limit + 1);
+            hasMore = rows.size() > limit;
+            if (hasMore) {
+                rows = rows.subList(0, limit);
+            }
+        } else {
+            // Niveau élagué renvoyé en une seule page : rien après un curseur
+            rows = after != null
+                    ? List.of()
+                    : resourceRepository.findChildRowsLeadingToGrant(List.of(parentId), userId, "RESOURCE_READ");
+            if (rows.isEmpty() && after == null) {
+                throw new AccessDeniedException("Permission denied: RESOURCE_READ");
+            }
+            hasMore = false;
         }
 
-        return node;
+        List<ResourceNodeResponse> items = new ArrayList<>();
+        Map<UUID, ResourceNodeResponse> level = new LinkedHashMap<>();
+        Set<UUID> connectors = new HashSet<>();
+        for (Object[] row : rows) {
+            ResourceNodeResponse node = node(row, !pruned || access.grantedAt((UUID) row[0], false));
+            items.add(node);
+            level.put(node.getId(), node);
+            if (!node.isReadable()) {
+                connectors.add(node.getId());
+            }
+        }
+
+        int budget = MAX_EXPANDED_NODES - items.size();
+        for (int d = 1; !level.isEmpty(); d++) {
+            List<UUID> readableIds = level.keySet().stream()
+                    .filter(id -> !connectors.contains(id))
+                    .toList();
+            List<UUID> connectorIds = level.keySet().stream()
+                    .filter(connectors::contains)
+                    .toList();
+
+            Map<UUID, Long> counts = new HashMap<>();
+            if (!readableIds.isEmpty()) {
+                for (Object[] row : resourceRepository.countChildrenByParentIds(readableIds)) {
+                    counts.put((UUID) row[0], ((Number) row[1]).longValue());
+                }
+            }
+
+            // Sous un connecteur, seuls les enfants menant à une ressource lisible comptent
+            Map<UUID, List<Object[]>> branches = new LinkedHashMap<>();
+            if (!connectorIds.isEmpty()) {
+                for (Object[] row : resourceRepository.findChildRowsLeadingToGrant(connectorIds, userId, "RESOURCE_READ")) {
+                    branches.computeIfAbsent((UUID) row[1], id -> new ArrayList<>()).add(row);
+                }
+                branches.forEach((id, children) -> counts.put(id, (long) children.size()));
+            }
+
+            Map<UUID, ResourceNodeResponse> next = new LinkedHashMap<>();
+            boolean expand = d < depth && budget > 0 && !counts.isEmpty();
+            if (expand) {
+                List<UUID> readableParents = readableIds.stream()
+                        .filter(counts::containsKey)
+                        .toList();
+                if (!readableParents.isEmpty()) {
+                    for (Object[] row : resourceRepository.findFirstChildRows(readableParents, limit, budget)) {
+                        ResourceNodeResponse child = node(row, true);
+                        level.get((UUID) row[1]).addChild(child);
+                        next.put(child.getId(), child);
+                    }
+                }
+                for (List<Object[]> children : branches.values()) {
+                    for (Object[] row : children.subList(0, Math.min(limit, children.size()))) {
+                        if (next.size() >= budget) {
+                            break;
+                        }
+                        ResourceNodeResponse child = node(row, access.grantedAt((UUID) row[0], false));
+                        level.get((UUID) row[1]).addChild(child);
+                        next.put(child.getId(), child);
+                        if (!child.isReadable()) {
+                            connectors.add(child.getId());
+                        }
+                    }
+                }
+                budget -= next.size();
+            }
+
+            for (ResourceNodeResponse node : level.values()) {
+                long childCount = counts.getOrDefault(node.getId(), 0L);
+                node.setChildCount(childCount);
+                node.setHasMore(childCount > node.getChildren().size());
+            }
+            level = next;
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            ResourceNodeResponse last = items.get(items.size() - 1);
+            nextCursor = new TreeCursor(last.getName(), last.getId()).encode();
+        }
+        return new ResourceChildrenPage(parentId, items, nextCursor, hasMore);
+    }
+
+    // Nœud illisible : seul l'id est exposé
+    private static ResourceNodeResponse node(Object[] row, boolean readable) {
+        return readable ? node(row) : ResourceNodeResponse.connector((UUID) row[0]);
+    }
+
+    private static ResourceNodeResponse node(Object[] row) {
+        return ResourceNodeResponse.of((UUID) row[0], (String) row[2], (String) row[3]);
     }
 
     /* =========================================================
        GET ROOT RESOURCES BY TENANT
        ========================================================= */
     @Transactional(readOnly = true)
-    public List<ResourceTreeResponse> getRootResourcesByTenant(UUID tenantId) {
-        List<Resource> roots = resourceRepository.findByTenantIdAndParentIsNull(tenantId);
-        return roots.stream()
-                .map(this::buildTree)
+    public List<ResourceTreeResponse> getRootResourcesByTenant(
+            UUID userId,
+            UUID tenantId
+    ) {
+        return assembleTenantTrees(tenantId, rootAccess(userId, liveRoots(tenantId)));
+    }
+
+    /**
+     * Tenant listing, serialized. Shared and versioned like
+     * {@link #getResourceTreeSnapshot} when the caller reads every root in full.
+     */
+    @Transactional(readOnly = true)
+    public ResourceTreeSnapshot getRootResourcesSnapshot(
+            UUID userId,
+            UUID tenantId,
+            String ifNoneMatch
+    ) {
+        List<Resource> roots = liveRoots(tenantId);
+        Map<UUID, SubtreeAccess> accessByRoot = rootAccess(userId, roots);
+
+        boolean fullView = !roots.isEmpty()
+                && accessByRoot.size() == roots.size()
+                && accessByRoot.values().stream().allMatch(SubtreeAccess::rootGranted);
+        long version = structureVersion(tenantId);
+        if (!fullView) {
+            return ResourceTreeSnapshot.of(null, version, treeCache.serialize(assembleTenantTrees(tenantId, accessByRoot)));
+        }
+
+        String etag = etag("tenant", tenantId, version);
+        if (ResourceTreeSnapshot.matches(ifNoneMatch, etag)) {
+            return ResourceTreeSnapshot.notModified(etag, version);
+        }
+        return ResourceTreeSnapshot.of(etag, version, treeCache.getTenantTrees(
+                tenantId,
+                version,
+                () -> assembleTenantTrees(tenantId, accessByRoot)
+        ));
+    }
+
+    private List<Resource> liveRoots(UUID tenantId) {
+        return resourceRepository.findByTenantIdAndParentIsNull(tenantId).stream()
+                .filter(root -> root.getDeletedAt() == null)
+                .toList();
+    }
+
+    private Map<UUID, SubtreeAccess> rootAccess(UUID userId, List<Resource> roots) {
+        Map<UUID, SubtreeAccess> accessByRoot = new LinkedHashMap<>();
+        for (Resource root : roots) {
+            SubtreeAccess access =
+                    authorizationService.subtreeAccess(userId, root, "RESOURCE_READ");
+            if (access.anyGranted()) {
+                accessByRoot.put(root.getId(), access);
+            }
+        }
+        return accessByRoot;
+    }
+
+    private List<ResourceTreeResponse> assembleTenantTrees(
+            UUID tenantId,
+            Map<UUID, SubtreeAccess> accessByRoot
+    ) {
+        if (accessByRoot.isEmpty()) {
+            return List.of();
+        }
+
+        // Every tree of the tenant from one query
+        ResourceTreeAssembler assembler =
+                new ResourceTreeAssembler(resourceRepository.findTreeRowsByTenantId(tenantId));
+
+        List<ResourceTreeResponse> trees = new ArrayList<>();
+        accessByRoot.forEach((rootId, access) -> {
+            ResourceTreeResponse tree = assembler.build(rootId, access);
+            if (tree != null) {
+                trees.add(tree);
+            }
+        });
+        return trees;
+    }
+
+    /* =========================================================
+       DELTA SYNC
+       ========================================================= */
+
+    /**
+     * Structure changes of the tenant after version {@code since}, oldest
+     * first, as long as the change log still covers that range; otherwise a
+     * resync signal. A version is never split across pages. Requires READ
+     * somewhere in the tenant. CREATE and MOVE events on resources the caller
+     * cannot read are left out; DELETE events only carry the removed id and
+     * are always returned.
+     */
+    @Transactional(readOnly = true)
+    public ResourceChangesResponse getChanges(
+            UUID userId,
+            UUID tenantId,
+            long since,
+            int limit
+    ) {
+        authorizationService.checkTenantPermission(userId, tenantId, "RESOURCE_READ");
+
+        long current = structureVersion(tenantId);
+        if (since == current) {
+            return ResourceChangesResponse.changes(current, false, List.of());
+        }
+        if (since > current || !logCovers(tenantId, since)) {
+            return ResourceChangesResponse.resync(current);
+        }
+
+        // Borné à la version lue : un commit concurrent attend l'appel suivant
+        List<ResourceChange> changes = changeLog.findSince(tenantId, since, current, limit + 1);
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            // Drop the version cut by the limit, returned whole by the next call
+            long partial = changes.get(limit).getSeq();
+            changes = changes.stream().filter(change -> change.getSeq() < partial).toList();
+            if (changes.isEmpty()) {
+                return ResourceChangesResponse.resync(current); // one version larger than the limit
+            }
+        }
+        long version = hasMore ? changes.get(changes.size() - 1).getSeq() : current;
+
+        return ResourceChangesResponse.changes(version, hasMore, readableChanges(userId, changes));
+    }
+
+    // Every version after since is still in the log (versions are contiguous)
+    private boolean logCovers(UUID tenantId, long since) {
+        Long oldest = changeLog.oldestSeq(tenantId);
+        return oldest != null && oldest <= since + 1;
+    }
+
+    private List<ResourceChange> readableChanges(UUID userId, List<ResourceChange> changes) {
+        List<UUID> ids = changes.stream()
+                .filter(change -> !ResourceChange.DELETE.equals(change.getEvent()))
+                .map(ResourceChange::getResourceId)
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            return changes;
+        }
+
+        Map<UUID, Boolean> readable =
+                authorizationService.checkPermissions(userId, ids, "RESOURCE_READ");
+        return changes.stream()
+                .filter(change -> ResourceChange.DELETE.equals(change.getEvent())
+                        || readable.getOrDefault(change.getResourceId(), false))
                 .toList();
     }
 
+    /* =========================================================
+       SEARCH
+       ========================================================= */
+
+    /**
+     * Case-insensitive match of {@code query} against name or type within a
+     * tenant, as a substring or, with {@code prefix}, a prefix. Matches are
+     * read in (name, id) batches and filtered with one batch READ check per
+     * batch; at most MAX_SEARCH_SCANNED matches are examined per call, so a
+     * caller with sparse rights may get a short page with a cursor.
+     */
+    @Transactional(readOnly = true)
+    public ResourceSearchPage searchResources(
+            UUID userId,
+            UUID tenantId,
+            String query,
+            boolean prefix,
+            int limit,
+            String cursor
+    ) {
+        String term = query != null ? query.strip() : "";
+        if (term.length() < MIN_SEARCH_LENGTH || term.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Search query must be between " + MIN_SEARCH_LENGTH + " and " + MAX_NAME_LENGTH + " characters");
+        }
+        String pattern = (prefix ? "" : "%") + escapeLike(term.toLowerCase(Locale.ROOT)) + "%";
+
+        TreeCursor after = TreeCursor.decode(cursor);
+        List<ResourceSearchHit> hits = new ArrayList<>();
+        boolean exhausted = false;
+        int scanned = 0;
+
+        while (hits.size() < limit && scanned < MAX_SEARCH_SCANNED && !exhausted) {
+            List<Object[]> rows = after == null
+                    ? resourceRepository.searchRows(tenantId, pattern, SEARCH_BATCH_SIZE)
+                    : resourceRepository.searchRowsAfter(tenantId, pattern, after.name(), after.id(), SEARCH_BATCH_SIZE);
+
+            Map<UUID, Boolean> readable = rows.isEmpty()
+                    ? Map.of()
+                    : authorizationService.checkPermissions(
+                            userId,
+                            rows.stream().map(row -> (UUID) row[0]).toList(),
+                            "RESOURCE_READ"
+                    );
+
+            int consumed = 0;
+            for (Object[] row : rows) {
+                consumed++;
+                scanned++;
+                after = new TreeCursor((String) row[2], (UUID) row[0]);
+                if (readable.getOrDefault((UUID) row[0], false)) {
+                    hits.add(searchHit(row));
+                    if (hits.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            exhausted = rows.size() < SEARCH_BATCH_SIZE && consumed == rows.size();
+        }
+
+        String nextCursor = exhausted || after == null ? null : after.encode();
+        return new ResourceSearchPage(hits, nextCursor, nextCursor != null);
+    }
+
+    private static ResourceSearchHit searchHit(Object[] row) {
+        return new ResourceSearchHit(
+                (UUID) row[0],
+                (UUID) row[1],
+                (String) row[2],
+                (String) row[3],
+                (String) row[4]
+        );
+    }
+
     /* =========================================================
        COUNT RESOURCES BY TENANT
        ========================================================= */
@@ -132,7 +797,24 @@ public class ResourceService {
                 "RESOURCE_DELETE"
         );
 
+        UUID tenantId = resource.getTenant().getId();
+        List<UUID> subtree = subtreeIds(resourceId);
+
+        // Compteurs : la suppression part en cascade sur tout le sous-arbre et ses affectations
+        long removedResources = resourceRepository.countLiveInSubtree(resourceId);
+        long removedBindings = urrRepository.countInSubtree(resourceId);
+        List<UUID> affectedUsers = urrRepository.findUserIdsInSubtree(resourceId);
+
+        authorizationService.invalidateResources(subtree);
+        closureRepository.deleteSubtreeLinks(resourceId);
         resourceRepository.delete(resource);
+        resourceRepository.flush(); // cascade appliquée avant le recomptage des utilisateurs
+        recordChanges(tenantId, ResourceChange.DELETE, List.of(resource));
+        tenantStatsService.resourcesRemoved(tenantId, removedResources);
+        tenantStatsService.bindingsRemoved(tenantId, removedBindings, affectedUsers);
+
+        // Affectations supprimées en cascade : index et décisions des utilisateurs à recompiler
+        affectedUsers.forEach(authorizationService::invalidateUser);
 
         auditLogService.log(
                 resource.getTenant(),
@@ -148,6 +830,78 @@ public class ResourceService {
         );
     }
 
+    /**
+     * Asynchronous variant for large branches: the subtree is tombstoned (hidden
+     * from every read path) in this transaction, then purged bottom-up in
+     * bounded chunks by {@link ResourceDeletionWorker}. Returns the job to poll.
+     */
+    @Transactional
+    public ResourceDeletionJobResponse deleteResourceAsync(
+            UUID userId,
+            UUID resourceId
+    ) {
+        Resource resource = loadResource(resourceId);
+
+        authorizationService.checkPermission(
+                userId,
+                resourceId,
+                "RESOURCE_DELETE"
+        );
+
+        // Affectations du sous-arbre ignorées dès le tombstone : index des utilisateurs à recompiler
+        List<UUID> affectedUsers = urrRepository.findUserIdsInSubtree(resourceId);
+        authorizationService.invalidateResources(subtreeIds(resourceId));
+        int tombstoned = resourceRepository.tombstoneSubtree(resourceId, Instant.now());
+        affectedUsers.forEach(authorizationService::invalidateUser);
+        recordChanges(resource.getTenant().getId(), ResourceChange.DELETE, List.of(resource));
+        // Les ressources sortent des compteurs dès maintenant, les affectations à la purge
+        tenantStatsService.resourcesRemoved(resource.getTenant().getId(), tombstoned);
+
+        ResourceDeletionJob job = new ResourceDeletionJob();
+        job.setId(UUID.randomUUID());
+        job.setTenantId(resource.getTenant().getId());
+        job.setRootResourceId(resourceId);
+        job.setRequestedBy(userId);
+        job.setTotalCount(tombstoned);
+        deletionJobRepository.save(job);
+
+        auditLogService.log(
+                resource.getTenant(),
+                null,
+                resource,
+                "DELETE_RESOURCE",
+                "RESOURCE",
+                resourceId,
+                "SUCCESS",
+                "Resource deletion scheduled (" + tombstoned + " resources)",
+                null,
+                null
+        );
+
+        deletionWorker.submitAfterCommit(job.getId());
+        return ResourceDeletionJobResponse.fromEntity(job);
+    }
+
+    /**
+     * Progress of an asynchronous deletion, for its requester or a super admin.
+     */
+    @Transactional(readOnly = true)
+    public ResourceDeletionJobResponse getDeletionJob(
+            UUID userId,
+            UUID jobId
+    ) {
+        ResourceDeletionJob job = deletionJobRepository.findById(jobId)
+                .orElseThrow(() ->
+                        new IllegalStateException("Deletion job not found: " + jobId)
+                );
+
+        if (!userId.equals(job.getRequestedBy())
+                && !authorizationService.isSuperAdmin(userId)) {
+            throw new AccessDeniedException("RESOURCE_DELETE");
+        }
+        return ResourceDeletionJobResponse.fromEntity(job);
+    }
+
     /* =========================================================
        MOVE RESOURCE
        ========================================================= */
@@ -166,13 +920,41 @@ public class ResourceService {
                 "RESOURCE_MOVE"
         );
 
+        // A node cannot become a child of itself or of one of its descendants.
+        // Descendants share the node's path prefix; the closure only confirms
+        // (same-named siblings share a path too).
+        String oldPath = resource.getPath();
+        if (isWithinPath(newParent.getPath(), oldPath)
+                && closureRepository.isAncestorOrSelf(resourceId, newParentId)) {
+            throw new IllegalArgumentException("Cannot move a resource under itself or one of its descendants");
+        }
+
+        String newPath = ResourceFactory.childPath(newParent.getPath(), resource.getName());
+
         resource.setParent(newParent);
-        resource.setPath(
-                newParent.getPath() + "/" + resource.getName()
-        );
+        resource.setPath(newPath);
 
         resourceRepository.save(resource);
 
+        // Whole subtree rewritten in one statement: "/old/x/y" -> "/new/x/y"
+        if (oldPath != null) {
+            String oldPrefix = stripTrailingSlash(oldPath);
+            resourceRepository.replaceDescendantPathPrefix(
+                    resource.getTenant().getId(),
+                    resourceId,
+                    escapeLike(oldPrefix) + "/%",
+                    oldPrefix.length() + 1,
+                    stripTrailingSlash(newPath)
+            );
+        }
+
+        // Cached decisions below the moved node were inherited from the old ancestors
+        authorizationService.invalidateResources(subtreeIds(resourceId));
+
+        closureRepository.detachSubtree(resourceId);
+        closureRepository.attachSubtree(resourceId, newParentId);
+        recordChanges(resource.getTenant().getId(), ResourceChange.MOVE, List.of(resource));
+
         auditLogService.log(
                 resource.getTenant(),
                 null,
@@ -190,8 +972,59 @@ public class ResourceService {
     /* =========================================================
        UTIL
        ========================================================= */
+    // Bumps the tenant version and logs one event per resource under the new version
+    private void recordChanges(UUID tenantId, String event, List<Resource> resources) {
+        tenantRepository.incrementStructureVersion(tenantId);
+        long version = structureVersion(tenantId);
+        changeLog.append(
+                tenantId,
+                resources.stream()
+                        .map(resource -> ResourceChange.DELETE.equals(event)
+                                ? ResourceChange.deleted(version, resource.getId())
+                                : ResourceChange.of(version, event, resource))
+                        .toList()
+        );
+    }
+
+    private long structureVersion(UUID tenantId) {
+        Long version = tenantRepository.findStructureVersion(tenantId);
+        return version != null ? version : 0L;
+    }
+
+    // Weak: the bytes are equivalent for a version, not guaranteed identical
+    private static String etag(String scope, UUID id, long version) {
+        return "W/\"" + scope + "-" + id + "-" + version + "\"";
+    }
+
+    private List<UUID> subtreeIds(UUID resourceId) {
+        List<UUID> ids = closureRepository.findDescendantIds(resourceId);
+        return ids.isEmpty() ? List.of(resourceId) : ids;
+    }
+
+    // True when path is ancestorPath itself or lies below it ("/" contains everything)
+    private static boolean isWithinPath(String path, String ancestorPath) {
+        if (path == null || ancestorPath == null) {
+            return true; // unknown paths: let the closure decide
+        }
+        String prefix = stripTrailingSlash(ancestorPath);
+        return path.equals(ancestorPath) || path.startsWith(prefix + "/");
+    }
+
+    private static String stripTrailingSlash(String path) {
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private static String escapeLike(String value) {
+        return value
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    // Tombstoned resources (pending purge) are treated as already gone
     private Resource loadResource(UUID resourceId) {
         return resourceRepository.findById(resourceId)
+                .filter(resource -> resource.getDeletedAt() == null)
                 .orElseThrow(() ->
                         new IllegalStateException("Resource not found: " + resourceId)
                 );
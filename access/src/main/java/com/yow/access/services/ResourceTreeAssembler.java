@@ -0,0 +1,76 @@
+package com.yow.access.services;
+
+import com.yow.access.dto.ResourceTreeResponse;
+
+import java.util.*;
+
+/**
+ * Builds {@link ResourceTreeResponse} trees in memory from flat
+ * (id, parent_id, name, type) rows loaded in a single query.
+ * Rows are indexed once by parent id, so assembling n nodes is O(n);
+ * children keep the order of the rows.
+ */
+final class ResourceTreeAssembler {
+
+    private final Map<UUID, Object[]> rowsById = new HashMap<>();
+    private final Map<UUID, List<Object[]>> childrenByParent = new HashMap<>();
+
+    ResourceTreeAssembler(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            UUID id = (UUID) row[0];
+            if (rowsById.putIfAbsent(id, row) != null) {
+                continue; // same node reached twice (cycle in parent_id)
+            }
+            UUID parentId = (UUID) row[1];
+            if (parentId != null) {
+                childrenByParent.computeIfAbsent(parentId, p -> new ArrayList<>()).add(row);
+            }
+        }
+    }
+
+    /**
+     * Tree rooted at {@code rootId}, pruned with the same rule as the
+     * permission walk: a node is granted when its parent is, or when a binding
+     * on the node grants the permission. Nodes that are not granted stay only as
+     * connectors to granted descendants, redacted to their id. Null when nothing
+     * is granted.
+     */
+    ResourceTreeResponse build(UUID rootId, SubtreeAccess access) {
+        Object[] root = rowsById.get(rootId);
+        if (root == null || !access.anyGranted()) {
+            return null;
+        }
+        return build(root, access, access.rootGranted(), new HashSet<>());
+    }
+
+    private ResourceTreeResponse build(
+            Object[] row,
+            SubtreeAccess access,
+            boolean granted,
+            Set<UUID> visited
+    ) {
+        UUID id = (UUID) row[0];
+        if (!visited.add(id)) {
+            return null;
+        }
+
+        // Connecteur : ni nom ni type
+        ResourceTreeResponse node = granted
+                ? ResourceTreeResponse.of(id, (String) row[2], (String) row[3])
+                : ResourceTreeResponse.connector(id);
+
+        for (Object[] child : childrenByParent.getOrDefault(id, List.of())) {
+            ResourceTreeResponse childNode = build(
+                    child,
+                    access,
+                    access.grantedAt((UUID) child[0], granted),
+                    visited
+            );
+            if (childNode != null) {
+                node.addChild(childNode);
+            }
+        }
+
+        return granted || !node.getChildren().isEmpty() ? node : null;
+    }
+}
@@ -0,0 +1,74 @@
+package com.yow.access.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Serialized JSON of unpruned resource trees, keyed by (scope, structure version).
+ * The tenant's structure version changes with every create, move or delete,
+ * so an entry never needs invalidation: older versions are simply no longer
+ * asked for and expire. Bounded by total size in bytes; published as
+ * {@code resources.tree} cache metrics. A maximum size of 0 disables caching.
+ */
+@Component
+public class ResourceTreeCache implements MeterBinder {
+
+    /** scope is a root resource id, or a tenant id for the tenant listing. */
+    record Key(UUID scope, boolean tenantScope, long version) {}
+
+    private final Cache<Key, byte[]> trees;
+    private final ObjectMapper objectMapper;
+
+    public ResourceTreeCache(
+            @Value("${resources.tree-cache.max-bytes:67108864}") long maximumBytes,
+            @Value("${resources.tree-cache.ttl:PT10M}") Duration ttl,
+            ObjectMapper objectMapper
+    ) {
+        this.trees = maximumBytes > 0
+                ? Caffeine.newBuilder()
+                        .maximumWeight(maximumBytes)
+                        .weigher((Key key, byte[] json) -> json.length)
+                        .expireAfterAccess(ttl)
+                        .recordStats()
+                        .build()
+                : null;
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] getTree(UUID rootId, long version, Supplier<Object> loader) {
+        return get(new Key(rootId, false, version), loader);
+    }
+
+    public byte[] getTenantTrees(UUID tenantId, long version, Supplier<Object> loader) {
+        return get(new Key(tenantId, true, version), loader);
+    }
+
+    /** Serializes without caching, for views that depend on the caller. */
+    public byte[] serialize(Object tree) {
+        return objectMapper.writeValueAsBytes(tree);
+    }
+
+    private byte[] get(Key key, Supplier<Object> loader) {
+        if (trees == null) {
+            return serialize(loader.get());
+        }
+        return trees.get(key, k -> serialize(loader.get()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (trees != null) {
+            CaffeineCacheMetrics.monitor(registry, trees, "resources.tree");
+        }
+    }
+}
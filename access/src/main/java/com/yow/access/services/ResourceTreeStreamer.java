@@ -0,0 +1,135 @@
+package com.yow.access.services;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.util.UUID;
+
+/**
+ * Writes a resource subtree as JSON straight from a JDBC cursor, without
+ * materializing it: same shape as {@link com.yow.access.dto.ResourceTreeResponse}
+ * (id, name, type, children), siblings sorted by (name, id).
+ *
+ * Rows come in depth-first order, so only the chain of currently open nodes
+ * is kept: memory is O(depth) whatever the size of the tree.
+ */
+@Component
+public class ResourceTreeStreamer {
+
+    static final int FETCH_SIZE = 500;
+
+    // Pré-ordre en profondeur : sort_key concatène le rang (name, id) de chaque
+    // ancêtre sur 10 chiffres, donc l'ordre lexicographique est celui du parcours
+    // quelle que soit la collation. SQL standard : identique sur PostgreSQL et H2.
+    private static final String DEPTH_FIRST_ROWS = """
+        WITH RECURSIVE ranked (id, parent_id, name, type, rn) AS (
+            SELECT id, parent_id, name, type,
+                   ROW_NUMBER() OVER (PARTITION BY parent_id ORDER BY name, id)
+            FROM resource
+            WHERE tenant_id = (SELECT tenant_id FROM resource WHERE id = ?)
+              AND deleted_at IS NULL
+        ),
+        tree (id, name, type, depth, sort_key) AS (
+            SELECT id, name, type, 0, CAST('' AS VARCHAR(10000))
+            FROM ranked
+            WHERE id = ?
+            UNION ALL
+            SELECT r.id, r.name, r.type, t.depth + 1,
+                   CAST(t.sort_key || LPAD(CAST(r.rn AS VARCHAR(10)), 10, '0') AS VARCHAR(10000))
+            FROM ranked r
+            JOIN tree t ON r.parent_id = t.id
+            WHERE t.depth < 999
+        )
+        SELECT id, name, type, depth
+        FROM tree
+        ORDER BY sort_key
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public ResourceTreeStreamer(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper
+    ) {
+        // Dedicated template: the PostgreSQL driver only streams with a fetch size
+        // inside a transaction, otherwise it buffers the whole result set
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Streams the subtree rooted at {@code rootId}; the caller checks access.
+     * Runs in its own read-only transaction, since the response is written
+     * after the request thread has returned.
+     */
+    public void write(UUID rootId, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            JsonGenerator generator = objectMapper.createGenerator(out);
+            DepthFirstWriter writer = new DepthFirstWriter(generator);
+
+            jdbcTemplate.query(
+                    DEPTH_FIRST_ROWS,
+                    rs -> {
+                        writer.node(
+                                rs.getObject("id", UUID.class),
+                                rs.getString("name"),
+                                rs.getString("type"),
+                                rs.getInt("depth")
+                        );
+                    },
+                    rootId,
+                    rootId
+            );
+
+            writer.closeDownTo(0);
+            generator.flush();
+        });
+    }
+
+    /**
+     * Keeps one JSON object (and its children array) open per level of the
+     * current branch; a row at depth d first closes every open node at depth >= d.
+     */
+    static final class DepthFirstWriter {
+
+        private final JsonGenerator generator;
+        private int open;
+
+        DepthFirstWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        void node(UUID id, String name, String type, int depth) {
+            closeDownTo(depth);
+
+            generator.writeStartObject();
+            generator.writeStringProperty("id", id.toString());
+            generator.writeStringProperty("name", name);
+            generator.writeStringProperty("type", type);
+            generator.writeBooleanProperty("readable", true); // même forme que ResourceTreeResponse
+            generator.writeName("children");
+            generator.writeStartArray();
+            open++;
+        }
+
+        void closeDownTo(int depth) {
+            while (open > depth) {
+                generator.writeEndArray();
+                generator.writeEndObject();
+                open--;
+            }
+        }
+    }
+}
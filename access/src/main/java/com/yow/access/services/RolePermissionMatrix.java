@@ -0,0 +1,229 @@
+package com.yow.access.services;
+
+import com.yow.access.entities.Permission;
+import com.yow.access.entities.Role;
+import com.yow.access.repositories.PermissionRepository;
+import com.yow.access.repositories.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiled role → permission bitset matrix.
+ * Each known permission gets a dense bit index; each role is reduced to a
+ * {@code long[]} mask, so "does this role grant P" is a single bitwise AND.
+ * Built from the role_permission table at startup and rebuilt when roles change.
+ */
+@Component
+public class RolePermissionMatrix {
+
+    private static final Logger log = LoggerFactory.getLogger(RolePermissionMatrix.class);
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final RoleRepository roleRepository;
+    private final PermissionRepository permissionRepository;
+
+    private volatile Snapshot snapshot;
+
+    public RolePermissionMatrix(
+            RoleRepository roleRepository,
+            PermissionRepository permissionRepository
+    ) {
+        this.roleRepository = roleRepository;
+        this.permissionRepository = permissionRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Current matrix, built on first access if startup has not happened yet.
+     */
+    public Snapshot current() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                s = snapshot;
+            }
+        }
+        return s;
+    }
+
+    /**
+     * Reloads roles, permissions and the role_permission pairs from the database.
+     */
+    public synchronized void rebuild() {
+        Map<Short, String> permissionNames = new HashMap<>();
+        for (Permission p : permissionRepository.findAll()) {
+            permissionNames.put(p.getId(), p.getName());
+        }
+
+        Map<Short, String> roles = new HashMap<>();
+        for (Object[] row : roleRepository.findAllRoleHeaders()) {
+            roles.put(((Number) row[0]).shortValue(), (String) row[1]);
+        }
+
+        Map<Short, List<Short>> grants = new HashMap<>();
+        for (Object[] row : roleRepository.findAllRolePermissionPairs()) {
+            grants.computeIfAbsent(((Number) row[0]).shortValue(), id -> new ArrayList<>())
+                    .add(((Number) row[1]).shortValue());
+        }
+
+        snapshot = Snapshot.build(permissionNames, roles, grants);
+        log.debug("Matrice rôles/permissions compilée: {} rôles, {} permissions (v{})",
+                roles.size(), permissionNames.size(), snapshot.version());
+    }
+
+    /**
+     * Compiles the matrix from already loaded role entities.
+     */
+    public synchronized void rebuild(Collection<Role> roleEntities) {
+        Map<Short, String> permissionNames = new HashMap<>();
+        Map<Short, String> roles = new HashMap<>();
+        Map<Short, List<Short>> grants = new HashMap<>();
+
+        for (Role role : roleEntities) {
+            roles.put(role.getId(), role.getName());
+            List<Short> granted = grants.computeIfAbsent(role.getId(), id -> new ArrayList<>());
+            for (Permission p : role.getPermissions()) {
+                permissionNames.put(p.getId(), p.getName());
+                granted.add(p.getId());
+            }
+        }
+
+        snapshot = Snapshot.build(permissionNames, roles, grants);
+    }
+
+    /**
+     * Immutable compiled state. A new instance is published on every rebuild,
+     * so holders can detect staleness by identity.
+     */
+    public static final class Snapshot {
+
+        private static final long[] NO_BITS = new long[0];
+
+        private final long version;
+        private final Map<String, Integer> bitByName;
+        private final String[] nameByBit;
+        private final Map<Short, long[]> maskByRole;
+        private final Map<Short, String> roleNames;
+        private final int words;
+
+        private Snapshot(
+                Map<String, Integer> bitByName,
+                String[] nameByBit,
+                Map<Short, long[]> maskByRole,
+                Map<Short, String> roleNames
+        ) {
+            this.version = VERSIONS.incrementAndGet();
+            this.bitByName = bitByName;
+            this.nameByBit = nameByBit;
+            this.maskByRole = maskByRole;
+            this.roleNames = roleNames;
+            this.words = (nameByBit.length + 63) >>> 6;
+        }
+
+        static Snapshot build(
+                Map<Short, String> permissionNames,
+                Map<Short, String> roles,
+                Map<Short, List<Short>> grants
+        ) {
+            // Dense bit positions, ordered by permission id for stable masks
+            List<Short> permissionIds = new ArrayList<>(permissionNames.keySet());
+            Collections.sort(permissionIds);
+
+            Map<Short, Integer> bitById = new HashMap<>();
+            Map<String, Integer> bitByName = new HashMap<>();
+            String[] nameByBit = new String[permissionIds.size()];
+            for (int bit = 0; bit < permissionIds.size(); bit++) {
+                Short id = permissionIds.get(bit);
+                bitById.put(id, bit);
+                bitByName.put(permissionNames.get(id), bit);
+                nameByBit[bit] = permissionNames.get(id);
+            }
+
+            int words = (nameByBit.length + 63) >>> 6;
+            Map<Short, long[]> maskByRole = new HashMap<>();
+            Map<Short, String> roleNames = new HashMap<>();
+
+            for (Map.Entry<Short, String> role : roles.entrySet()) {
+                long[] mask = new long[words];
+                for (Short permissionId : grants.getOrDefault(role.getKey(), List.of())) {
+                    Integer bit = bitById.get(permissionId);
+                    if (bit != null) {
+                        mask[bit >>> 6] |= 1L << bit;
+                    }
+                }
+                maskByRole.put(role.getKey(), mask);
+                roleNames.put(role.getKey(), role.getValue());
+            }
+
+            return new Snapshot(bitByName, nameByBit, maskByRole, roleNames);
+        }
+
+        public long version() {
+            return version;
+        }
+
+        /** Bit index of a permission, or -1 when no role can grant it. */
+        public int bitOf(String permissionName) {
+            if (permissionName == null) {
+                return -1;
+            }
+            Integer bit = bitByName.get(permissionName);
+            return bit != null ? bit : -1;
+        }
+
+        /** Mask of a role; empty (all zero) for unknown roles. Never mutate. */
+        public long[] maskOf(Short roleId) {
+            long[] mask = maskByRole.get(roleId);
+            return mask != null ? mask : NO_BITS;
+        }
+
+        public String roleName(Short roleId) {
+            return roleNames.get(roleId);
+        }
+
+        /** A zeroed mask sized for this matrix. */
+        public long[] newMask() {
+            return new long[words];
+        }
+
+        /** ORs {@code from} into {@code into}. */
+        public static void or(long[] into, long[] from) {
+            for (int i = 0; i < from.length && i < into.length; i++) {
+                into[i] |= from[i];
+            }
+        }
+
+        /** True when the bit is set in the mask. */
+        public static boolean test(long[] mask, int bit) {
+            int word = bit >>> 6;
+            return bit >= 0 && word < mask.length && (mask[word] & (1L << bit)) != 0;
+        }
+
+        /** Permission names whose bits are set in the mask. */
+        public Set<String> namesOf(long[] mask) {
+            Set<String> names = new HashSet<>();
+            for (int word = 0; word < mask.length; word++) {
+                long bits = mask[word];
+                while (bits != 0) {
+                    int bit = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    names.add(nameByBit[bit]);
+                    bits &= bits - 1;
+                }
+            }
+            return names;
+        }
+    }
+}
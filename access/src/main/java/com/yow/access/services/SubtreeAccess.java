@@ -0,0 +1,58 @@
+package com.yow.access.services;
+
+import java.util.UUID;
+
+/**
+ * Top-down evaluation of one permission over a subtree.
+ * The subtree root's state already includes every ancestor above it; each
+ * descendant is then granted by its parent's state or by a binding on itself,
+ * so a whole tree is decided in a single pass with one lookup per node.
+ */
+public final class SubtreeAccess {
+
+    private static final SubtreeAccess FULL = new SubtreeAccess(null, -1, true, true);
+    private static final SubtreeAccess NONE = new SubtreeAccess(null, -1, false, false);
+
+    private final CompiledUserPermissions compiled;
+    private final int permissionBit;
+    private final boolean rootGranted;
+    private final boolean grantedBelow;
+
+    SubtreeAccess(
+            CompiledUserPermissions compiled,
+            int permissionBit,
+            boolean rootGranted,
+            boolean grantedBelow
+    ) {
+        this.compiled = compiled;
+        this.permissionBit = permissionBit;
+        this.rootGranted = rootGranted;
+        this.grantedBelow = grantedBelow;
+    }
+
+    /** Everything under the root is granted (inherited grant or ADMIN). */
+    static SubtreeAccess full() {
+        return FULL;
+    }
+
+    /** Nothing under the root can be granted. */
+    static SubtreeAccess none() {
+        return NONE;
+    }
+
+    /** True when the root itself is granted, directly or through an ancestor. */
+    public boolean rootGranted() {
+        return rootGranted;
+    }
+
+    /** False when no node of the subtree can be granted; the walk can stop early. */
+    public boolean anyGranted() {
+        return rootGranted || grantedBelow;
+    }
+
+    /** State of a node from its parent's state and its own bindings. */
+    public boolean grantedAt(UUID resourceId, boolean parentGranted) {
+        return parentGranted
+                || (compiled != null && compiled.grants(resourceId, permissionBit));
+    }
+}
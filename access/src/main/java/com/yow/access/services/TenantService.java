@@ -19,6 +19,9 @@ public class TenantService {
     private final RoleRepository roleRepository;
     private final UserRoleResourceRepository urrRepository;
     private final AuditLogService auditLogService;
+    private final AuthorizationService authorizationService;
+    private final ResourceClosureRepository closureRepository;
+    private final TenantStatsService tenantStatsService;
 
     public TenantService(
             TenantRepository tenantRepository,
@@ -26,7 +29,10 @@ public class TenantService {
             UserRepository userRepository,
             RoleRepository roleRepository,
             UserRoleResourceRepository urrRepository,
-            AuditLogService auditLogService
+            AuditLogService auditLogService,
+            AuthorizationService authorizationService,
+            ResourceClosureRepository closureRepository,
+            TenantStatsService tenantStatsService
     ) {
         this.tenantRepository = tenantRepository;
         this.resourceRepository = resourceRepository;
@@ -34,6 +40,9 @@ public class TenantService {
         this.roleRepository = roleRepository;
         this.urrRepository = urrRepository;
         this.auditLogService = auditLogService;
+        this.authorizationService = authorizationService;
+        this.closureRepository = closureRepository;
+        this.tenantStatsService = tenantStatsService;
     }
 
     /* ============================
@@ -74,7 +83,9 @@ public class TenantService {
 
         Resource root =
                 ResourceFactory.createRootResource(tenant, name);
-        resourceRepository.save(root);
+        resourceRepository.saveAndFlush(root);
+        closureRepository.insertSelfLink(root.getId());
+        tenantStatsService.resourcesAdded(tenant.getId(), 1);
 
         Role adminRole =
                 roleRepository.findByName("TENANT_ADMIN")
@@ -83,6 +94,8 @@ public class TenantService {
         UserRoleResource urr =
                 UserRoleResourceFactory.create(creator, adminRole, root);
         urrRepository.save(urr);
+        tenantStatsService.bindingAdded(tenant.getId(), creatorUserId);
+        authorizationService.invalidateUser(creatorUserId);
 
         auditLogService.log(
                 tenant,
@@ -0,0 +1,132 @@
+package com.yow.access.services;
+
+import com.yow.access.dto.TenantStatsResponse;
+import com.yow.access.repositories.TenantRepository;
+import com.yow.access.repositories.UserRoleResourceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Denormalized per-tenant counters (live resources, distinct users, role
+ * bindings) stored on the tenant row. Writers adjust them in their own
+ * transaction, after the change; a periodic reconciliation corrects any
+ * drift (tenants created outside the services, failed or concurrent updates).
+ */
+@Service
+public class TenantStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantStatsService.class);
+
+    private final TenantRepository tenantRepository;
+    private final UserRoleResourceRepository urrRepository;
+    private final TransactionTemplate transaction;
+
+    public TenantStatsService(
+            TenantRepository tenantRepository,
+            UserRoleResourceRepository urrRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.tenantRepository = tenantRepository;
+        this.urrRepository = urrRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /* ===== LECTURE ===== */
+
+    /** One primary-key lookup; zeros for an unknown tenant. */
+    @Transactional(readOnly = true)
+    public TenantStatsResponse getStats(UUID tenantId) {
+        List<Object[]> rows = tenantRepository.findStats(tenantId);
+        if (rows.isEmpty()) {
+            return new TenantStatsResponse(0, 0, 0);
+        }
+        long[] stats = toLongs(rows.get(0));
+        return new TenantStatsResponse(stats[1], stats[0], stats[2]);
+    }
+
+    /* ===== MISES À JOUR INCRÉMENTALES ===== */
+
+    public void resourcesAdded(UUID tenantId, long count) {
+        tenantRepository.adjustStats(tenantId, count, 0, 0);
+    }
+
+    public void resourcesRemoved(UUID tenantId, long count) {
+        tenantRepository.adjustStats(tenantId, -count, 0, 0);
+    }
+
+    /** After the binding was saved: the user is new to the tenant when it is their only one. */
+    public void bindingAdded(UUID tenantId, UUID userId) {
+        boolean newUser = urrRepository.countByUserIdAndTenantId(userId, tenantId) == 1;
+        tenantRepository.adjustStats(tenantId, 0, newUser ? 1 : 0, 1);
+    }
+
+    /** After the binding was deleted: the user leaves the tenant with their last one. */
+    public void bindingRemoved(UUID tenantId, UUID userId) {
+        boolean lastBinding = urrRepository.countByUserIdAndTenantId(userId, tenantId) == 0;
+        tenantRepository.adjustStats(tenantId, 0, lastBinding ? -1 : 0, -1);
+    }
+
+    /** After a batch of bindings held by {@code userIds} was deleted. */
+    public void bindingsRemoved(UUID tenantId, long count, Collection<UUID> userIds) {
+        if (count == 0) {
+            return;
+        }
+        long remaining = userIds.isEmpty() ? 0 : urrRepository.countUsersInTenant(userIds, tenantId);
+        tenantRepository.adjustStats(tenantId, 0, remaining - userIds.size(), -count);
+    }
+
+    /* ===== RECALAGE ===== */
+
+    @Scheduled(cron = "${tenants.stats.reconcile-cron:0 30 3 * * *}")
+    public void reconcileAll() {
+        int corrected = 0;
+        for (UUID tenantId : tenantRepository.findAllIds()) {
+            if (Boolean.TRUE.equals(transaction.execute(status -> reconcile(tenantId)))) {
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            log.warn("Compteurs de tenant recalés : {} tenant(s) en écart", corrected);
+        }
+    }
+
+    /**
+     * Recomputes one tenant's counters, one short transaction per tenant. The
+     * row is locked before counting, so an increment committed meanwhile is
+     * either counted or applied after the reset, never lost.
+     */
+    boolean reconcile(UUID tenantId) {
+        List<Object[]> stored = tenantRepository.lockStats(tenantId);
+        if (stored.isEmpty()) {
+            return false; // tenant supprimé entre-temps
+        }
+        long[] before = toLongs(stored.get(0));
+        long[] actual = toLongs(tenantRepository.countStats(tenantId).get(0));
+
+        if (before[0] == actual[0] && before[1] == actual[1] && before[2] == actual[2]) {
+            return false;
+        }
+        log.debug("Écart sur le tenant {} : {}/{}/{} -> {}/{}/{}", tenantId,
+                before[0], before[1], before[2], actual[0], actual[1], actual[2]);
+        tenantRepository.setStats(tenantId, actual[0], actual[1], actual[2]);
+        return true;
+    }
+
+    // (resource_count, user_count, binding_count)
+    private static long[] toLongs(Object[] row) {
+        return new long[] {
+                ((Number) row[0]).longValue(),
+                ((Number) row[1]).longValue(),
+                ((Number) row[2]).longValue()
+        };
+    }
+}
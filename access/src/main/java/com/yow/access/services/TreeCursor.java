@@ -0,0 +1,40 @@
+package com.yow.access.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position (name, id) of the last child returned, opaque to clients:
+ * base64url of "&lt;id&gt;:&lt;name&gt;".
+ */
+record TreeCursor(String name, UUID id) {
+
+    private static final int UUID_LENGTH = 36;
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((id + ":" + name).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Null for a missing cursor (first page).
+     */
+    static TreeCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (raw.length() <= UUID_LENGTH || raw.charAt(UUID_LENGTH) != ':') {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TreeCursor(
+                    raw.substring(UUID_LENGTH + 1),
+                    UUID.fromString(raw.substring(0, UUID_LENGTH))
+            );
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -17,6 +17,7 @@ public class UserService {
     private final UserRoleResourceRepository urrRepository;
     private final AuthorizationService authorizationService;
     private final AuditLogService auditLogService;
+    private final TenantStatsService tenantStatsService;
     private final org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
 
     public UserService(
@@ -26,7 +27,8 @@ public class UserService {
             UserRoleResourceRepository urrRepository,
             AuthorizationService authorizationService,
             AuditLogService auditLogService,
-            org.springframework.security.crypto.password.PasswordEncoder passwordEncoder
+            org.springframework.security.crypto.password.PasswordEncoder passwordEncoder,
+            TenantStatsService tenantStatsService
     ) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
@@ -35,6 +37,7 @@ public class UserService {
         this.authorizationService = authorizationService;
         this.auditLogService = auditLogService;
         this.passwordEncoder = passwordEncoder;
+        this.tenantStatsService = tenantStatsService;
     }
 
     /* ============================
@@ -99,6 +102,11 @@ public class UserService {
             Role role = roleRepository.findById(roleId)
                     .orElseThrow(() -> new IllegalStateException("Role not found"));
 
+            // Réaffecter un rôle existant ne crée pas de nouvelle ligne
+            boolean alreadyAssigned = urrRepository
+                    .findByUserIdAndRoleIdAndResourceId(targetUserId, roleId, resourceId)
+                    .isPresent();
+
             UserRoleResource urr =
                     UserRoleResourceFactory.create(
                             targetUser,
@@ -107,6 +115,10 @@ public class UserService {
                     );
 
             urrRepository.save(urr);
+            if (!alreadyAssigned) {
+                tenantStatsService.bindingAdded(resource.getTenant().getId(), targetUserId);
+            }
+            authorizationService.invalidateUser(targetUserId);
 
             auditLogService.log(
                     resource.getTenant(),
@@ -174,6 +186,8 @@ public class UserService {
                             );
 
             urrRepository.delete(urr);
+            tenantStatsService.bindingRemoved(resource.getTenant().getId(), targetUserId);
+            authorizationService.invalidateUser(targetUserId);
 
             auditLogService.log(
                     resource.getTenant(),
@@ -0,0 +1,134 @@
+package com.yow.access.config.security;
+
+import com.yow.access.entities.AppUser;
+import com.yow.access.services.AuthorizationService;
+import com.yow.access.services.AuthorizationTracer;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests pour AuthorizationTraceFilter
+ * L'en-tête X-Authz-Trace n'active la trace que pour les ADMIN et les utilisateurs tracés
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthorizationTraceFilter Tests")
+class AuthorizationTraceFilterTest {
+
+    @Mock
+    private AuthorizationService authorizationService;
+
+    private AuthorizationTracer tracer;
+    private AuthorizationTraceFilter filter;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        tracer = new AuthorizationTracer(100);
+        filter = new AuthorizationTraceFilter(tracer, authorizationService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void authenticate(UUID id) {
+        AppUser user = new AppUser();
+        user.setId(id);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private MockHttpServletRequest tracedRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/resources");
+        request.addHeader(AuthorizationTracer.HEADER, "true");
+        return request;
+    }
+
+    // Trace id vu par une décision prise pendant la requête
+    private String traceIdDuring(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        FilterChain chain = (req, res) -> seen.set(tracer.traceIdFor(userId));
+        filter.doFilter(request, response, chain);
+        return seen.get();
+    }
+
+    @Test
+    @DisplayName("✅ ADMIN : requête tracée, trace id renvoyé")
+    void header_SuperAdmin_Traced() throws Exception {
+        // Arrange
+        authenticate(userId);
+        when(authorizationService.isSuperAdmin(userId)).thenReturn(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        String traceId = traceIdDuring(tracedRequest(), response);
+
+        // Assert
+        assertNotNull(traceId);
+        assertEquals(traceId, response.getHeader(AuthorizationTracer.TRACE_ID_HEADER));
+        assertNull(tracer.traceIdFor(userId)); // trace terminée avec la requête
+    }
+
+    @Test
+    @DisplayName("✅ Utilisateur activé via /api/authz/traces/users : en-tête honoré")
+    void header_EnabledUser_Traced() throws Exception {
+        // Arrange
+        authenticate(userId);
+        tracer.enableUser(userId);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        traceIdDuring(tracedRequest(), response);
+
+        // Assert
+        assertNotNull(response.getHeader(AuthorizationTracer.TRACE_ID_HEADER));
+        verifyNoInteractions(authorizationService);
+    }
+
+    @Test
+    @DisplayName("❌ Non-admin : en-tête ignoré")
+    void header_NonAdmin_Ignored() throws Exception {
+        // Arrange
+        authenticate(userId);
+        when(authorizationService.isSuperAdmin(userId)).thenReturn(false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        String traceId = traceIdDuring(tracedRequest(), response);
+
+        // Assert
+        assertNull(traceId);
+        assertNull(response.getHeader(AuthorizationTracer.TRACE_ID_HEADER));
+    }
+
+    @Test
+    @DisplayName("❌ Anonyme : en-tête ignoré")
+    void header_Anonymous_Ignored() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        String traceId = traceIdDuring(tracedRequest(), response);
+
+        // Assert
+        assertNull(traceId);
+        assertNull(response.getHeader(AuthorizationTracer.TRACE_ID_HEADER));
+        verifyNoInteractions(authorizationService);
+    }
+}
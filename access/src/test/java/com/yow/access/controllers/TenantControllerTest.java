@@ -7,10 +7,9 @@ import com.yow.access.dto.CreateTenantRequest;
 import com.yow.access.dto.TenantResponse;
 import com.yow.access.dto.TenantStatsResponse;
 import com.yow.access.entities.Tenant;
-import com.yow.access.repositories.ResourceRepository;
-import com.yow.access.repositories.UserRoleResourceRepository;
 import com.yow.access.services.AuthorizationService;
 import com.yow.access.services.TenantService;
+import com.yow.access.services.TenantStatsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -45,10 +44,7 @@ class TenantControllerTest {
     private AuthenticatedUserContext userContext;
 
     @Mock
-    private ResourceRepository resourceRepository;
-
-    @Mock
-    private UserRoleResourceRepository urrRepository;
+    private TenantStatsService tenantStatsService;
 
     @InjectMocks
     private TenantController tenantController;
@@ -246,10 +242,10 @@ class TenantControllerTest {
         long resourceCount = 42L;
 
         // getTenantStats() n'utilise PAS userContext, authorizationService, ni tenantService
-        // Il utilise SEULEMENT urrRepository et resourceRepository
+        // Il lit SEULEMENT les compteurs de TenantStatsService
 
-        when(urrRepository.countDistinctUsersByTenantId(tenantId)).thenReturn(userCount);
-        when(resourceRepository.countByTenantId(tenantId)).thenReturn(resourceCount);
+        when(tenantStatsService.getStats(tenantId))
+                .thenReturn(new TenantStatsResponse(userCount, resourceCount, 20L));
 
         // When
         ResponseEntity<TenantStatsResponse> response = tenantController.getTenantStats(tenantId);
@@ -259,9 +255,9 @@ class TenantControllerTest {
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getUserCount()).isEqualTo(userCount);
         assertThat(response.getBody().getResourceCount()).isEqualTo(resourceCount);
+        assertThat(response.getBody().getBindingCount()).isEqualTo(20L);
 
-        verify(urrRepository).countDistinctUsersByTenantId(tenantId);
-        verify(resourceRepository).countByTenantId(tenantId);
+        verify(tenantStatsService).getStats(tenantId);
 
         // Vérifier que les autres dépendances ne sont PAS appelées
         verify(userContext, never()).getUserId();
@@ -279,8 +275,8 @@ class TenantControllerTest {
 
         // getTenantStats() n'utilise PAS userContext
 
-        when(urrRepository.countDistinctUsersByTenantId(nonExistentId)).thenReturn(0L);
-        when(resourceRepository.countByTenantId(nonExistentId)).thenReturn(0L);
+        when(tenantStatsService.getStats(nonExistentId))
+                .thenReturn(new TenantStatsResponse(0L, 0L, 0L));
 
         // When
         ResponseEntity<TenantStatsResponse> response = tenantController.getTenantStats(nonExistentId);
@@ -349,11 +345,11 @@ class TenantControllerTest {
         verify(authorizationService).checkPermission(userId, createdTenantId, Permissions.TENANT_READ);
 
         // Reset
-        reset(authorizationService, tenantService, urrRepository, resourceRepository);
+        reset(authorizationService, tenantService, tenantStatsService);
 
         // Étape 3: Voir les stats
-        when(urrRepository.countDistinctUsersByTenantId(createdTenantId)).thenReturn(1L);
-        when(resourceRepository.countByTenantId(createdTenantId)).thenReturn(5L);
+        when(tenantStatsService.getStats(createdTenantId))
+                .thenReturn(new TenantStatsResponse(1L, 5L, 1L));
 
         ResponseEntity<TenantStatsResponse> statsResponse = tenantController.getTenantStats(createdTenantId);
         assertThat(statsResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -472,8 +468,8 @@ class TenantControllerTest {
         assertThat(listResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
 
         // GET /api/tenants/{id}/stats → 200 OK
-        when(urrRepository.countDistinctUsersByTenantId(tenantId)).thenReturn(10L);
-        when(resourceRepository.countByTenantId(tenantId)).thenReturn(20L);
+        when(tenantStatsService.getStats(tenantId))
+                .thenReturn(new TenantStatsResponse(10L, 20L, 12L));
         ResponseEntity<TenantStatsResponse> statsResponse = tenantController.getTenantStats(tenantId);
         assertThat(statsResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
     }
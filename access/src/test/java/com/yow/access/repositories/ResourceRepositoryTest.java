@@ -0,0 +1,168 @@
+package com.yow.access.repositories;
+
+import com.yow.access.entities.Resource;
+import com.yow.access.entities.Tenant;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Requêtes natives de ResourceRepository (CTE récursive) contre la base de test
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Transactional
+public class ResourceRepositoryTest {
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private ResourceClosureRepository closureRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Resource root;
+    private Resource child;
+    private Resource grandChild;
+
+    @BeforeEach
+    void setUp() {
+        Tenant tenant = new Tenant();
+        tenant.setCode("TENANT_CTE");
+        tenant.setName("Tenant CTE");
+        tenant = tenantRepository.save(tenant);
+
+        root = save(tenant, null, "Root", "/");
+        child = save(tenant, root, "Child", "/Child");
+        grandChild = save(tenant, child, "GrandChild", "/Child/GrandChild");
+    }
+
+    @Test
+    void findAncestorChain_shouldReturnWholeChainClosestFirst() {
+        // When
+        List<Object[]> chain = resourceRepository.findAncestorChain(grandChild.getId());
+
+        // Then
+        assertThat(chain).hasSize(3);
+        assertThat(chain.stream().map(row -> (UUID) row[0]).toList())
+                .containsExactly(grandChild.getId(), child.getId(), root.getId());
+        assertThat(chain.get(0)[1]).isEqualTo(child.getId());
+        assertThat(chain.get(2)[1]).isNull();
+        assertThat(((Number) chain.get(2)[2]).intValue()).isEqualTo(2);
+    }
+
+    @Test
+    void findAncestorChain_root_shouldReturnItselfOnly() {
+        // When
+        List<Object[]> chain = resourceRepository.findAncestorChain(root.getId());
+
+        // Then
+        assertThat(chain).hasSize(1);
+        assertThat(chain.get(0)[0]).isEqualTo(root.getId());
+    }
+
+    @Test
+    void findAncestorChain_unknownResource_shouldReturnEmpty() {
+        assertThat(resourceRepository.findAncestorChain(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void replaceDescendantPathPrefix_shouldRewriteSubtreeOnly() {
+        // Given - un homonyme de Child hors du sous-arbre partage le même chemin
+        Tenant tenant = child.getTenant();
+        Resource homonym = save(tenant, root, "Child", "/Child");
+        Resource homonymChild = save(tenant, homonym, "Other", "/Child/Other");
+        for (Resource resource : List.of(root, child, grandChild, homonym, homonymChild)) {
+            if (resource.getParent() == null) {
+                closureRepository.insertSelfLink(resource.getId());
+            } else {
+                closureRepository.insertLinksForChild(resource.getId(), resource.getParent().getId());
+            }
+        }
+
+        // When - Child déplacé sous "/Moved"
+        int updated = resourceRepository.replaceDescendantPathPrefix(
+                tenant.getId(), child.getId(), "/Child/%", "/Child".length() + 1, "/Moved/Child");
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(pathOf(grandChild)).isEqualTo("/Moved/Child/GrandChild");
+        assertThat(pathOf(child)).isEqualTo("/Child");
+        assertThat(pathOf(homonymChild)).isEqualTo("/Child/Other");
+    }
+
+    @Test
+    void tombstoneSubtree_shouldHideSubtreeAndPurgeDeepestFirst() {
+        // Given
+        for (Resource resource : List.of(root, child, grandChild)) {
+            if (resource.getParent() == null) {
+                closureRepository.insertSelfLink(resource.getId());
+            } else {
+                closureRepository.insertLinksForChild(resource.getId(), resource.getParent().getId());
+            }
+        }
+
+        // When
+        int tombstoned = resourceRepository.tombstoneSubtree(child.getId(), java.time.Instant.now());
+
+        // Then - masqué en lecture, purge du plus profond au moins profond
+        assertThat(tombstoned).isEqualTo(2);
+        assertThat(resourceRepository.findSubtreeRows(root.getId()))
+                .extracting(row -> (UUID) row[0])
+                .containsExactly(root.getId());
+        assertThat(resourceRepository.findPurgeBatch(child.getId(), 10))
+                .containsExactly(grandChild.getId(), child.getId());
+    }
+
+    @Test
+    void searchRows_shouldMatchNameCaseInsensitiveWithKeyset() {
+        // Given - "child" apparaît dans Child et GrandChild
+        // When
+        List<Object[]> first = resourceRepository.searchRows(child.getTenant().getId(), "%child%", 1);
+        List<Object[]> next = resourceRepository.searchRowsAfter(
+                child.getTenant().getId(), "%child%", (String) first.get(0)[2], (UUID) first.get(0)[0], 10);
+
+        // Then - tri (name, id), chemin inclus
+        assertThat(first).extracting(row -> (UUID) row[0]).containsExactly(child.getId());
+        assertThat(first.get(0)[4]).isEqualTo("/Child");
+        assertThat(next).extracting(row -> (UUID) row[0]).containsExactly(grandChild.getId());
+    }
+
+    @Test
+    void searchRows_prefixPattern_shouldNotMatchInside() {
+        assertThat(resourceRepository.searchRows(child.getTenant().getId(), "child%", 10))
+                .extracting(row -> (UUID) row[0])
+                .containsExactly(child.getId());
+    }
+
+    private String pathOf(Resource resource) {
+        return (String) entityManager
+                .createNativeQuery("SELECT path FROM resource WHERE id = :id")
+                .setParameter("id", resource.getId())
+                .getSingleResult();
+    }
+
+    private Resource save(Tenant tenant, Resource parent, String name, String path) {
+        Resource resource = new Resource();
+        resource.setTenant(tenant);
+        resource.setParent(parent);
+        resource.setName(name);
+        resource.setType("FOLDER");
+        resource.setPath(path);
+        return resourceRepository.saveAndFlush(resource);
+    }
+}
@@ -0,0 +1,102 @@
+package com.yow.access.services;
+
+import com.yow.access.entities.AuditLog;
+import com.yow.access.entities.AuditLogFactory;
+import com.yow.access.entities.Tenant;
+import com.yow.access.repositories.AuditLogRepository;
+import com.yow.access.repositories.TenantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Export lu depuis le curseur JDBC contre la base de test
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Transactional
+public class AuditLogExporterTest {
+
+    @Autowired
+    private AuditLogExporter exporter;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Tenant tenant;
+
+    @BeforeEach
+    void setUp() {
+        tenant = new Tenant();
+        tenant.setCode("TENANT_EXPORT");
+        tenant.setName("Tenant Export");
+        tenant = tenantRepository.save(tenant);
+
+        save(tenant, "CREATE_RESOURCE", "Dossier \"A\", créé", Instant.parse("2026-01-01T10:00:00Z"));
+        save(tenant, "DELETE_RESOURCE", "supprimé", Instant.parse("2026-01-02T10:00:00Z"));
+        save(null, "LOGIN", "autre tenant", Instant.parse("2026-01-03T10:00:00Z"));
+    }
+
+    @Test
+    void write_csv_shouldQuoteAndKeepChronologicalOrder() throws Exception {
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.write(scope(), null, null, AuditLogExporter.Format.CSV, false, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("id,timestamp,tenant_id");
+        assertThat(lines[1]).contains("CREATE_RESOURCE").endsWith("\"Dossier \"\"A\"\", créé\",");
+        assertThat(lines[2]).contains("DELETE_RESOURCE");
+    }
+
+    @Test
+    void write_ndjsonGzip_shouldEmitOneObjectPerLine() throws Exception {
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.write(scope(), Instant.parse("2026-01-02T00:00:00Z"), null,
+                AuditLogExporter.Format.NDJSON, true, out);
+
+        // Then
+        String content;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = content.split("\n");
+        assertThat(lines).hasSize(1);
+        JsonNode row = objectMapper.readTree(lines[0]);
+        assertThat(row.get("action").asString()).isEqualTo("DELETE_RESOURCE");
+        assertThat(row.get("tenantId").asString()).isEqualTo(tenant.getId().toString());
+    }
+
+    private AuditLogQueryService.Scope scope() {
+        return new AuditLogQueryService.Scope(tenant.getId(), null);
+    }
+
+    private void save(Tenant owner, String action, String message, Instant timestamp) {
+        AuditLog entry = AuditLogFactory.create(
+                owner, null, null, action, "RESOURCE", UUID.randomUUID(), "SUCCESS", message, null, null);
+        entry.setTimestamp(timestamp);
+        auditLogRepository.saveAndFlush(entry);
+    }
+}
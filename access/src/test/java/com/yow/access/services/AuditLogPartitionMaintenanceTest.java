@@ -0,0 +1,104 @@
+package com.yow.access.services;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests pour AuditLogPartitionMaintenance
+ * Partitions mensuelles à venir, partitions expirées et rétention par tenant
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditLogPartitionMaintenance Tests")
+class AuditLogPartitionMaintenanceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AuditLogPartitionMaintenance maintenance(AuditLogPartitionMaintenance.ExpiredPartitionAction action) {
+        return new AuditLogPartitionMaintenance(jdbcTemplate, 365, 2, action);
+    }
+
+    @Test
+    @DisplayName("✅ Mois courant et mois à venir créés")
+    void createUpcomingPartitions_CreatesCurrentAndAhead() {
+        // Act
+        maintenance(AuditLogPartitionMaintenance.ExpiredPartitionAction.DROP)
+                .createUpcomingPartitions(YearMonth.of(2026, 11));
+
+        // Assert
+        verify(jdbcTemplate).execute(contains("audit_log_p202611 PARTITION OF audit_log FOR VALUES FROM ('2026-11-01') TO ('2026-12-01')"));
+        verify(jdbcTemplate).execute(contains("audit_log_p202612"));
+        verify(jdbcTemplate).execute(contains("audit_log_p202701 PARTITION OF audit_log FOR VALUES FROM ('2027-01-01') TO ('2027-02-01')"));
+    }
+
+    @Test
+    @DisplayName("✅ Seules les partitions entièrement expirées sont supprimées")
+    void removeExpiredPartitions_DropsOnlyFullyExpired() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                "audit_log_default", "audit_log_p202501", "audit_log_p202502", "audit_log_p202503"));
+
+        // Act : fin de février incluse, mars chevauche la limite
+        maintenance(AuditLogPartitionMaintenance.ExpiredPartitionAction.DROP)
+                .removeExpiredPartitions(LocalDate.of(2025, 3, 15));
+
+        // Assert
+        verify(jdbcTemplate).execute("ALTER TABLE audit_log DETACH PARTITION audit_log_p202501");
+        verify(jdbcTemplate).execute("DROP TABLE audit_log_p202501");
+        verify(jdbcTemplate).execute("ALTER TABLE audit_log DETACH PARTITION audit_log_p202502");
+        verify(jdbcTemplate).execute("DROP TABLE audit_log_p202502");
+        verify(jdbcTemplate, never()).execute(contains("audit_log_p202503"));
+        verify(jdbcTemplate, never()).execute(contains("audit_log_default"));
+    }
+
+    @Test
+    @DisplayName("✅ DETACH : la partition expirée est conservée hors de audit_log")
+    void removeExpiredPartitions_Detach_KeepsTable() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of("audit_log_p202501"));
+
+        // Act
+        maintenance(AuditLogPartitionMaintenance.ExpiredPartitionAction.DETACH)
+                .removeExpiredPartitions(LocalDate.of(2025, 6, 1));
+
+        // Assert
+        verify(jdbcTemplate).execute("ALTER TABLE audit_log DETACH PARTITION audit_log_p202501");
+        verify(jdbcTemplate, never()).execute(startsWith("DROP TABLE"));
+    }
+
+    @Test
+    @DisplayName("✅ Rétention propre au tenant, les autres à la valeur par défaut")
+    void purgeRows_TenantRetentionThenDefault() {
+        // Arrange
+        UUID tenantId = UUID.randomUUID();
+        LocalDate today = LocalDate.of(2026, 10, 17);
+
+        // Act
+        maintenance(AuditLogPartitionMaintenance.ExpiredPartitionAction.DROP)
+                .purgeRows(today, Map.of(tenantId, 30));
+
+        // Assert
+        verify(jdbcTemplate).update(
+                eq("DELETE FROM audit_log WHERE tenant_id = ? AND timestamp < ?"),
+                eq(tenantId),
+                eq(Timestamp.valueOf(today.minusDays(30).atStartOfDay())));
+        verify(jdbcTemplate).update(
+                eq("DELETE FROM audit_log WHERE timestamp < ? AND (tenant_id IS NULL OR tenant_id NOT IN (?))"),
+                eq(Timestamp.valueOf(today.minusDays(365).atStartOfDay())),
+                eq(tenantId));
+    }
+}
@@ -0,0 +1,233 @@
+package com.yow.access.services;
+
+import com.yow.access.dto.AuditLogEntryResponse;
+import com.yow.access.dto.AuditLogPage;
+import com.yow.access.exceptions.AccessDeniedException;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests pour AuditLogQueryService
+ * Portée de lecture, filtres et pagination par clé (timestamp, id)
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditLogQueryService Tests")
+class AuditLogQueryServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AuthorizationService authorizationService;
+
+    @Mock
+    private AuditLogExporter exporter;
+
+    @InjectMocks
+    private AuditLogQueryService service;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID tenantId = UUID.randomUUID();
+
+    private static final AuditLogQueryService.Filter NO_FILTER =
+            new AuditLogQueryService.Filter(null, null, null, null, null, null, null);
+
+    private void superAdmin() {
+        when(authorizationService.isSuperAdmin(userId)).thenReturn(true);
+    }
+
+    private void tenantAdminOf(UUID... tenants) {
+        when(authorizationService.isSuperAdmin(userId)).thenReturn(false);
+        when(authorizationService.administeredTenants(userId)).thenReturn(List.of(tenants));
+    }
+
+    private List<AuditLogEntryResponse> entries(int count) {
+        List<AuditLogEntryResponse> entries = new ArrayList<>();
+        Instant now = Instant.parse("2026-01-01T12:00:00Z");
+        for (int i = 0; i < count; i++) {
+            entries.add(new AuditLogEntryResponse(
+                    UUID.randomUUID(), now.minusSeconds(i), "CREATE_RESOURCE", "SUCCESS", null,
+                    tenantId, userId, "alice", null, null, null));
+        }
+        return entries;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void returnRows(List<AuditLogEntryResponse> rows) {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(rows);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String capturedSql(ArgumentCaptor<Object[]> args) {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), args.capture());
+        return sql.getValue();
+    }
+
+    @Nested
+    @DisplayName("Portée de lecture")
+    class ScopeTests {
+
+        @Test
+        @DisplayName("✅ ADMIN : aucune restriction")
+        void resolveScope_SuperAdmin_Unrestricted() {
+            // Arrange
+            superAdmin();
+
+            // Act
+            AuditLogQueryService.Scope scope = service.resolveScope(userId, null);
+
+            // Assert
+            assertNull(scope.tenantId());
+            assertNull(scope.userId());
+        }
+
+        @Test
+        @DisplayName("✅ TENANT_ADMIN : tenant administré demandé")
+        void resolveScope_TenantAdmin_RequestedTenant() {
+            // Arrange
+            UUID other = UUID.randomUUID();
+            tenantAdminOf(tenantId, other);
+
+            // Act
+            AuditLogQueryService.Scope scope = service.resolveScope(userId, other);
+
+            // Assert
+            assertEquals(other, scope.tenantId());
+            assertNull(scope.userId());
+        }
+
+        @Test
+        @DisplayName("❌ TENANT_ADMIN : tenant non administré refusé")
+        void resolveScope_TenantAdmin_ForeignTenant_Denied() {
+            // Arrange
+            tenantAdminOf(tenantId);
+
+            // Act & Assert
+            assertThrows(AccessDeniedException.class,
+                    () -> service.resolveScope(userId, UUID.randomUUID()));
+        }
+
+        @Test
+        @DisplayName("✅ Autres utilisateurs : leurs propres logs uniquement")
+        void resolveScope_RegularUser_OwnLogs() {
+            // Arrange
+            tenantAdminOf();
+
+            // Act
+            AuditLogQueryService.Scope scope = service.resolveScope(userId, null);
+
+            // Assert
+            assertEquals(userId, scope.userId());
+        }
+    }
+
+    @Nested
+    @DisplayName("Pagination et filtres")
+    class SearchTests {
+
+        @Test
+        @DisplayName("✅ Page pleine : curseur sur la dernière entrée renvoyée")
+        void search_MoreRows_ReturnsCursor() {
+            // Arrange
+            superAdmin();
+            List<AuditLogEntryResponse> rows = entries(3);
+            returnRows(rows);
+
+            // Act
+            AuditLogPage page = service.search(userId, NO_FILTER, 2, null);
+
+            // Assert
+            assertEquals(2, page.getItems().size());
+            assertTrue(page.isHasMore());
+            AuditCursor cursor = AuditCursor.decode(page.getNextCursor());
+            assertEquals(rows.get(1).getId(), cursor.id());
+            assertEquals(rows.get(1).getTimestamp(), cursor.timestamp());
+        }
+
+        @Test
+        @DisplayName("✅ Dernière page : pas de curseur")
+        void search_LastPage_NoCursor() {
+            // Arrange
+            superAdmin();
+            returnRows(entries(2));
+
+            // Act
+            AuditLogPage page = service.search(userId, NO_FILTER, 2, null);
+
+            // Assert
+            assertEquals(2, page.getItems().size());
+            assertFalse(page.isHasMore());
+            assertNull(page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("✅ Filtres et curseur traduits en conditions SQL")
+        void search_FiltersAndCursor_InSql() {
+            // Arrange
+            tenantAdminOf(tenantId);
+            returnRows(List.of());
+            Instant from = Instant.parse("2026-01-01T00:00:00Z");
+            String cursor = new AuditCursor(Instant.parse("2026-01-01T10:00:00Z"), UUID.randomUUID()).encode();
+            AuditLogQueryService.Filter filter = new AuditLogQueryService.Filter(
+                    null, null, null, "DELETE_RESOURCE", null, from, null);
+
+            // Act
+            service.search(userId, filter, 50, cursor);
+
+            // Assert
+            ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+            String sql = capturedSql(args);
+            assertTrue(sql.contains("a.tenant_id = ?"));
+            assertTrue(sql.contains("a.action = ?"));
+            assertTrue(sql.contains("a.timestamp >= ?"));
+            assertTrue(sql.contains("(a.timestamp, a.id) < (?, ?)"));
+            assertFalse(sql.contains("a.user_id = ?"));
+            assertFalse(sql.contains("a.outcome = ?"));
+            assertTrue(sql.contains("ORDER BY a.timestamp DESC, a.id DESC"));
+            assertEquals(tenantId, args.getValue()[0]);
+            assertEquals(51, args.getValue()[args.getValue().length - 1]);
+        }
+
+        @Test
+        @DisplayName("❌ Utilisateur simple : logs d'un autre utilisateur refusés")
+        void search_RegularUser_OtherUser_Denied() {
+            // Arrange
+            tenantAdminOf();
+            AuditLogQueryService.Filter filter = new AuditLogQueryService.Filter(
+                    null, UUID.randomUUID(), null, null, null, null, null);
+
+            // Act & Assert
+            assertThrows(AccessDeniedException.class, () -> service.search(userId, filter, 50, null));
+            verifyNoInteractions(jdbcTemplate);
+        }
+
+        @Test
+        @DisplayName("❌ Intervalle vide ou curseur invalide")
+        void search_InvalidInput_Rejected() {
+            // Arrange
+            Instant t = Instant.parse("2026-01-01T00:00:00Z");
+            AuditLogQueryService.Filter empty = new AuditLogQueryService.Filter(
+                    null, null, null, null, null, t, t);
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> service.search(userId, empty, 50, null));
+            assertThrows(IllegalArgumentException.class, () -> service.search(userId, NO_FILTER, 50, "pas-un-curseur"));
+            assertThrows(IllegalArgumentException.class, () -> service.search(userId, NO_FILTER, 0, null));
+            verifyNoInteractions(jdbcTemplate, authorizationService);
+        }
+    }
+}
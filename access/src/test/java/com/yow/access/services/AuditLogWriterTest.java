@@ -0,0 +1,147 @@
+package com.yow.access.services;
+
+import com.yow.access.entities.AuditLog;
+import com.yow.access.entities.AuditLogFactory;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests pour AuditLogWriter
+ * File bornée, politiques de débordement et écriture par lots
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditLogWriter Tests")
+class AuditLogWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AuditLogWriter writer(int capacity, int batchSize, AuditLogWriter.OverflowPolicy overflow) {
+        return new AuditLogWriter(
+                jdbcTemplate,
+                true,
+                capacity,
+                batchSize,
+                Duration.ofMillis(10),
+                overflow,
+                Duration.ofMillis(10),
+                Duration.ofSeconds(1)
+        );
+    }
+
+    private AuditLogWriter.Event event(String action) {
+        AuditLog entry = AuditLogFactory.create(
+                null, null, null, action, "RESOURCE", UUID.randomUUID(), "SUCCESS", null, null, null
+        );
+        return AuditLogWriter.Event.of(entry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Integer> batchSizes() {
+        ArgumentCaptor<Collection<AuditLogWriter.Event>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(
+                anyString(), captor.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        return captor.getAllValues().stream().map(Collection::size).toList();
+    }
+
+    @Test
+    @DisplayName("✅ Événements regroupés en lots de batch-size")
+    void drainOnce_WritesBatches() throws InterruptedException {
+        // Arrange
+        AuditLogWriter writer = writer(100, 3, AuditLogWriter.OverflowPolicy.BLOCK);
+        for (int i = 0; i < 5; i++) {
+            writer.offer(event("CREATE_RESOURCE"));
+        }
+
+        // Act
+        int first = writer.drainOnce();
+        int second = writer.drainOnce();
+
+        // Assert
+        assertEquals(3, first);
+        assertEquals(2, second);
+        assertEquals(List.of(3, 2), batchSizes());
+    }
+
+    @Test
+    @DisplayName("✅ DROP : file pleine, événement compté et perdu")
+    void overflow_Drop_Counts() {
+        // Arrange
+        AuditLogWriter writer = writer(1, 10, AuditLogWriter.OverflowPolicy.DROP);
+
+        // Act
+        writer.offer(event("A"));
+        writer.offer(event("B"));
+
+        // Assert
+        assertEquals(1, writer.droppedCount());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("✅ BLOCK : attente bornée puis perte comptée")
+    void overflow_Block_TimesOut() {
+        // Arrange
+        AuditLogWriter writer = writer(1, 10, AuditLogWriter.OverflowPolicy.BLOCK);
+
+        // Act
+        writer.offer(event("A"));
+        writer.offer(event("B"));
+
+        // Assert
+        assertEquals(1, writer.droppedCount());
+    }
+
+    @Test
+    @DisplayName("✅ SPILL : écrit sur le thread appelant")
+    void overflow_Spill_WritesInline() {
+        // Arrange
+        AuditLogWriter writer = writer(1, 10, AuditLogWriter.OverflowPolicy.SPILL);
+
+        // Act
+        writer.offer(event("A"));
+        writer.offer(event("B"));
+
+        // Assert
+        assertEquals(1, writer.spilledCount());
+        assertEquals(0, writer.droppedCount());
+        assertEquals(List.of(1), batchSizes());
+    }
+
+    @Test
+    @DisplayName("✅ Lot en échec : réécrit ligne à ligne")
+    @SuppressWarnings("unchecked")
+    void write_BatchFailure_RetriesRowByRow() throws InterruptedException {
+        // Arrange
+        AuditLogWriter writer = writer(100, 10, AuditLogWriter.OverflowPolicy.BLOCK);
+        writer.offer(event("A"));
+        writer.offer(event("B"));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    if (((Collection<?>) invocation.getArgument(1)).size() > 1) {
+                        throw new DataIntegrityViolationException("fk");
+                    }
+                    return new int[0][];
+                });
+
+        // Act
+        writer.drainOnce();
+
+        // Assert - 1 lot de 2, puis 2 lots de 1
+        assertEquals(List.of(2, 1, 1), batchSizes());
+    }
+}
@@ -0,0 +1,108 @@
+package com.yow.access.services;
+
+import com.yow.access.entities.AuditLog;
+import com.yow.access.entities.AuditLogFactory;
+import com.yow.access.entities.Tenant;
+import com.yow.access.repositories.AuditLogRepository;
+import com.yow.access.repositories.TenantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Agrégats horaires calculés depuis audit_log contre la base de test
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Transactional
+public class AuditRollupServiceTest {
+
+    private static final LocalDateTime LIMIT = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Autowired
+    private AuditRollupService rollupService;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Tenant tenant;
+
+    @BeforeEach
+    void setUp() {
+        // Marque repartie de l'heure du plus ancien événement (état annulé en fin de test)
+        jdbcTemplate.update("DELETE FROM audit_rollup_state");
+
+        tenant = new Tenant();
+        tenant.setCode("TENANT_ROLLUP");
+        tenant.setName("Tenant Rollup");
+        tenant = tenantRepository.save(tenant);
+
+        save(tenant, "CREATE_RESOURCE", "SUCCESS", LocalDateTime.of(2026, 1, 1, 10, 15));
+        save(tenant, "CREATE_RESOURCE", "SUCCESS", LocalDateTime.of(2026, 1, 1, 10, 45));
+        save(tenant, "CREATE_RESOURCE", "FAILURE", LocalDateTime.of(2026, 1, 1, 11, 5));
+        save(tenant, "CREATE_RESOURCE", "SUCCESS", LocalDateTime.of(2026, 1, 1, 12, 10)); // heure non close
+    }
+
+    @Test
+    void rollUpNext_shouldCountClosedHoursPerActionAndOutcome() {
+        // When
+        catchUp();
+
+        // Then
+        List<Map<String, Object>> rows = rollups();
+        assertThat(rows).hasSize(2);
+        assertThat(((Number) rows.get(0).get("event_count")).longValue()).isEqualTo(2);
+        assertThat(rows.get(0).get("outcome")).isEqualTo("SUCCESS");
+        assertThat(((Number) rows.get(1).get("event_count")).longValue()).isEqualTo(1);
+        assertThat(rows.get(1).get("outcome")).isEqualTo("FAILURE");
+    }
+
+    @Test
+    void rollUpNext_shouldStopAtHighWaterMark() {
+        // Given
+        catchUp();
+
+        // When
+        long again = rollupService.rollUpNext(LIMIT);
+
+        // Then
+        assertThat(again).isZero();
+        assertThat(rollups()).hasSize(2);
+    }
+
+    private void catchUp() {
+        while (rollupService.rollUpNext(LIMIT) > 0) {
+            // lots successifs jusqu'à la limite
+        }
+    }
+
+    private List<Map<String, Object>> rollups() {
+        return jdbcTemplate.queryForList(
+                "SELECT bucket, outcome, event_count FROM audit_rollup_hourly WHERE tenant_id = ? ORDER BY bucket",
+                tenant.getId());
+    }
+
+    private void save(Tenant owner, String action, String outcome, LocalDateTime timestamp) {
+        AuditLog entry = AuditLogFactory.create(
+                owner, null, null, action, "RESOURCE", UUID.randomUUID(), outcome, null, null, null);
+        entry.setTimestamp(timestamp.atZone(ZoneId.systemDefault()).toInstant());
+        auditLogRepository.saveAndFlush(entry);
+    }
+}
@@ -1,15 +1,19 @@
 package com.yow.access.services;
 
+import com.yow.access.dto.AuthorizationTraceEntry;
 import com.yow.access.entities.*;
 import com.yow.access.exceptions.AccessDeniedException;
+import com.yow.access.repositories.PermissionRepository;
+import com.yow.access.repositories.ResourceClosureRepository;
 import com.yow.access.repositories.ResourceRepository;
+import com.yow.access.repositories.RoleRepository;
 import com.yow.access.repositories.UserRoleResourceRepository;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -34,9 +38,21 @@ class AuthorizationServiceTest {
     @Mock
     private ResourceRepository resourceRepository;
 
-    @InjectMocks
+    @Mock
+    private ResourceClosureRepository closureRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PermissionRepository permissionRepository;
+
+    private RolePermissionMatrix rolePermissionMatrix;
+
     private AuthorizationService authorizationService;
 
+    private AuthorizationTracer tracer;
+
     // IDs constants
     private final UUID userId = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
     private final UUID tenantId = UUID.fromString("223e4567-e89b-12d3-a456-426614174000");
@@ -58,6 +74,17 @@ class AuthorizationServiceTest {
 
     @BeforeEach
     void setUp() {
+        rolePermissionMatrix = new RolePermissionMatrix(roleRepository, permissionRepository);
+        tracer = new AuthorizationTracer(100);
+        authorizationService = new AuthorizationService(
+                resourceRepository,
+                new PermissionIndex(urrRepository, rolePermissionMatrix, 10_000, Duration.ofMinutes(5)),
+                rolePermissionMatrix,
+                closureRepository, // vide par défaut : parcours des parents en repli
+                new AuthorizationDecisionCache(10_000, Duration.ofMinutes(5)),
+                tracer
+        );
+
         // Setup Tenant
         tenant = Tenant.builder()
                 .id(tenantId)
@@ -124,6 +151,9 @@ class AuthorizationServiceTest {
                 .name("ADMIN_GLOBAL")
                 .permissions(new HashSet<>(Arrays.asList(readPermission, writePermission, deletePermission)))
                 .build();
+
+        // Matrice rôles/permissions compilée à partir des rôles de test
+        rolePermissionMatrix.rebuild(List.of(userRole, adminRole, globalAdminRole));
     }
 
     /* ===================================================================
@@ -272,7 +302,8 @@ class AuthorizationServiceTest {
             // Assert
             assertTrue(readResult, "Devrait avoir READ via urr1");
             assertTrue(writeResult, "Devrait avoir WRITE via urr2");
-            verify(urrRepository, times(2)).findAllByUserId(userId);
+            // Les bindings sont compilés une seule fois puis servis par l'index
+            verify(urrRepository, times(1)).findAllByUserId(userId);
         }
 
         @Test
@@ -392,6 +423,7 @@ class AuthorizationServiceTest {
                     .name("LIMITED")
                     .permissions(new HashSet<>(Arrays.asList(writePermission))) // Seulement WRITE
                     .build();
+            rolePermissionMatrix.rebuild(List.of(userRole, adminRole, globalAdminRole, limitedRole));
 
             UserRoleResource parentUrr = UserRoleResource.builder()
                     .user(AppUser.builder().id(userId).build())
@@ -561,6 +593,30 @@ class AuthorizationServiceTest {
             verify(urrRepository).findAllByUserId(userId);
         }
 
+        @Test
+        @DisplayName("✅ Vérifications globales répétées : bindings chargés une seule fois")
+        void checkGlobalPermission_RepeatedChecks_UseIndex() {
+            // Arrange
+            UserRoleResource urr = UserRoleResource.builder()
+                    .user(AppUser.builder().id(userId).build())
+                    .role(adminRole)
+                    .resource(childResource)
+                    .build();
+
+            when(urrRepository.findAllByUserId(userId))
+                    .thenReturn(Arrays.asList(urr));
+
+            // Act & Assert
+            for (int i = 0; i < 3; i++) {
+                assertDoesNotThrow(() -> authorizationService.checkGlobalPermission(userId, "DELETE"));
+            }
+            assertThrows(AccessDeniedException.class,
+                    () -> authorizationService.checkGlobalPermission(userId, "TENANT_CREATE"));
+            assertFalse(authorizationService.isSuperAdmin(userId));
+
+            verify(urrRepository, times(1)).findAllByUserId(userId);
+        }
+
         // AJOUTE CE TEST POUR VÉRIFIER LES PERMISSIONS DU RÔLE
         @Test
         @DisplayName("✅ Vérification des permissions du rôle USER")
@@ -647,6 +703,73 @@ class AuthorizationServiceTest {
         }
     }
 
+    /* ===================================================================
+       TESTS - checkTenantPermission()
+       =================================================================== */
+    @Nested
+    @DisplayName("checkTenantPermission() - Permissions au niveau tenant")
+    class CheckTenantPermissionTests {
+
+        @Test
+        @DisplayName("✅ Permission accordée sur une ressource du tenant")
+        void checkTenantPermission_Granted() {
+            // Arrange
+            UserRoleResource urr = UserRoleResource.builder()
+                    .user(AppUser.builder().id(userId).build())
+                    .role(userRole)
+                    .resource(childResource)
+                    .build();
+
+            when(urrRepository.findAllByUserId(userId))
+                    .thenReturn(Arrays.asList(urr));
+            when(resourceRepository.countInTenant(Set.of(childResourceId), tenantId))
+                    .thenReturn(1L);
+
+            // Act & Assert
+            assertDoesNotThrow(() -> authorizationService.checkTenantPermission(userId, tenantId, "READ"));
+        }
+
+        @Test
+        @DisplayName("❌ Permission accordée uniquement dans un autre tenant")
+        void checkTenantPermission_OtherTenant_Denied() {
+            // Arrange
+            UserRoleResource urr = UserRoleResource.builder()
+                    .user(AppUser.builder().id(userId).build())
+                    .role(userRole)
+                    .resource(childResource)
+                    .build();
+            UUID otherTenantId = UUID.randomUUID();
+
+            when(urrRepository.findAllByUserId(userId))
+                    .thenReturn(Arrays.asList(urr));
+            when(resourceRepository.countInTenant(Set.of(childResourceId), otherTenantId))
+                    .thenReturn(0L);
+
+            // Act & Assert
+            assertThrows(AccessDeniedException.class,
+                    () -> authorizationService.checkTenantPermission(userId, otherTenantId, "READ"));
+        }
+
+        @Test
+        @DisplayName("❌ Aucun rôle ne donne la permission : pas de requête")
+        void checkTenantPermission_NotGranted_NoQuery() {
+            // Arrange
+            UserRoleResource urr = UserRoleResource.builder()
+                    .user(AppUser.builder().id(userId).build())
+                    .role(userRole) // Seulement READ
+                    .resource(childResource)
+                    .build();
+
+            when(urrRepository.findAllByUserId(userId))
+                    .thenReturn(Arrays.asList(urr));
+
+            // Act & Assert
+            assertThrows(AccessDeniedException.class,
+                    () -> authorizationService.checkTenantPermission(userId, tenantId, "DELETE"));
+            verify(resourceRepository, never()).countInTenant(any(), any());
+        }
+    }
+
     /* ===================================================================
        TESTS DES RÔLES SPÉCIAUX - ADMIN_TENANT, ADMIN_GLOBAL
        =================================================================== */
@@ -710,6 +833,7 @@ class AuthorizationServiceTest {
                     .name("NO_PERM")
                     .permissions(new HashSet<>()) // Aucune permission
                     .build();
+            rolePermissionMatrix.rebuild(List.of(userRole, adminRole, globalAdminRole, noPermissionRole));
 
             UserRoleResource urr1 = UserRoleResource.builder()
                     .user(AppUser.builder().id(userId).build())
@@ -987,6 +1111,26 @@ class AuthorizationServiceTest {
             }
         }
 
+        @Test
+        @DisplayName("❌ Ressource en tombstone : introuvable, aucune permission")
+        void tombstonedResource_GrantsNothing() {
+            // Arrange - la racine porte un rôle READ mais l'enfant est en attente de purge
+            UserRoleResource urr = UserRoleResource.builder()
+                    .user(AppUser.builder().id(userId).build())
+                    .role(userRole)
+                    .resource(rootResource)
+                    .build();
+            childResource.setDeletedAt(java.time.Instant.now());
+
+            lenient().when(urrRepository.findAllByUserId(userId)).thenReturn(List.of(urr));
+            when(resourceRepository.findById(childResourceId)).thenReturn(Optional.of(childResource));
+
+            // Act & Assert
+            assertFalse(authorizationService.hasPermission(userId, "READ", childResource));
+            assertThrows(IllegalStateException.class,
+                    () -> authorizationService.checkPermission(userId, childResourceId, "READ"));
+        }
+
         @Test
         @DisplayName("✅ Même ressource avec différents rôles")
         void sameResourceMultipleRoles() {
@@ -996,6 +1140,7 @@ class AuthorizationServiceTest {
                     .name("CUSTOM")
                     .permissions(new HashSet<>(Arrays.asList(writePermission))) // Seulement WRITE
                     .build();
+            rolePermissionMatrix.rebuild(List.of(userRole, adminRole, globalAdminRole, customRole));
 
             UserRoleResource urr1 = UserRoleResource.builder()
                     .user(AppUser.builder().id(userId).build())
@@ -1069,6 +1214,272 @@ class AuthorizationServiceTest {
         }
     }
 
+    /* ===================================================================
+       TESTS DU CACHE DE DÉCISIONS
+       =================================================================== */
+    @Nested
+    @DisplayName("Cache des décisions d'autorisation")
+    class DecisionCacheTests {
+
+        @Test
+        @DisplayName("✅ Vérification répétée servie par le cache (aucune requête)")
+        void checkPermission_RepeatedCheck_ServedFromCache() {
+            // Arrange
+            UserRoleResource urr = UserRoleResource.builder()
+                    .user(AppUser.builder().id(userId).build())
+                    .role(userRole)
+                    .resource(rootResource)
+                    .build();
+
+            when(resourceRepository.findById(childResourceId)).thenReturn(Optional.of(childResource));
+            when(urrRepository.findAllByUserId(userId)).thenReturn(List.of(urr));
+
+            // Act
+            for (int i = 0; i < 5; i++) {
+                assertDoesNotThrow(() -> authorizationService.checkPermission(userId, childResourceId, "READ"));
+            }
+
+            // Assert - une seule résolution de la ressource et des bindings
+            verify(resourceRepository, times(1)).findById(childResourceId);
+            verify(urrRepository, times(1)).findAllByUserId(userId);
+        }
+
+        @Test
+        @DisplayName("✅ invalidateUser() : la décision suivante relit les bindings")
+        void invalidateUser_DropsCachedDecisions() {
+            // Arrange
+            UserRoleResource urr = UserRoleResource.builder()
+                    .user(AppUser.builder().id(userId).build())
+                    .role(userRole)
+                    .resource(rootResource)
+                    .build();
+
+            when(urrRepository.findAllByUserId(userId))
+                    .thenReturn(List.of(urr))
+                    .thenReturn(List.of()); // rôle retiré
+
+            assertTrue(authorizationService.hasPermission(userId, "READ", childResource));
+
+            // Act
+            authorizationService.invalidateUser(userId);
+
+            // Assert
+            assertFalse(authorizationService.hasPermission(userId, "READ", childResource));
+        }
+
+        @Test
+        @DisplayName("✅ Invalidation pendant le chargement : bindings chargés non conservés")
+        void invalidateUser_DuringLoad_EntryNotKept() {
+            // Arrange
+            UserRoleResource urr = UserRoleResource.builder()
+                    .user(AppUser.builder().id(userId).build())
+                    .role(userRole)
+                    .resource(rootResource)
+                    .build();
+
+            when(urrRepository.findAllByUserId(userId))
+                    .thenAnswer(invocation -> {
+                        // Rôle retiré et invalidé pendant la lecture des bindings
+                        authorizationService.invalidateUser(userId);
+                        return List.of(urr);
+                    })
+                    .thenReturn(List.of());
+
+            // Act
+            boolean duringLoad = authorizationService.hasPermission(userId, "READ", childResource);
+            boolean afterwards = authorizationService.hasPermission(userId, "READ", childResource);
+
+            // Assert
+            assertTrue(duringLoad);
+            assertFalse(afterwards);
+            verify(urrRepository, times(2)).findAllByUserId(userId);
+        }
+
+        @Test
+        @DisplayName("✅ invalidateResources() : seul le sous-arbre déplacé est réévalué")
+        void invalidateResources_DropsOnlyGivenResources() {
+            // Arrange
+            UserRoleResource urr = UserRoleResource.builder()
+                    .user(AppUser.builder().id(userId).build())
+                    .role(userRole)
+                    .resource(rootResource)
+                    .build();
+            when(urrRepository.findAllByUserId(userId)).thenReturn(List.of(urr));
+
+            authorizationService.hasPermission(userId, "READ", rootResource);
+            authorizationService.hasPermission(userId, "READ", childResource);
+
+            // Act - l'enfant est détaché de la racine
+            authorizationService.invalidateResources(List.of(childResourceId));
+            childResource.setParent(null);
+
+            // Assert
+            assertTrue(authorizationService.hasPermission(userId, "READ", rootResource));
+            assertFalse(authorizationService.hasPermission(userId, "READ", childResource));
+        }
+    }
+
+    /* ===================================================================
+       TESTS DE LA TRACE DES DÉCISIONS
+       =================================================================== */
+    @Nested
+    @DisplayName("Trace des décisions (opt-in)")
+    class DecisionTraceTests {
+
+        @Test
+        @DisplayName("✅ Trace désactivée : rien n'est enregistré")
+        void traceDisabled_RecordsNothing() {
+            UserRoleResource urr = UserRoleResource.builder()
+                    .user(AppUser.builder().id(userId).build())
+                    .role(userRole)
+                    .resource(rootResource)
+                    .build();
+            when(urrRepository.findAllByUserId(userId)).thenReturn(List.of(urr));
+
+            assertTrue(authorizationService.hasPermission(userId, "READ", grandChildResource));
+
+            assertTrue(tracer.recent(null, null, 10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("✅ Trace de requête : chemin parcouru et binding trouvé")
+        void requestTrace_CapturesPathAndMatchedBinding() {
+            // Arrange
+            UserRoleResource urr = UserRoleResource.builder()
+                    .user(AppUser.builder().id(userId).build())
+                    .role(userRole)
+                    .resource(rootResource)
+                    .build();
+            when(urrRepository.findAllByUserId(userId)).thenReturn(List.of(urr));
+
+            // Act
+            String traceId = tracer.beginRequest();
+            try {
+                authorizationService.hasPermission(userId, "READ", grandChildResource);
+            } finally {
+                tracer.endRequest();
+            }
+
+            // Assert
+            List<AuthorizationTraceEntry> traces = tracer.recent(traceId, null, 10);
+            assertEquals(1, traces.size());
+            AuthorizationTraceEntry trace = traces.get(0);
+            assertTrue(trace.isGranted());
+            assertEquals("BINDING", trace.getReason());
+            assertEquals(List.of(grandChildResourceId, childResourceId, resourceId), trace.getWalkedPath());
+            assertEquals(resourceId, trace.getMatchedResourceId());
+            assertEquals(List.of("USER"), trace.getMatchedRoles());
+            assertTrue(trace.getElapsedNanos() >= 0);
+        }
+
+        @Test
+        @DisplayName("✅ Trace par utilisateur : seules ses décisions sont tracées")
+        void userTrace_OnlyTracesThatUser() {
+            UUID otherUserId = UUID.fromString("999e4567-e89b-12d3-a456-426614174000");
+            when(urrRepository.findAllByUserId(any())).thenReturn(List.of());
+
+            tracer.enableUser(userId);
+            authorizationService.hasPermission(userId, "READ", rootResource);
+            authorizationService.hasPermission(otherUserId, "READ", rootResource);
+
+            List<AuthorizationTraceEntry> traces = tracer.recent(null, null, 10);
+            assertEquals(1, traces.size());
+            assertEquals(userId, traces.get(0).getUserId());
+            assertEquals("NO_BINDINGS", traces.get(0).getReason());
+        }
+    }
+
+    /* ===================================================================
+       TESTS DE VÉRIFICATION PAR LOT - checkPermissions()
+       =================================================================== */
+    @Nested
+    @DisplayName("checkPermissions() - Vérification par lot")
+    class BatchCheckPermissionsTests {
+
+        @Test
+        @DisplayName("✅ Lot résolu via la table de fermeture en une requête")
+        void checkPermissions_UsesClosurePairs() {
+            // Arrange
+            UserRoleResource urr = UserRoleResource.builder()
+                    .user(AppUser.builder().id(userId).build())
+                    .role(userRole) // READ sur l'enfant
+                    .resource(childResource)
+                    .build();
+
+            when(urrRepository.findAllByUserId(userId)).thenReturn(List.of(urr));
+            when(closureRepository.findAncestorPairs(any())).thenReturn(List.of(
+                    new Object[]{resourceId, resourceId},
+                    new Object[]{childResourceId, childResourceId},
+                    new Object[]{childResourceId, resourceId},
+                    new Object[]{grandChildResourceId, grandChildResourceId},
+                    new Object[]{grandChildResourceId, childResourceId},
+                    new Object[]{grandChildResourceId, resourceId}
+            ));
+
+            // Act
+            Map<UUID, Boolean> result = authorizationService.checkPermissions(
+                    userId, List.of(resourceId, childResourceId, grandChildResourceId), "READ"
+            );
+
+            // Assert
+            assertEquals(List.of(resourceId, childResourceId, grandChildResourceId), new ArrayList<>(result.keySet()));
+            assertFalse(result.get(resourceId));
+            assertTrue(result.get(childResourceId));
+            assertTrue(result.get(grandChildResourceId));
+            verify(closureRepository, times(1)).findAncestorPairs(any());
+            verify(resourceRepository, never()).findAllById(any());
+        }
+
+        @Test
+        @DisplayName("✅ Sans fermeture : repli sur le parcours des parents")
+        void checkPermissions_FallsBackToParentWalk() {
+            // Arrange
+            UserRoleResource urr = UserRoleResource.builder()
+                    .user(AppUser.builder().id(userId).build())
+                    .role(userRole)
+                    .resource(rootResource)
+                    .build();
+
+            when(urrRepository.findAllByUserId(userId)).thenReturn(List.of(urr));
+            when(resourceRepository.findAllById(any())).thenReturn(List.of(childResource, grandChildResource));
+
+            // Act
+            Map<UUID, Boolean> result = authorizationService.checkPermissions(
+                    userId, List.of(childResourceId, grandChildResourceId), "READ"
+            );
+
+            // Assert
+            assertTrue(result.get(childResourceId));
+            assertTrue(result.get(grandChildResourceId));
+        }
+
+        @Test
+        @DisplayName("❌ Ressource inconnue ou utilisateur sans binding : refusé")
+        void checkPermissions_UnknownResourceOrNoBindings_Denied() {
+            // Arrange
+            UUID unknownId = UUID.randomUUID();
+            when(urrRepository.findAllByUserId(userId)).thenReturn(List.of(
+                    UserRoleResource.builder()
+                            .user(AppUser.builder().id(userId).build())
+                            .role(userRole)
+                            .resource(rootResource)
+                            .build()
+            ));
+
+            // Act
+            Map<UUID, Boolean> result = authorizationService.checkPermissions(
+                    userId, List.of(unknownId), "READ"
+            );
+            Map<UUID, Boolean> anonymous = authorizationService.checkPermissions(
+                    null, List.of(resourceId), "READ"
+            );
+
+            // Assert
+            assertFalse(result.get(unknownId));
+            assertFalse(anonymous.get(resourceId));
+        }
+    }
+
     /* ===================================================================
        TESTS D'INTÉGRATION SIMULÉE
        =================================================================== */
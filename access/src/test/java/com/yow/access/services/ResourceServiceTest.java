@@ -1,9 +1,22 @@
 package com.yow.access.services;
 
+import com.yow.access.dto.BulkResourceImportRequest;
+import com.yow.access.dto.BulkResourceImportResponse;
+import com.yow.access.dto.ResourceChange;
+import com.yow.access.dto.ResourceChangesResponse;
+import com.yow.access.dto.ResourceChildrenPage;
+import com.yow.access.dto.ResourceDeletionJobResponse;
+import com.yow.access.dto.ResourceNodeResponse;
+import com.yow.access.dto.ResourceSearchPage;
 import com.yow.access.dto.ResourceTreeResponse;
+import com.yow.access.dto.ResourceTreeSnapshot;
 import com.yow.access.entities.*;
 import com.yow.access.exceptions.AccessDeniedException;
+import com.yow.access.repositories.ResourceClosureRepository;
+import com.yow.access.repositories.ResourceDeletionJobRepository;
 import com.yow.access.repositories.ResourceRepository;
+import com.yow.access.repositories.TenantRepository;
+import com.yow.access.repositories.UserRoleResourceRepository;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -34,6 +47,36 @@ class ResourceServiceTest {
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private ResourceClosureRepository closureRepository;
+
+    @Mock
+    private ResourceTreeStreamer treeStreamer;
+
+    @Mock
+    private ResourceBulkInserter bulkInserter;
+
+    @Mock
+    private ResourceDeletionJobRepository deletionJobRepository;
+
+    @Mock
+    private ResourceDeletionWorker deletionWorker;
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private ResourceTreeCache treeCache;
+
+    @Mock
+    private ResourceChangeLog changeLog;
+
+    @Mock
+    private TenantStatsService tenantStatsService;
+
+    @Mock
+    private UserRoleResourceRepository urrRepository;
+
     @InjectMocks
     private ResourceService resourceService;
 
@@ -98,6 +141,20 @@ class ResourceServiceTest {
                 .build();
     }
 
+    // Lignes (id, parent_id, name, type) telles que renvoyées par les requêtes d'arbre
+    private static List<Object[]> rows(Resource... resources) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Resource r : resources) {
+            rows.add(new Object[]{
+                    r.getId(),
+                    r.getParent() != null ? r.getParent().getId() : null,
+                    r.getName(),
+                    r.getType()
+            });
+        }
+        return rows;
+    }
+
     /* ===================================================================
        TESTS DE CRÉATION DE RESSOURCES
        =================================================================== */
@@ -123,7 +180,7 @@ class ResourceServiceTest {
 
             // Simuler que la ResourceFactory crée une ressource avec ID null (avant sauvegarde)
             // et que le repository génère un ID lors du save
-            when(resourceRepository.save(any(Resource.class)))
+            when(resourceRepository.saveAndFlush(any(Resource.class)))
                     .thenAnswer(invocation -> {
                         Resource resource = invocation.getArgument(0);
                         resource.setId(newChildId); // Simuler la génération d'ID
@@ -139,7 +196,7 @@ class ResourceServiceTest {
             );
 
             ArgumentCaptor<Resource> resourceCaptor = ArgumentCaptor.forClass(Resource.class);
-            verify(resourceRepository).save(resourceCaptor.capture());
+            verify(resourceRepository).saveAndFlush(resourceCaptor.capture());
 
             Resource savedResource = resourceCaptor.getValue();
             assertNotNull(savedResource);
@@ -189,7 +246,7 @@ class ResourceServiceTest {
             assertTrue(exception.getMessage().contains("RESOURCE_CREATE"),
                     "Le message devrait contenir 'RESOURCE_CREATE'. Message: " + exception.getMessage());
 
-            verify(resourceRepository, never()).save(any());
+            verify(resourceRepository, never()).saveAndFlush(any());
             verify(auditLogService, never()).log(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
         }
 
@@ -210,7 +267,7 @@ class ResourceServiceTest {
 
             assertTrue(exception.getMessage().contains("Resource not found"));
             verify(authorizationService, never()).checkPermission(any(), any(), any());
-            verify(resourceRepository, never()).save(any());
+            verify(resourceRepository, never()).saveAndFlush(any());
         }
     }
 
@@ -241,18 +298,12 @@ class ResourceServiceTest {
                     .thenReturn(Optional.of(rootResource));
 
             // L'utilisateur a permission RESOURCE_READ sur la racine
-            doNothing().when(authorizationService)
-                    .checkPermission(userId, resourceId, "RESOURCE_READ");
-
-            // Simuler la hiérarchie
-            when(resourceRepository.findByParentId(resourceId))
-                    .thenReturn(Arrays.asList(childResource));
-
-            when(resourceRepository.findByParentId(childResourceId))
-                    .thenReturn(Arrays.asList(grandChild));
+            when(authorizationService.subtreeAccess(userId, rootResource, "RESOURCE_READ"))
+                    .thenReturn(SubtreeAccess.full());
 
-            when(resourceRepository.findByParentId(grandChildId))
-                    .thenReturn(Collections.emptyList());
+            // Simuler la hiérarchie (chargée en une seule requête)
+            when(resourceRepository.findSubtreeRows(resourceId))
+                    .thenReturn(rows(rootResource, childResource, grandChild));
 
             // Act
             ResourceTreeResponse tree = resourceService.getResourceTree(userId, resourceId);
@@ -275,8 +326,8 @@ class ResourceServiceTest {
             assertEquals(grandChildId, grandChildNode.getId());
             assertEquals("GrandChild", grandChildNode.getName());
 
-            verify(authorizationService).checkPermission(
-                    userId, resourceId, "RESOURCE_READ"
+            verify(authorizationService).subtreeAccess(
+                    userId, rootResource, "RESOURCE_READ"
             );
         }
 
@@ -284,40 +335,119 @@ class ResourceServiceTest {
         @DisplayName("❌ Récupérer l'arbre SANS permission")
         void getResourceTree_WithoutPermission() {
             // Arrange
-            // CORRECTION: Utiliser lenient() car le stub pourrait ne pas être utilisé
-            // (si checkPermission lance l'exception avant que findById soit appelé)
-            lenient().when(resourceRepository.findById(resourceId))
+            when(resourceRepository.findById(resourceId))
                     .thenReturn(Optional.of(rootResource));
 
-            // CORRECTION: Il faut que checkPermission lance une exception
-            // Simuler que l'utilisateur n'a PAS la permission RESOURCE_READ
-            doThrow(new AccessDeniedException("Access denied. Missing permission: RESOURCE_READ"))
-                    .when(authorizationService)
-                    .checkPermission(userId, resourceId, "RESOURCE_READ");
+            // Aucun binding ne donne RESOURCE_READ, ni sur la racine ni en dessous
+            when(authorizationService.subtreeAccess(userId, rootResource, "RESOURCE_READ"))
+                    .thenReturn(SubtreeAccess.none());
 
             // Act & Assert
-            // Vérifier que l'exception est lancée
             AccessDeniedException exception = assertThrows(
                     AccessDeniedException.class,
                     () -> resourceService.getResourceTree(userId, resourceId),
                     "Devrait lancer AccessDeniedException quand l'utilisateur n'a pas la permission"
             );
 
-            // Vérifier que le message d'exception est correct
             assertTrue(exception.getMessage().contains("RESOURCE_READ"),
                     "Le message d'exception devrait contenir 'RESOURCE_READ'. Message: " + exception.getMessage());
 
-            // Vérifier que checkPermission a bien été appelé
-            verify(authorizationService).checkPermission(userId, resourceId, "RESOURCE_READ");
+            // Rien à lire : l'arbre n'est même pas chargé
+            verify(resourceRepository, never()).findSubtreeRows(any());
+        }
+
+        @Test
+        @DisplayName("✅ Permission sur une sous-branche : seuls la branche et ses connecteurs sont retournés")
+        void getResourceTree_PrunedToGrantedBranch() {
+            // Arrange
+            UUID siblingId = UUID.fromString("833e4567-e89b-12d3-a456-426614174000");
+            UUID grandChildId = UUID.fromString("733e4567-e89b-12d3-a456-426614174000");
+
+            Resource sibling = Resource.builder()
+                    .id(siblingId)
+                    .name("Sibling")
+                    .type("FOLDER")
+                    .tenant(tenant)
+                    .parent(rootResource)
+                    .path("/root/sibling")
+                    .createdAt(Instant.now())
+                    .build();
+
+            Resource grandChild = Resource.builder()
+                    .id(grandChildId)
+                    .name("GrandChild")
+                    .type("DOCUMENT")
+                    .tenant(tenant)
+                    .parent(childResource)
+                    .path("/root/child/grandchild")
+                    .createdAt(Instant.now())
+                    .build();
 
-            // CORRECTION: Selon ton implémentation, findById pourrait être appelé AVANT checkPermission
-            // ou checkPermission pourrait être appelé en premier. On ne peut pas garantir que findById n'est pas appelé.
-            // Donc on ne vérifie pas findById et findByParentId
-            // verify(resourceRepository, never()).findById(resourceId); // ← Peut être appelé
-            // verify(resourceRepository, never()).findByParentId(any()); // ← Ne devrait PAS être appelé
+            // USER (RESOURCE_READ) lié uniquement sur childResource
+            Role reader = Role.builder()
+                    .id((short) 7)
+                    .name("USER")
+                    .permissions(Set.of(Permission.builder().id((short) 11).name("RESOURCE_READ").build()))
+                    .build();
+            RolePermissionMatrix matrix = new RolePermissionMatrix(null, null);
+            matrix.rebuild(List.of(reader));
+            CompiledUserPermissions compiled = CompiledUserPermissions.compile(List.of(
+                    UserRoleResource.builder().role(reader).resource(childResource).build()
+            ), matrix.current());
+
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            when(authorizationService.subtreeAccess(userId, rootResource, "RESOURCE_READ"))
+                    .thenReturn(new SubtreeAccess(compiled, compiled.bitOf("RESOURCE_READ"), false, true));
 
-            // Mieux: vérifier que findByParentId n'est PAS appelé (car l'exception est lancée avant)
-            verify(resourceRepository, never()).findByParentId(any());
+            when(resourceRepository.findSubtreeRows(resourceId))
+                    .thenReturn(rows(rootResource, childResource, sibling, grandChild));
+
+            // Act
+            ResourceTreeResponse tree = resourceService.getResourceTree(userId, resourceId);
+
+            // Assert - la racine reste comme connecteur, la branche sœur disparaît
+            assertEquals(resourceId, tree.getId());
+            assertEquals(1, tree.getChildren().size());
+            assertEquals(childResourceId, tree.getChildren().get(0).getId());
+            assertEquals(grandChildId, tree.getChildren().get(0).getChildren().get(0).getId());
+        }
+
+        @Test
+        @DisplayName("✅ Connecteur illisible : seul l'id est exposé")
+        void getResourceTree_Connector_RedactedToId() {
+            // Arrange - USER (RESOURCE_READ) lié uniquement sur childResource
+            Role reader = Role.builder()
+                    .id((short) 7)
+                    .name("USER")
+                    .permissions(Set.of(Permission.builder().id((short) 11).name("RESOURCE_READ").build()))
+                    .build();
+            RolePermissionMatrix matrix = new RolePermissionMatrix(null, null);
+            matrix.rebuild(List.of(reader));
+            CompiledUserPermissions compiled = CompiledUserPermissions.compile(List.of(
+                    UserRoleResource.builder().role(reader).resource(childResource).build()
+            ), matrix.current());
+
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            when(authorizationService.subtreeAccess(userId, rootResource, "RESOURCE_READ"))
+                    .thenReturn(new SubtreeAccess(compiled, compiled.bitOf("RESOURCE_READ"), false, true));
+            when(resourceRepository.findSubtreeRows(resourceId))
+                    .thenReturn(rows(rootResource, childResource));
+
+            // Act
+            ResourceTreeResponse tree = resourceService.getResourceTree(userId, resourceId);
+
+            // Assert - la racine illisible : id et marqueur seulement
+            assertEquals(resourceId, tree.getId());
+            assertFalse(tree.isReadable());
+            assertNull(tree.getName());
+            assertNull(tree.getType());
+
+            // La branche accordée garde ses données
+            ResourceTreeResponse child = tree.getChildren().get(0);
+            assertTrue(child.isReadable());
+            assertEquals(childResource.getName(), child.getName());
         }
 
         @Test
@@ -351,16 +481,11 @@ class ResourceServiceTest {
             when(resourceRepository.findById(resourceId))
                     .thenReturn(Optional.of(rootResource));
 
-            doNothing().when(authorizationService)
-                    .checkPermission(userId, resourceId, "RESOURCE_READ");
-
-            when(resourceRepository.findByParentId(resourceId))
-                    .thenReturn(Arrays.asList(childResource, child2, child3));
+            when(authorizationService.subtreeAccess(userId, rootResource, "RESOURCE_READ"))
+                    .thenReturn(SubtreeAccess.full());
 
-            when(resourceRepository.findByParentId(resourceId))
-                    .thenReturn(Arrays.asList(childResource, child2, child3));
-            when(resourceRepository.findByParentId(childResourceId))
-                    .thenReturn(Collections.emptyList());
+            when(resourceRepository.findSubtreeRows(resourceId))
+                    .thenReturn(rows(rootResource, childResource, child2, child3));
             // Act
             ResourceTreeResponse tree = resourceService.getResourceTree(userId, resourceId);
 
@@ -418,12 +543,16 @@ class ResourceServiceTest {
             when(resourceRepository.findByTenantIdAndParentIsNull(tenantId))
                     .thenReturn(rootResources);
 
-            // Configurer les réponses pour findByParentId
-            when(resourceRepository.findByParentId(any(UUID.class)))
-                    .thenReturn(Collections.emptyList());
+            // Lecture accordée sur chaque racine
+            when(authorizationService.subtreeAccess(eq(userId), any(Resource.class), eq("RESOURCE_READ")))
+                    .thenReturn(SubtreeAccess.full());
+
+            // Toutes les ressources du tenant en une requête
+            when(resourceRepository.findTreeRowsByTenantId(tenantId))
+                    .thenReturn(rows(rootResource, root2, root3));
 
             // Act
-            List<ResourceTreeResponse> result = resourceService.getRootResourcesByTenant(tenantId);
+            List<ResourceTreeResponse> result = resourceService.getRootResourcesByTenant(userId, tenantId);
 
             // Assert
             assertNotNull(result);
@@ -447,6 +576,10 @@ class ResourceServiceTest {
             when(resourceRepository.findByTenantIdAndParentIsNull(tenantId))
                     .thenReturn(rootResources);
 
+            // Lecture accordée sur chaque racine
+            when(authorizationService.subtreeAccess(eq(userId), any(Resource.class), eq("RESOURCE_READ")))
+                    .thenReturn(SubtreeAccess.full());
+
             // Simuler des enfants pour la racine
             // CORRECTION: Utiliser des UUID valides
             UUID child1Id = UUID.fromString("c23e4567-e89b-12d3-a456-426614174000");
@@ -472,16 +605,11 @@ class ResourceServiceTest {
                     .createdAt(Instant.now())
                     .build();
 
-            when(resourceRepository.findByParentId(resourceId))
-                    .thenReturn(Arrays.asList(child1, child2));
-
-            when(resourceRepository.findByParentId(child1Id))
-                    .thenReturn(Collections.emptyList());
-            when(resourceRepository.findByParentId(child2Id))
-                    .thenReturn(Collections.emptyList());
+            when(resourceRepository.findTreeRowsByTenantId(tenantId))
+                    .thenReturn(rows(rootResource, child1, child2));
 
             // Act
-            List<ResourceTreeResponse> result = resourceService.getRootResourcesByTenant(tenantId);
+            List<ResourceTreeResponse> result = resourceService.getRootResourcesByTenant(userId, tenantId);
 
             // Assert
             assertNotNull(result);
@@ -499,6 +627,697 @@ class ResourceServiceTest {
         }
     }
 
+    /* ===================================================================
+       TESTS DE CACHE VERSIONNÉ (ETAG)
+       =================================================================== */
+    @Nested
+    @DisplayName("getResourceTreeSnapshot()")
+    class TreeSnapshotTests {
+
+        @Test
+        @DisplayName("✅ Vue complète : ETag par version, 304 sans recharger l'arbre")
+        void snapshot_FullView_EtagAndNotModified() {
+            // Arrange
+            byte[] json = "{\"id\":\"x\"}".getBytes();
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            when(authorizationService.subtreeAccess(userId, rootResource, "RESOURCE_READ"))
+                    .thenReturn(SubtreeAccess.full());
+            when(tenantRepository.findStructureVersion(tenantId))
+                    .thenReturn(3L);
+            when(treeCache.getTree(eq(resourceId), eq(3L), any()))
+                    .thenReturn(json);
+
+            // Act
+            ResourceTreeSnapshot first = resourceService.getResourceTreeSnapshot(userId, resourceId, null);
+            ResourceTreeSnapshot second =
+                    resourceService.getResourceTreeSnapshot(userId, resourceId, first.getEtag());
+
+            // Assert
+            assertNotNull(first.getEtag());
+            assertSame(json, first.getJson());
+            assertTrue(second.isNotModified());
+            assertEquals(first.getEtag(), second.getEtag());
+            verify(treeCache, times(1)).getTree(any(), anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("✅ Vue élaguée : ni ETag ni cache partagé, version exposée")
+        void snapshot_PrunedView_NotShared() {
+            // Arrange
+            Role reader = Role.builder()
+                    .id((short) 7)
+                    .name("USER")
+                    .permissions(Set.of(Permission.builder().id((short) 11).name("RESOURCE_READ").build()))
+                    .build();
+            RolePermissionMatrix matrix = new RolePermissionMatrix(null, null);
+            matrix.rebuild(List.of(reader));
+            CompiledUserPermissions compiled = CompiledUserPermissions.compile(List.of(
+                    UserRoleResource.builder().role(reader).resource(childResource).build()
+            ), matrix.current());
+
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            when(authorizationService.subtreeAccess(userId, rootResource, "RESOURCE_READ"))
+                    .thenReturn(new SubtreeAccess(compiled, compiled.bitOf("RESOURCE_READ"), false, true));
+            when(resourceRepository.findSubtreeRows(resourceId))
+                    .thenReturn(rows(rootResource, childResource));
+            when(treeCache.serialize(any()))
+                    .thenReturn(new byte[0]);
+            when(tenantRepository.findStructureVersion(tenantId))
+                    .thenReturn(4L);
+
+            // Act
+            ResourceTreeSnapshot snapshot = resourceService.getResourceTreeSnapshot(userId, resourceId, "*");
+
+            // Assert
+            assertNull(snapshot.getEtag());
+            assertFalse(snapshot.isNotModified());
+            assertEquals(4L, snapshot.getVersion());
+            verify(treeCache, never()).getTree(any(), anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("✅ Création et déplacement incrémentent la version du tenant")
+        void structureChanges_BumpVersion() {
+            // Arrange
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            doNothing().when(authorizationService)
+                    .checkPermission(userId, resourceId, "RESOURCE_CREATE");
+
+            // Act
+            resourceService.createChildResource(userId, resourceId, "New", "FOLDER");
+
+            // Assert
+            verify(tenantRepository).incrementStructureVersion(tenantId);
+        }
+    }
+
+    /* ===================================================================
+       TESTS DE RECHERCHE
+       =================================================================== */
+    @Nested
+    @DisplayName("searchResources()")
+    class SearchResourcesTests {
+
+        private Object[] hit(Resource resource) {
+            return new Object[] {
+                    resource.getId(),
+                    resource.getParent() != null ? resource.getParent().getId() : null,
+                    resource.getName(),
+                    resource.getType(),
+                    resource.getPath()
+            };
+        }
+
+        @Test
+        @DisplayName("✅ Sous-chaîne insensible à la casse, résultats filtrés par lecture")
+        void search_FiltersByReadRight() {
+            // Arrange
+            when(resourceRepository.searchRows(tenantId, "%resource%", ResourceService.SEARCH_BATCH_SIZE))
+                    .thenReturn(List.of(hit(childResource), hit(rootResource)));
+            when(authorizationService.checkPermissions(userId, List.of(childResourceId, resourceId), "RESOURCE_READ"))
+                    .thenReturn(Map.of(childResourceId, true, resourceId, false));
+
+            // Act
+            ResourceSearchPage page = resourceService.searchResources(userId, tenantId, " Resource ", false, 20, null);
+
+            // Assert
+            assertEquals(1, page.getItems().size());
+            assertEquals(childResourceId, page.getItems().get(0).getId());
+            assertEquals("/root/child", page.getItems().get(0).getPath());
+            assertFalse(page.isHasMore());
+            assertNull(page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("✅ Préfixe : jokers LIKE échappés")
+        void search_Prefix_EscapesWildcards() {
+            // Arrange
+            when(resourceRepository.searchRows(tenantId, "50\\%\\_%", ResourceService.SEARCH_BATCH_SIZE))
+                    .thenReturn(List.of());
+
+            // Act
+            ResourceSearchPage page = resourceService.searchResources(userId, tenantId, "50%_", true, 20, null);
+
+            // Assert
+            assertTrue(page.getItems().isEmpty());
+            verifyNoInteractions(authorizationService);
+        }
+
+        @Test
+        @DisplayName("✅ Page pleine : curseur sur le dernier résultat")
+        void search_FullPage_ReturnsCursor() {
+            // Arrange
+            when(resourceRepository.searchRows(tenantId, "%resource%", ResourceService.SEARCH_BATCH_SIZE))
+                    .thenReturn(List.of(hit(childResource), hit(rootResource)));
+            when(authorizationService.checkPermissions(userId, List.of(childResourceId, resourceId), "RESOURCE_READ"))
+                    .thenReturn(Map.of(childResourceId, true, resourceId, true));
+
+            // Act
+            ResourceSearchPage page = resourceService.searchResources(userId, tenantId, "resource", false, 1, null);
+
+            // Assert
+            assertEquals(1, page.getItems().size());
+            assertTrue(page.isHasMore());
+            assertNotNull(page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("❌ Requête trop courte")
+        void search_TooShort_Rejected() {
+            assertThrows(IllegalArgumentException.class, () ->
+                    resourceService.searchResources(userId, tenantId, " a ", false, 20, null)
+            );
+            verifyNoInteractions(resourceRepository);
+        }
+    }
+
+    /* ===================================================================
+       TESTS DE SYNCHRONISATION DELTA
+       =================================================================== */
+    @Nested
+    @DisplayName("getChanges()")
+    class ChangesTests {
+
+        private ResourceChange change(long seq, String event, UUID id) {
+            return new ResourceChange(seq, event, id, resourceId, "Node", "FOLDER");
+        }
+
+        @Test
+        @DisplayName("✅ Création : événement journalisé sous la nouvelle version")
+        @SuppressWarnings("unchecked")
+        void createChild_RecordsChange() {
+            // Arrange
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            doNothing().when(authorizationService)
+                    .checkPermission(userId, resourceId, "RESOURCE_CREATE");
+            when(tenantRepository.findStructureVersion(tenantId))
+                    .thenReturn(8L);
+
+            // Act
+            resourceService.createChildResource(userId, resourceId, "New", "FOLDER");
+
+            // Assert
+            ArgumentCaptor<List<ResourceChange>> captor = ArgumentCaptor.forClass(List.class);
+            verify(changeLog).append(eq(tenantId), captor.capture());
+            ResourceChange change = captor.getValue().get(0);
+            assertEquals(8L, change.getSeq());
+            assertEquals(ResourceChange.CREATE, change.getEvent());
+            assertEquals(resourceId, change.getParentId());
+            assertEquals("New", change.getName());
+        }
+
+        @Test
+        @DisplayName("✅ Version à jour : aucune modification")
+        void getChanges_UpToDate() {
+            // Arrange
+            when(tenantRepository.findStructureVersion(tenantId))
+                    .thenReturn(5L);
+
+            // Act
+            ResourceChangesResponse response = resourceService.getChanges(userId, tenantId, 5L, 100);
+
+            // Assert
+            assertFalse(response.isResyncRequired());
+            assertTrue(response.getChanges().isEmpty());
+            assertEquals(5L, response.getVersion());
+            verifyNoInteractions(changeLog);
+        }
+
+        @Test
+        @DisplayName("✅ Journal compacté au-delà de since : resync demandé")
+        void getChanges_Compacted_Resync() {
+            // Arrange
+            when(tenantRepository.findStructureVersion(tenantId))
+                    .thenReturn(20L);
+            when(changeLog.oldestSeq(tenantId))
+                    .thenReturn(12L);
+
+            // Act
+            ResourceChangesResponse response = resourceService.getChanges(userId, tenantId, 5L, 100);
+
+            // Assert
+            assertTrue(response.isResyncRequired());
+            assertEquals(20L, response.getVersion());
+            verify(changeLog, never()).findSince(any(), anyLong(), anyLong(), anyInt());
+        }
+
+        @Test
+        @DisplayName("✅ Version inconnue (future) : resync demandé")
+        void getChanges_FutureVersion_Resync() {
+            // Arrange
+            when(tenantRepository.findStructureVersion(tenantId))
+                    .thenReturn(3L);
+
+            // Act
+            ResourceChangesResponse response = resourceService.getChanges(userId, tenantId, 9L, 100);
+
+            // Assert
+            assertTrue(response.isResyncRequired());
+        }
+
+        @Test
+        @DisplayName("❌ Sans READ dans le tenant : journal non lu")
+        void getChanges_WithoutTenantRead_Denied() {
+            // Arrange
+            doThrow(new AccessDeniedException("Permission denied: RESOURCE_READ"))
+                    .when(authorizationService)
+                    .checkTenantPermission(userId, tenantId, "RESOURCE_READ");
+
+            // Act & Assert
+            assertThrows(AccessDeniedException.class,
+                    () -> resourceService.getChanges(userId, tenantId, 0L, 100));
+            verifyNoInteractions(changeLog);
+            verify(tenantRepository, never()).findStructureVersion(any());
+        }
+
+        @Test
+        @DisplayName("✅ Suppression : seul l'id est journalisé")
+        @SuppressWarnings("unchecked")
+        void deleteResource_RecordsIdOnly() {
+            // Arrange
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            when(tenantRepository.findStructureVersion(tenantId))
+                    .thenReturn(4L);
+
+            // Act
+            resourceService.deleteResource(userId, resourceId);
+
+            // Assert
+            ArgumentCaptor<List<ResourceChange>> captor = ArgumentCaptor.forClass(List.class);
+            verify(changeLog).append(eq(tenantId), captor.capture());
+            ResourceChange change = captor.getValue().get(0);
+            assertEquals(ResourceChange.DELETE, change.getEvent());
+            assertEquals(resourceId, change.getResourceId());
+            assertNull(change.getParentId());
+            assertNull(change.getName());
+            assertNull(change.getType());
+        }
+
+        @Test
+        @DisplayName("✅ Deltas filtrés par lecture, suppressions toujours transmises")
+        void getChanges_FiltersUnreadable() {
+            // Arrange
+            UUID hidden = UUID.randomUUID();
+            when(tenantRepository.findStructureVersion(tenantId))
+                    .thenReturn(7L);
+            when(changeLog.oldestSeq(tenantId))
+                    .thenReturn(5L);
+            when(changeLog.findSince(tenantId, 5L, 7L, 101))
+                    .thenReturn(List.of(
+                            change(6L, ResourceChange.CREATE, childResourceId),
+                            change(6L, ResourceChange.CREATE, hidden),
+                            change(7L, ResourceChange.DELETE, hidden)
+                    ));
+            when(authorizationService.checkPermissions(userId, List.of(childResourceId, hidden), "RESOURCE_READ"))
+                    .thenReturn(Map.of(childResourceId, true, hidden, false));
+
+            // Act
+            ResourceChangesResponse response = resourceService.getChanges(userId, tenantId, 5L, 100);
+
+            // Assert
+            assertFalse(response.isResyncRequired());
+            assertFalse(response.isHasMore());
+            assertEquals(7L, response.getVersion());
+            assertEquals(
+                    List.of(childResourceId, hidden),
+                    response.getChanges().stream().map(ResourceChange::getResourceId).toList()
+            );
+            assertEquals(ResourceChange.DELETE, response.getChanges().get(1).getEvent());
+        }
+
+        @Test
+        @DisplayName("✅ Page tronquée : la version coupée est renvoyée à l'appel suivant")
+        void getChanges_Truncated_KeepsWholeVersions() {
+            // Arrange - limite 2, la version 8 déborde
+            when(tenantRepository.findStructureVersion(tenantId))
+                    .thenReturn(9L);
+            when(changeLog.oldestSeq(tenantId))
+                    .thenReturn(6L);
+            when(changeLog.findSince(tenantId, 6L, 9L, 3))
+                    .thenReturn(List.of(
+                            change(7L, ResourceChange.DELETE, UUID.randomUUID()),
+                            change(8L, ResourceChange.DELETE, UUID.randomUUID()),
+                            change(8L, ResourceChange.DELETE, UUID.randomUUID())
+                    ));
+
+            // Act
+            ResourceChangesResponse response = resourceService.getChanges(userId, tenantId, 6L, 2);
+
+            // Assert
+            assertTrue(response.isHasMore());
+            assertEquals(7L, response.getVersion());
+            assertEquals(1, response.getChanges().size());
+        }
+    }
+
+    /* ===================================================================
+       TESTS D'IMPORT EN MASSE
+       =================================================================== */
+    @Nested
+    @DisplayName("importResources()")
+    class ImportResourcesTests {
+
+        private BulkResourceImportRequest.Node node(String tempId, String parentTempId, String name) {
+            BulkResourceImportRequest.Node node = new BulkResourceImportRequest.Node();
+            node.setTempId(tempId);
+            node.setParentTempId(parentTempId);
+            node.setName(name);
+            node.setType("FOLDER");
+            return node;
+        }
+
+        private BulkResourceImportRequest request(BulkResourceImportRequest.Node... nodes) {
+            BulkResourceImportRequest request = new BulkResourceImportRequest();
+            request.setParentResourceId(resourceId);
+            request.setNodes(new ArrayList<>(List.of(nodes)));
+            return request;
+        }
+
+        @Test
+        @DisplayName("✅ Import imbriqué + plat : une vérification, des lots, un audit")
+        @SuppressWarnings("unchecked")
+        void importResources_NestedAndFlat() {
+            // Arrange - Dept > Team (imbriqué), Project sous Team (plat)
+            BulkResourceImportRequest.Node dept = node("d", null, "Dept");
+            dept.getChildren().add(node("t", null, "Team"));
+            BulkResourceImportRequest.Node project = node("p", "t", "Project");
+
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            doNothing().when(authorizationService)
+                    .checkPermission(userId, resourceId, "RESOURCE_CREATE");
+            when(closureRepository.findAncestorIds(resourceId))
+                    .thenReturn(List.of(resourceId));
+
+            // Act
+            BulkResourceImportResponse response =
+                    resourceService.importResources(userId, request(project, dept));
+
+            // Assert
+            assertEquals(3, response.getCreated());
+            assertEquals(Set.of("d", "t", "p"), response.getIds().keySet());
+
+            ArgumentCaptor<List<Resource>> resources = ArgumentCaptor.forClass(List.class);
+            verify(bulkInserter).insertResources(resources.capture());
+            Map<String, String> paths = resources.getValue().stream()
+                    .collect(Collectors.toMap(Resource::getName, Resource::getPath));
+            assertEquals("/root/Dept", paths.get("Dept"));
+            assertEquals("/root/Dept/Team", paths.get("Team"));
+            assertEquals("/root/Dept/Team/Project", paths.get("Project"));
+
+            // Les parents sont insérés avant leurs enfants
+            List<String> order = resources.getValue().stream().map(Resource::getName).toList();
+            assertTrue(order.indexOf("Dept") < order.indexOf("Team"));
+            assertTrue(order.indexOf("Team") < order.indexOf("Project"));
+
+            // Dept : 2 liens, Team : 3, Project : 4
+            ArgumentCaptor<List<ResourceBulkInserter.ClosureLink>> links = ArgumentCaptor.forClass(List.class);
+            verify(bulkInserter).insertClosureLinks(links.capture());
+            assertEquals(9, links.getValue().size());
+
+            verify(authorizationService, times(1)).checkPermission(any(), any(), any());
+            verify(auditLogService, times(1)).log(
+                    eq(tenant), isNull(), eq(rootResource),
+                    eq("BULK_IMPORT_RESOURCES"), eq("RESOURCE"), eq(resourceId),
+                    eq("SUCCESS"), eq("3 resources imported"), isNull(), isNull()
+            );
+        }
+
+        @Test
+        @DisplayName("❌ Import SANS permission sur le parent")
+        void importResources_WithoutPermission() {
+            // Arrange
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            doThrow(new AccessDeniedException("RESOURCE_CREATE"))
+                    .when(authorizationService)
+                    .checkPermission(userId, resourceId, "RESOURCE_CREATE");
+
+            // Act & Assert
+            assertThrows(AccessDeniedException.class,
+                    () -> resourceService.importResources(userId, request(node("a", null, "A"))));
+            verifyNoInteractions(bulkInserter);
+        }
+
+        @Test
+        @DisplayName("❌ parentTempId inconnu, dupliqué ou cyclique")
+        void importResources_InvalidReferences() {
+            // Arrange
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            doNothing().when(authorizationService)
+                    .checkPermission(userId, resourceId, "RESOURCE_CREATE");
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class,
+                    () -> resourceService.importResources(userId, request(node("a", "missing", "A"))));
+            assertThrows(IllegalArgumentException.class,
+                    () -> resourceService.importResources(userId,
+                            request(node("a", null, "A"), node("a", null, "B"))));
+            assertThrows(IllegalArgumentException.class,
+                    () -> resourceService.importResources(userId,
+                            request(node("a", "b", "A"), node("b", "a", "B"))));
+            verifyNoInteractions(bulkInserter);
+        }
+    }
+
+    /* ===================================================================
+       TESTS DE STREAMING
+       =================================================================== */
+    @Nested
+    @DisplayName("streamResourceTree()")
+    class StreamResourceTreeTests {
+
+        @Test
+        @DisplayName("✅ Streamer l'arbre avec permission sur la racine")
+        void streamResourceTree_WithPermission() throws Exception {
+            // Arrange
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            doNothing().when(authorizationService)
+                    .checkPermission(userId, resourceId, "RESOURCE_READ");
+
+            // Act
+            var body = resourceService.streamResourceTree(userId, resourceId);
+            var out = new java.io.ByteArrayOutputStream();
+            body.writeTo(out);
+
+            // Assert - l'écriture est déléguée au streamer, rien n'est chargé en mémoire
+            verify(treeStreamer).write(resourceId, out);
+            verify(resourceRepository, never()).findSubtreeRows(any());
+        }
+
+        @Test
+        @DisplayName("❌ Streamer l'arbre SANS permission sur la racine")
+        void streamResourceTree_WithoutPermission() {
+            // Arrange
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            doThrow(new AccessDeniedException("RESOURCE_READ"))
+                    .when(authorizationService)
+                    .checkPermission(userId, resourceId, "RESOURCE_READ");
+
+            // Act & Assert
+            assertThrows(AccessDeniedException.class,
+                    () -> resourceService.streamResourceTree(userId, resourceId));
+            verifyNoInteractions(treeStreamer);
+        }
+    }
+
+    /* ===================================================================
+       TESTS D'EXPANSION PARESSEUSE
+       =================================================================== */
+    @Nested
+    @DisplayName("getChildren()")
+    class GetChildrenTests {
+
+        @Test
+        @DisplayName("✅ Profondeur 1 : enfants avec childCount et hasMore, sans petits-enfants")
+        void getChildren_DepthOne() {
+            // Arrange
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            when(authorizationService.subtreeAccess(userId, rootResource, "RESOURCE_READ"))
+                    .thenReturn(SubtreeAccess.full());
+            when(resourceRepository.findChildRows(resourceId, 51))
+                    .thenReturn(rows(childResource));
+            when(resourceRepository.countChildrenByParentIds(anyCollection()))
+                    .thenReturn(List.<Object[]>of(new Object[]{childResourceId, 4L}));
+
+            // Act
+            ResourceChildrenPage page = resourceService.getChildren(userId, resourceId, 1, 50, null);
+
+            // Assert
+            assertEquals(1, page.getItems().size());
+            ResourceNodeResponse child = page.getItems().get(0);
+            assertEquals(childResourceId, child.getId());
+            assertEquals(4L, child.getChildCount());
+            assertTrue(child.isHasMore());
+            assertTrue(child.getChildren().isEmpty());
+            assertFalse(page.isHasMore());
+            assertNull(page.getNextCursor());
+
+            verify(resourceRepository, never()).findFirstChildRows(any(), anyInt(), anyInt());
+        }
+
+        @Test
+        @DisplayName("✅ Pagination keyset : le curseur reprend après (name, id)")
+        void getChildren_KeysetPagination() {
+            // Arrange
+            Resource sibling = Resource.builder()
+                    .id(UUID.fromString("723e4567-e89b-12d3-a456-426614174000"))
+                    .name("Second Child")
+                    .type("FOLDER")
+                    .tenant(tenant)
+                    .parent(rootResource)
+                    .build();
+
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            when(authorizationService.subtreeAccess(userId, rootResource, "RESOURCE_READ"))
+                    .thenReturn(SubtreeAccess.full());
+            when(resourceRepository.findChildRows(resourceId, 2))
+                    .thenReturn(rows(childResource, sibling));
+            when(resourceRepository.findChildRowsAfter(resourceId, "Child Resource", childResourceId, 2))
+                    .thenReturn(rows(sibling));
+
+            // Act
+            ResourceChildrenPage first = resourceService.getChildren(userId, resourceId, 1, 1, null);
+            ResourceChildrenPage second =
+                    resourceService.getChildren(userId, resourceId, 1, 1, first.getNextCursor());
+
+            // Assert
+            assertEquals(List.of(childResourceId),
+                    first.getItems().stream().map(ResourceNodeResponse::getId).toList());
+            assertTrue(first.isHasMore());
+            assertNotNull(first.getNextCursor());
+
+            assertEquals(List.of(sibling.getId()),
+                    second.getItems().stream().map(ResourceNodeResponse::getId).toList());
+            assertFalse(second.isHasMore());
+            assertNull(second.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("✅ Profondeur 2 : petits-enfants chargés en une requête par niveau")
+        void getChildren_DepthTwo() {
+            // Arrange
+            Resource grandChild = Resource.builder()
+                    .id(UUID.fromString("823e4567-e89b-12d3-a456-426614174000"))
+                    .name("Grand Child")
+                    .type("DOCUMENT")
+                    .tenant(tenant)
+                    .parent(childResource)
+                    .build();
+
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            when(authorizationService.subtreeAccess(userId, rootResource, "RESOURCE_READ"))
+                    .thenReturn(SubtreeAccess.full());
+            when(resourceRepository.findChildRows(resourceId, 11))
+                    .thenReturn(rows(childResource));
+            when(resourceRepository.countChildrenByParentIds(anyCollection()))
+                    .thenReturn(List.<Object[]>of(new Object[]{childResourceId, 3L}))
+                    .thenReturn(List.of());
+            when(resourceRepository.findFirstChildRows(anyCollection(), eq(10), anyInt()))
+                    .thenReturn(rows(grandChild));
+
+            // Act
+            ResourceChildrenPage page = resourceService.getChildren(userId, resourceId, 2, 10, null);
+
+            // Assert
+            ResourceNodeResponse child = page.getItems().get(0);
+            assertEquals(3L, child.getChildCount());
+            assertEquals(1, child.getChildren().size());
+            assertTrue(child.isHasMore(), "2 enfants restent à charger");
+
+            ResourceNodeResponse grandChildNode = child.getChildren().get(0);
+            assertEquals(grandChild.getId(), grandChildNode.getId());
+            assertEquals(0L, grandChildNode.getChildCount());
+            assertFalse(grandChildNode.isHasMore());
+        }
+
+        @Test
+        @DisplayName("❌ Expansion SANS permission")
+        void getChildren_WithoutPermission() {
+            // Arrange
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            when(authorizationService.subtreeAccess(userId, rootResource, "RESOURCE_READ"))
+                    .thenReturn(SubtreeAccess.none());
+
+            // Act & Assert
+            assertThrows(AccessDeniedException.class,
+                    () -> resourceService.getChildren(userId, resourceId, 1, 50, null));
+            verify(resourceRepository, never()).findChildRows(any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("✅ Parent illisible : seuls les enfants menant à une ressource lisible, en connecteurs")
+        void getChildren_UnreadableParent_PrunedToReadableBranches() {
+            // Arrange - READ accordé sur un petit-enfant uniquement
+            UUID grandChildId = UUID.randomUUID();
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            when(authorizationService.subtreeAccess(userId, rootResource, "RESOURCE_READ"))
+                    .thenReturn(new SubtreeAccess(null, -1, false, true));
+            when(resourceRepository.findChildRowsLeadingToGrant(List.of(resourceId), userId, "RESOURCE_READ"))
+                    .thenReturn(rows(childResource));
+            when(resourceRepository.findChildRowsLeadingToGrant(List.of(childResourceId), userId, "RESOURCE_READ"))
+                    .thenReturn(List.<Object[]>of(new Object[]{grandChildId, childResourceId, "Secret", "FOLDER"}));
+
+            // Act
+            ResourceChildrenPage page = resourceService.getChildren(userId, resourceId, 1, 50, null);
+
+            // Assert - l'enfant n'est qu'un connecteur : id seul, une branche lisible en dessous
+            assertEquals(1, page.getItems().size());
+            ResourceNodeResponse child = page.getItems().get(0);
+            assertEquals(childResourceId, child.getId());
+            assertFalse(child.isReadable());
+            assertNull(child.getName());
+            assertNull(child.getType());
+            assertEquals(1L, child.getChildCount());
+            assertFalse(page.isHasMore());
+            verify(resourceRepository, never()).findChildRows(any(), anyInt());
+            verify(resourceRepository, never()).countChildrenByParentIds(anyCollection());
+        }
+
+        @Test
+        @DisplayName("❌ Parent illisible sans descendant lisible : refusé")
+        void getChildren_UnreadableParent_NoReadableDescendant_Denied() {
+            // Arrange - READ accordé ailleurs seulement
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            when(authorizationService.subtreeAccess(userId, rootResource, "RESOURCE_READ"))
+                    .thenReturn(new SubtreeAccess(null, -1, false, true));
+            when(resourceRepository.findChildRowsLeadingToGrant(List.of(resourceId), userId, "RESOURCE_READ"))
+                    .thenReturn(List.of());
+
+            // Act & Assert
+            assertThrows(AccessDeniedException.class,
+                    () -> resourceService.getChildren(userId, resourceId, 1, 50, null));
+        }
+
+        @Test
+        @DisplayName("❌ Curseur invalide")
+        void getChildren_InvalidCursor() {
+            // Arrange
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            when(authorizationService.subtreeAccess(userId, rootResource, "RESOURCE_READ"))
+                    .thenReturn(SubtreeAccess.full());
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class,
+                    () -> resourceService.getChildren(userId, resourceId, 1, 50, "pas-un-curseur"));
+        }
+    }
+
     /* ===================================================================
        TESTS DE SUPPRESSION
        =================================================================== */
@@ -539,6 +1358,37 @@ class ResourceServiceTest {
             );
         }
 
+        @Test
+        @DisplayName("✅ Supprimer un sous-arbre : compteurs ajustés pour toutes les ressources et affectations")
+        void deleteResource_Subtree_AdjustsStatsForWholeSubtree() {
+            // Arrange : racine -> enfant -> petit-enfant, affectations sur l'enfant et le petit-enfant
+            UUID grandChildId = UUID.randomUUID();
+            List<UUID> subtree = List.of(resourceId, childResourceId, grandChildId);
+            UUID alice = UUID.randomUUID();
+            UUID bob = UUID.randomUUID();
+
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            when(closureRepository.findDescendantIds(resourceId)).thenReturn(subtree);
+            when(resourceRepository.countLiveInSubtree(resourceId)).thenReturn(3L);
+            when(urrRepository.countInSubtree(resourceId)).thenReturn(3L);
+            when(urrRepository.findUserIdsInSubtree(resourceId)).thenReturn(List.of(alice, bob));
+
+            // Act
+            resourceService.deleteResource(userId, resourceId);
+
+            // Assert
+            InOrder order = inOrder(urrRepository, resourceRepository, tenantStatsService);
+            order.verify(urrRepository).findUserIdsInSubtree(resourceId);
+            order.verify(resourceRepository).delete(rootResource);
+            order.verify(resourceRepository).flush();
+            order.verify(tenantStatsService).resourcesRemoved(tenantId, 3L);
+            order.verify(tenantStatsService).bindingsRemoved(tenantId, 3L, List.of(alice, bob));
+            verify(authorizationService).invalidateResources(subtree);
+            verify(authorizationService).invalidateUser(alice);
+            verify(authorizationService).invalidateUser(bob);
+        }
+
         @Test
         @DisplayName("❌ Supprimer une ressource SANS permission")
         void deleteResource_WithoutPermission() {
@@ -564,6 +1414,68 @@ class ResourceServiceTest {
             verify(resourceRepository, never()).delete(any());
             verify(auditLogService, never()).log(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
         }
+
+        @Test
+        @DisplayName("✅ Suppression asynchrone : sous-arbre masqué, job planifié")
+        void deleteResourceAsync_TombstonesAndSchedulesJob() {
+            // Arrange
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+            doNothing().when(authorizationService)
+                    .checkPermission(userId, resourceId, "RESOURCE_DELETE");
+            when(resourceRepository.tombstoneSubtree(eq(resourceId), any()))
+                    .thenReturn(2);
+            UUID boundUser = UUID.randomUUID();
+            when(urrRepository.findUserIdsInSubtree(resourceId))
+                    .thenReturn(List.of(boundUser));
+
+            // Act
+            ResourceDeletionJobResponse job = resourceService.deleteResourceAsync(userId, resourceId);
+
+            // Assert - rien n'est supprimé dans la requête elle-même
+            assertEquals(ResourceDeletionJob.PENDING, job.getStatus());
+            assertEquals(2, job.getTotalCount());
+            assertEquals(resourceId, job.getRootResourceId());
+
+            verify(deletionJobRepository).save(any(ResourceDeletionJob.class));
+            verify(deletionWorker).submitAfterCommit(job.getId());
+            verify(resourceRepository, never()).delete(any());
+            verify(closureRepository, never()).deleteSubtreeLinks(any());
+            // Affectations ignorées dès le tombstone : l'index de l'utilisateur est invalidé
+            verify(authorizationService).invalidateUser(boundUser);
+        }
+
+        @Test
+        @DisplayName("❌ Une ressource en attente de purge est introuvable")
+        void tombstonedResource_IsHidden() {
+            // Arrange
+            rootResource.setDeletedAt(Instant.now());
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+
+            // Act & Assert
+            assertThrows(IllegalStateException.class,
+                    () -> resourceService.deleteResourceAsync(userId, resourceId));
+            assertThrows(IllegalStateException.class,
+                    () -> resourceService.getResourceTree(userId, resourceId));
+            verifyNoInteractions(deletionWorker);
+        }
+
+        @Test
+        @DisplayName("❌ Suivi d'un job d'un autre utilisateur")
+        void getDeletionJob_OtherUser() {
+            // Arrange
+            ResourceDeletionJob job = new ResourceDeletionJob();
+            job.setId(UUID.randomUUID());
+            job.setRootResourceId(resourceId);
+            job.setRequestedBy(UUID.randomUUID());
+            when(deletionJobRepository.findById(job.getId()))
+                    .thenReturn(Optional.of(job));
+
+            // Act & Assert
+            assertThrows(AccessDeniedException.class,
+                    () -> resourceService.getDeletionJob(userId, job.getId()));
+        }
     }
 
     /* ===================================================================
@@ -742,6 +1654,92 @@ class ResourceServiceTest {
             // Ton code ne prévient pas les boucles actuellement
             // Tu pourrais vouloir ajouter une vérification
         }
+
+        @Test
+        @DisplayName("✅ Déplacer une ressource réécrit les chemins du sous-arbre en une requête")
+        void moveResource_RewritesSubtreePathsInOneUpdate() {
+            // Arrange
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+
+            when(resourceRepository.findById(newParentId))
+                    .thenReturn(Optional.of(newParent));
+
+            doNothing().when(authorizationService)
+                    .checkPermission(userId, resourceId, "RESOURCE_MOVE");
+
+            // Act
+            resourceService.moveResource(userId, resourceId, newParentId);
+
+            // Assert - "/root/..." devient "/newparent/Root Resource/..."
+            assertEquals("/newparent/Root Resource", rootResource.getPath());
+            verify(resourceRepository).replaceDescendantPathPrefix(
+                    tenantId,
+                    resourceId,
+                    "/root/%",
+                    "/root".length() + 1,
+                    "/newparent/Root Resource"
+            );
+
+            // "/newparent" n'est pas sous "/root" : la closure n'est pas interrogée
+            verify(closureRepository, never()).isAncestorOrSelf(any(), any());
+        }
+
+        @Test
+        @DisplayName("❌ Déplacer une ressource sous son propre descendant est refusé")
+        void moveResource_UnderOwnDescendant_Rejected() {
+            // Arrange
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+
+            when(resourceRepository.findById(childResourceId))
+                    .thenReturn(Optional.of(childResource));
+
+            doNothing().when(authorizationService)
+                    .checkPermission(userId, resourceId, "RESOURCE_MOVE");
+
+            when(closureRepository.isAncestorOrSelf(resourceId, childResourceId))
+                    .thenReturn(true);
+
+            // Act & Assert
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> resourceService.moveResource(userId, resourceId, childResourceId)
+            );
+
+            assertEquals("/root", rootResource.getPath());
+            verify(resourceRepository, never()).save(any());
+            verify(resourceRepository, never())
+                    .replaceDescendantPathPrefix(any(), any(), any(), anyInt(), any());
+        }
+
+        @Test
+        @DisplayName("✅ Les jokers LIKE du chemin sont échappés")
+        void moveResource_EscapesLikeWildcards() {
+            // Arrange
+            rootResource.setPath("/100%_done");
+
+            when(resourceRepository.findById(resourceId))
+                    .thenReturn(Optional.of(rootResource));
+
+            when(resourceRepository.findById(newParentId))
+                    .thenReturn(Optional.of(newParent));
+
+            doNothing().when(authorizationService)
+                    .checkPermission(userId, resourceId, "RESOURCE_MOVE");
+
+            // Act
+            resourceService.moveResource(userId, resourceId, newParentId);
+
+            // Assert
+            verify(resourceRepository).replaceDescendantPathPrefix(
+                    eq(tenantId),
+                    eq(resourceId),
+                    eq("/100\\%\\_done/%"),
+                    eq("/100%_done".length() + 1),
+                    eq("/newparent/Root Resource")
+            );
+        }
     }
 
     /* ===================================================================
@@ -799,7 +1797,7 @@ class ResourceServiceTest {
             verify(authorizationService).checkPermission(userId, otherParentId, "RESOURCE_CREATE");
 
             // 3. La ressource enfant n'a PAS été sauvegardée
-            verify(resourceRepository, never()).save(any(Resource.class));
+            verify(resourceRepository, never()).saveAndFlush(any(Resource.class));
 
             // 4. Aucun audit log n'a été généré
             verify(auditLogService, never()).log(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
@@ -830,14 +1828,20 @@ class ResourceServiceTest {
             when(resourceRepository.findByTenantIdAndParentIsNull(otherTenantId))
                     .thenReturn(Arrays.asList(otherRoot));
 
-            when(resourceRepository.findByParentId(any(UUID.class)))
-                    .thenReturn(Collections.emptyList());
+            // Lecture accordée sur chaque racine
+            when(authorizationService.subtreeAccess(eq(userId), any(Resource.class), eq("RESOURCE_READ")))
+                    .thenReturn(SubtreeAccess.full());
+
+            when(resourceRepository.findTreeRowsByTenantId(tenantId))
+                    .thenReturn(rows(rootResource));
+            when(resourceRepository.findTreeRowsByTenantId(otherTenantId))
+                    .thenReturn(rows(otherRoot));
 
             // Act - Récupérer les racines du tenant A
-            List<ResourceTreeResponse> tenantARoots = resourceService.getRootResourcesByTenant(tenantId);
+            List<ResourceTreeResponse> tenantARoots = resourceService.getRootResourcesByTenant(userId, tenantId);
 
             // Récupérer les racines du tenant B
-            List<ResourceTreeResponse> tenantBRoots = resourceService.getRootResourcesByTenant(otherTenantId);
+            List<ResourceTreeResponse> tenantBRoots = resourceService.getRootResourcesByTenant(userId, otherTenantId);
 
             // Assert
             assertEquals(1, tenantARoots.size());
@@ -869,7 +1873,7 @@ class ResourceServiceTest {
 
             // Simuler que la ResourceFactory crée une ressource sans ID
             // et que le repository génère un ID lors du save
-            when(resourceRepository.save(any(Resource.class)))
+            when(resourceRepository.saveAndFlush(any(Resource.class)))
                     .thenAnswer(invocation -> {
                         Resource resource = invocation.getArgument(0);
                         resource.setId(newChildId);
@@ -967,23 +1971,18 @@ class ResourceServiceTest {
                         .build();
 
                 resources.put(childId, child);
-
-                // Configurer le mock pour findByParentId
-                when(resourceRepository.findByParentId(current.getId()))
-                        .thenReturn(Arrays.asList(child));
-
                 current = child;
             }
 
-            // Pas d'enfants pour le dernier niveau
-            when(resourceRepository.findByParentId(current.getId()))
-                    .thenReturn(Collections.emptyList());
+            // Toute la hiérarchie revient d'une seule requête
+            when(resourceRepository.findSubtreeRows(resourceId))
+                    .thenReturn(rows(resources.values().toArray(new Resource[0])));
 
             when(resourceRepository.findById(resourceId))
                     .thenReturn(Optional.of(rootResource));
 
-            doNothing().when(authorizationService)
-                    .checkPermission(userId, resourceId, "RESOURCE_READ");
+            when(authorizationService.subtreeAccess(userId, rootResource, "RESOURCE_READ"))
+                    .thenReturn(SubtreeAccess.full());
 
             // Act & Assert - Ne doit pas planter
             assertDoesNotThrow(() -> {
@@ -1012,7 +2011,7 @@ class ResourceServiceTest {
             doNothing().when(authorizationService)
                     .checkPermission(userId, resourceId, "RESOURCE_CREATE");
 
-            when(resourceRepository.save(any(Resource.class)))
+            when(resourceRepository.saveAndFlush(any(Resource.class)))
                     .thenAnswer(invocation -> {
                         Resource r = invocation.getArgument(0);
                         r.setId(childId);
@@ -1067,7 +2066,8 @@ class ResourceServiceTest {
 
             // Assert
             verify(authorizationService, times(3)).checkPermission(any(), any(), any());
-            verify(resourceRepository, atLeast(2)).save(any());
+            verify(resourceRepository).saveAndFlush(any()); // création
+            verify(resourceRepository).save(any()); // déplacement
             verify(resourceRepository).delete(any());
             verify(auditLogService, times(3)).log(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
         }
@@ -0,0 +1,86 @@
+package com.yow.access.services;
+
+import com.yow.access.entities.Resource;
+import com.yow.access.entities.Tenant;
+import com.yow.access.repositories.ResourceRepository;
+import com.yow.access.repositories.TenantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Parcours en profondeur depuis le curseur JDBC contre la base de test
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Transactional
+public class ResourceTreeStreamerTest {
+
+    @Autowired
+    private ResourceTreeStreamer treeStreamer;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Resource root;
+
+    @BeforeEach
+    void setUp() {
+        Tenant tenant = new Tenant();
+        tenant.setCode("TENANT_STREAM");
+        tenant.setName("Tenant Stream");
+        tenant = tenantRepository.save(tenant);
+
+        root = save(tenant, null, "Root", "/");
+        Resource b = save(tenant, root, "B", "/B");
+        Resource a = save(tenant, root, "A", "/A");
+        save(tenant, a, "A2", "/A/A2");
+        save(tenant, a, "A1", "/A/A1");
+        save(tenant, b, "B1", "/B/B1");
+    }
+
+    @Test
+    void write_shouldEmitNestedTreeSortedByName() {
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        treeStreamer.write(root.getId(), out);
+
+        // Then
+        JsonNode tree = objectMapper.readTree(out.toByteArray());
+        assertThat(tree.get("name").asString()).isEqualTo("Root");
+        assertThat(tree.get("children")).hasSize(2);
+
+        JsonNode a = tree.get("children").get(0);
+        assertThat(a.get("name").asString()).isEqualTo("A");
+        assertThat(a.get("children").get(0).get("name").asString()).isEqualTo("A1");
+        assertThat(a.get("children").get(1).get("name").asString()).isEqualTo("A2");
+
+        JsonNode b = tree.get("children").get(1);
+        assertThat(b.get("name").asString()).isEqualTo("B");
+        assertThat(b.get("children").get(0).get("children")).isEmpty();
+    }
+
+    private Resource save(Tenant tenant, Resource parent, String name, String path) {
+        Resource resource = new Resource();
+        resource.setTenant(tenant);
+        resource.setParent(parent);
+        resource.setName(name);
+        resource.setType("FOLDER");
+        resource.setPath(path);
+        return resourceRepository.saveAndFlush(resource);
+    }
+}
@@ -0,0 +1,125 @@
+package com.yow.access.services;
+
+import com.yow.access.entities.Permission;
+import com.yow.access.repositories.PermissionRepository;
+import com.yow.access.repositories.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests de la matrice rôles → permissions compilée en bitsets
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RolePermissionMatrix Tests")
+class RolePermissionMatrixTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PermissionRepository permissionRepository;
+
+    private RolePermissionMatrix matrix;
+
+    @BeforeEach
+    void setUp() {
+        matrix = new RolePermissionMatrix(roleRepository, permissionRepository);
+
+        lenient().when(permissionRepository.findAll()).thenReturn(List.of(
+                new Permission((short) 10, "RESOURCE_CREATE", null),
+                new Permission((short) 11, "RESOURCE_READ", null),
+                new Permission((short) 20, "ASSIGN_ROLE", null)
+        ));
+        lenient().when(roleRepository.findAllRoleHeaders()).thenReturn(List.of(
+                new Object[]{(short) 2, "USER"},
+                new Object[]{(short) 3, "TENANT_ADMIN"}
+        ));
+        lenient().when(roleRepository.findAllRolePermissionPairs()).thenReturn(List.of(
+                new Object[]{2, 11},
+                new Object[]{3, 10},
+                new Object[]{3, 11},
+                new Object[]{3, 20}
+        ));
+    }
+
+    @Test
+    @DisplayName("✅ Chaque rôle est réduit à un masque testable par ET binaire")
+    void rebuild_CompilesRoleMasks() {
+        matrix.rebuild();
+        RolePermissionMatrix.Snapshot snapshot = matrix.current();
+
+        int read = snapshot.bitOf("RESOURCE_READ");
+        int assign = snapshot.bitOf("ASSIGN_ROLE");
+
+        assertTrue(RolePermissionMatrix.Snapshot.test(snapshot.maskOf((short) 2), read));
+        assertFalse(RolePermissionMatrix.Snapshot.test(snapshot.maskOf((short) 2), assign));
+        assertTrue(RolePermissionMatrix.Snapshot.test(snapshot.maskOf((short) 3), assign));
+        assertEquals("TENANT_ADMIN", snapshot.roleName((short) 3));
+    }
+
+    @Test
+    @DisplayName("❌ Permission ou rôle inconnu ne donne aucun bit")
+    void unknownPermissionOrRole_GrantsNothing() {
+        matrix.rebuild();
+        RolePermissionMatrix.Snapshot snapshot = matrix.current();
+
+        assertEquals(-1, snapshot.bitOf("TENANT_CREATE"));
+        assertEquals(-1, snapshot.bitOf(null));
+        assertFalse(RolePermissionMatrix.Snapshot.test(snapshot.maskOf((short) 99), snapshot.bitOf("RESOURCE_READ")));
+    }
+
+    @Test
+    @DisplayName("✅ Les noms sont reconstruits depuis un masque combiné")
+    void namesOf_DecodesCombinedMask() {
+        matrix.rebuild();
+        RolePermissionMatrix.Snapshot snapshot = matrix.current();
+
+        long[] combined = snapshot.newMask();
+        RolePermissionMatrix.Snapshot.or(combined, snapshot.maskOf((short) 2));
+        RolePermissionMatrix.Snapshot.or(combined, snapshot.maskOf((short) 3));
+
+        assertEquals(Set.of("RESOURCE_CREATE", "RESOURCE_READ", "ASSIGN_ROLE"), snapshot.namesOf(combined));
+    }
+
+    @Test
+    @DisplayName("✅ Plus de 64 permissions : le masque s'étend sur plusieurs mots")
+    void moreThan64Permissions_UsesSeveralWords() {
+        List<Permission> permissions = new ArrayList<>();
+        List<Object[]> pairs = new ArrayList<>();
+        for (short id = 100; id < 200; id++) {
+            permissions.add(new Permission(id, "P" + id, null));
+            pairs.add(new Object[]{(short) 3, id});
+        }
+        when(permissionRepository.findAll()).thenReturn(permissions);
+        when(roleRepository.findAllRolePermissionPairs()).thenReturn(pairs);
+
+        matrix.rebuild();
+        RolePermissionMatrix.Snapshot snapshot = matrix.current();
+
+        assertTrue(RolePermissionMatrix.Snapshot.test(snapshot.maskOf((short) 3), snapshot.bitOf("P199")));
+        assertFalse(RolePermissionMatrix.Snapshot.test(snapshot.maskOf((short) 2), snapshot.bitOf("P199")));
+    }
+
+    @Test
+    @DisplayName("✅ Chaque reconstruction publie une nouvelle version")
+    void rebuild_PublishesNewSnapshot() {
+        matrix.rebuild();
+        RolePermissionMatrix.Snapshot first = matrix.current();
+        matrix.rebuild();
+
+        assertNotSame(first, matrix.current());
+        assertTrue(matrix.current().version() > first.version());
+    }
+}
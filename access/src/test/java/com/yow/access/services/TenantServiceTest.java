@@ -39,6 +39,15 @@ class TenantServiceTest {
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private AuthorizationService authorizationService;
+
+    @Mock
+    private ResourceClosureRepository closureRepository;
+
+    @Mock
+    private TenantStatsService tenantStatsService;
+
     @InjectMocks
     private TenantService tenantService;
 
@@ -114,7 +123,7 @@ class TenantServiceTest {
         mockResource.setName("New Tenant Root");
         mockResource.setTenant(tenant);
 
-        when(resourceRepository.save(any(Resource.class))).thenReturn(mockResource);
+        when(resourceRepository.saveAndFlush(any(Resource.class))).thenReturn(mockResource);
         when(roleRepository.findByName("TENANT_ADMIN")).thenReturn(Optional.of(tenantAdminRole));
 
         UserRoleResource mockUrr = new UserRoleResource();
@@ -149,7 +158,7 @@ class TenantServiceTest {
             ));
 
             // 2. Vérifie que la resource racine est créée - utiliser any() au lieu de argThat()
-            verify(resourceRepository).save(any(Resource.class));
+            verify(resourceRepository).saveAndFlush(any(Resource.class));
 
             // 3. Vérifie que l'assignation de rôle est faite
             verify(urrRepository).save(argThat(urr ->
@@ -182,7 +191,7 @@ class TenantServiceTest {
         when(userRepository.findById(creatorUserId)).thenReturn(Optional.of(creatorUser));
         when(tenantRepository.existsByCode("NEW_TENANT")).thenReturn(false);
         when(tenantRepository.save(any(Tenant.class))).thenReturn(tenant);
-        when(resourceRepository.save(any(Resource.class))).thenReturn(rootResource);
+        when(resourceRepository.saveAndFlush(any(Resource.class))).thenReturn(rootResource);
         when(roleRepository.findByName("TENANT_ADMIN")).thenReturn(Optional.of(tenantAdminRole));
 
         // Mock des factories
@@ -247,7 +256,7 @@ class TenantServiceTest {
 
         // Vérifie que le tenant n'est pas sauvegardé
         verify(tenantRepository, never()).save(any());
-        verify(resourceRepository, never()).save(any());
+        verify(resourceRepository, never()).saveAndFlush(any());
         verify(urrRepository, never()).save(any());
     }
 
@@ -274,7 +283,7 @@ class TenantServiceTest {
         when(userRepository.findById(creatorUserId)).thenReturn(Optional.of(creatorUser));
         when(tenantRepository.existsByCode("NEW_TENANT")).thenReturn(false);
         when(tenantRepository.save(any(Tenant.class))).thenReturn(tenant);
-        when(resourceRepository.save(any(Resource.class))).thenReturn(rootResource);
+        when(resourceRepository.saveAndFlush(any(Resource.class))).thenReturn(rootResource);
         when(roleRepository.findByName("TENANT_ADMIN")).thenReturn(Optional.empty());
 
         // Mock de la factory de resource seulement
@@ -450,7 +459,7 @@ class TenantServiceTest {
         mockResource.setName("New Tenant Root");
         mockResource.setTenant(savedTenant);
 
-        when(resourceRepository.save(any(Resource.class))).thenReturn(mockResource);
+        when(resourceRepository.saveAndFlush(any(Resource.class))).thenReturn(mockResource);
         when(roleRepository.findByName("TENANT_ADMIN")).thenReturn(Optional.of(tenantAdminRole));
 
         // Mock des factories
@@ -471,7 +480,7 @@ class TenantServiceTest {
 
             // Vérifie que les étapes ont été tentées
             verify(tenantRepository).save(any());
-            verify(resourceRepository).save(any());
+            verify(resourceRepository).saveAndFlush(any());
             verify(roleRepository).findByName("TENANT_ADMIN");
             verify(urrRepository).save(any());
 
@@ -487,7 +496,7 @@ class TenantServiceTest {
         when(userRepository.findById(creatorUserId)).thenReturn(Optional.of(creatorUser));
         when(tenantRepository.existsByCode("NEW_TENANT")).thenReturn(false);
         when(tenantRepository.save(any(Tenant.class))).thenReturn(tenant);
-        when(resourceRepository.save(any(Resource.class))).thenReturn(rootResource);
+        when(resourceRepository.saveAndFlush(any(Resource.class))).thenReturn(rootResource);
         when(roleRepository.findByName("TENANT_ADMIN")).thenReturn(Optional.of(tenantAdminRole));
 
         // Mock des factories
@@ -523,7 +532,7 @@ class TenantServiceTest {
             t.setId(tenantId);
             return t;
         });
-        when(resourceRepository.save(any(Resource.class))).thenReturn(rootResource);
+        when(resourceRepository.saveAndFlush(any(Resource.class))).thenReturn(rootResource);
         when(roleRepository.findByName("TENANT_ADMIN")).thenReturn(Optional.of(tenantAdminRole));
 
         // Mock des factories
@@ -566,7 +575,7 @@ class TenantServiceTest {
             ).thenReturn(rootResource);
 
             // Simuler une erreur lors de la création de la resource
-            when(resourceRepository.save(any(Resource.class)))
+            when(resourceRepository.saveAndFlush(any(Resource.class)))
                     .thenThrow(new RuntimeException("Cannot create resource"));
 
             // When & Then
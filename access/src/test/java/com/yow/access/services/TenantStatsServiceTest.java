@@ -0,0 +1,182 @@
+package com.yow.access.services;
+
+import com.yow.access.dto.TenantStatsResponse;
+import com.yow.access.repositories.TenantRepository;
+import com.yow.access.repositories.UserRoleResourceRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests pour TenantStatsService
+ * Compteurs dénormalisés par tenant et recalage
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TenantStatsService Tests")
+class TenantStatsServiceTest {
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private UserRoleResourceRepository urrRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private TenantStatsService statsService;
+
+    private final UUID tenantId = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private final UUID userId = UUID.fromString("223e4567-e89b-12d3-a456-426614174000");
+
+    private static List<Object[]> row(long resources, long users, long bindings) {
+        return List.<Object[]>of(new Object[] { resources, users, bindings });
+    }
+
+    /* ===================================================================
+       LECTURE
+       =================================================================== */
+    @Nested
+    @DisplayName("getStats()")
+    class GetStatsTests {
+
+        @Test
+        @DisplayName("✅ Lecture directe des compteurs du tenant")
+        void getStats_ReadsCounters() {
+            // Arrange
+            when(tenantRepository.findStats(tenantId)).thenReturn(row(42L, 15L, 20L));
+
+            // Act
+            TenantStatsResponse stats = statsService.getStats(tenantId);
+
+            // Assert
+            assertEquals(42L, stats.getResourceCount());
+            assertEquals(15L, stats.getUserCount());
+            assertEquals(20L, stats.getBindingCount());
+            verifyNoInteractions(urrRepository);
+        }
+
+        @Test
+        @DisplayName("✅ Tenant inconnu : compteurs à zéro")
+        void getStats_UnknownTenant_Zeros() {
+            // Arrange
+            when(tenantRepository.findStats(tenantId)).thenReturn(List.of());
+
+            // Act
+            TenantStatsResponse stats = statsService.getStats(tenantId);
+
+            // Assert
+            assertEquals(0L, stats.getResourceCount());
+            assertEquals(0L, stats.getUserCount());
+        }
+    }
+
+    /* ===================================================================
+       MISES À JOUR INCRÉMENTALES
+       =================================================================== */
+    @Nested
+    @DisplayName("Affectations")
+    class BindingTests {
+
+        @Test
+        @DisplayName("✅ Première affectation dans le tenant : +1 utilisateur")
+        void bindingAdded_NewUser() {
+            // Arrange
+            when(urrRepository.countByUserIdAndTenantId(userId, tenantId)).thenReturn(1L);
+
+            // Act
+            statsService.bindingAdded(tenantId, userId);
+
+            // Assert
+            verify(tenantRepository).adjustStats(tenantId, 0, 1, 1);
+        }
+
+        @Test
+        @DisplayName("✅ Affectation supplémentaire : utilisateurs inchangés")
+        void bindingAdded_ExistingUser() {
+            // Arrange
+            when(urrRepository.countByUserIdAndTenantId(userId, tenantId)).thenReturn(3L);
+
+            // Act
+            statsService.bindingAdded(tenantId, userId);
+
+            // Assert
+            verify(tenantRepository).adjustStats(tenantId, 0, 0, 1);
+        }
+
+        @Test
+        @DisplayName("✅ Dernière affectation retirée : -1 utilisateur")
+        void bindingRemoved_LastBinding() {
+            // Arrange
+            when(urrRepository.countByUserIdAndTenantId(userId, tenantId)).thenReturn(0L);
+
+            // Act
+            statsService.bindingRemoved(tenantId, userId);
+
+            // Assert
+            verify(tenantRepository).adjustStats(tenantId, 0, -1, -1);
+        }
+
+        @Test
+        @DisplayName("✅ Purge par lot : seuls les utilisateurs sans affectation restante sortent")
+        void bindingsRemoved_Batch() {
+            // Arrange - 2 utilisateurs touchés, 1 garde une affectation ailleurs
+            List<UUID> users = List.of(userId, UUID.randomUUID());
+            when(urrRepository.countUsersInTenant(users, tenantId)).thenReturn(1L);
+
+            // Act
+            statsService.bindingsRemoved(tenantId, 5, users);
+
+            // Assert
+            verify(tenantRepository).adjustStats(tenantId, 0, -1, -5);
+        }
+    }
+
+    /* ===================================================================
+       RECALAGE
+       =================================================================== */
+    @Nested
+    @DisplayName("reconcile()")
+    class ReconcileTests {
+
+        @Test
+        @DisplayName("✅ Écart détecté : compteurs remplacés par les valeurs réelles")
+        void reconcile_Drift_Corrects() {
+            // Arrange
+            when(tenantRepository.lockStats(tenantId)).thenReturn(row(40L, 15L, 20L));
+            when(tenantRepository.countStats(tenantId)).thenReturn(row(42L, 15L, 21L));
+
+            // Act
+            boolean corrected = statsService.reconcile(tenantId);
+
+            // Assert
+            assertTrue(corrected);
+            verify(tenantRepository).setStats(tenantId, 42L, 15L, 21L);
+        }
+
+        @Test
+        @DisplayName("✅ Compteurs justes : aucune écriture")
+        void reconcile_NoDrift_NoWrite() {
+            // Arrange
+            when(tenantRepository.lockStats(tenantId)).thenReturn(row(42L, 15L, 20L));
+            when(tenantRepository.countStats(tenantId)).thenReturn(row(42L, 15L, 20L));
+
+            // Act
+            boolean corrected = statsService.reconcile(tenantId);
+
+            // Assert
+            assertFalse(corrected);
+            verify(tenantRepository, never()).setStats(any(), anyLong(), anyLong(), anyLong());
+        }
+    }
+}
@@ -39,6 +39,9 @@ class UserServiceTest {
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private TenantStatsService tenantStatsService;
+
     @InjectMocks
     private UserService userService;
 
@@ -229,6 +232,7 @@ class UserServiceTest {
                     actorUserId, resourceId, "ASSIGN_ROLE"
             );
             verify(urrRepository).save(mockUrr);
+            verify(tenantStatsService).bindingAdded(tenant.getId(), targetUserId);
             verify(auditLogService).log(
                     eq(tenant),
                     eq(actorUser),
@@ -427,6 +431,7 @@ class UserServiceTest {
                 actorUserId, resourceId, "REMOVE_ROLE"
         );
         verify(urrRepository).delete(existingUrr);
+        verify(tenantStatsService).bindingRemoved(tenant.getId(), targetUserId);
         verify(auditLogService).log(
                 eq(tenant),
                 eq(actorUser),